@@ -0,0 +1,97 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.benchmarks;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.wildfly.clustering.service.concurrent.ServiceExecutor;
+import org.wildfly.clustering.service.concurrent.StampedLockServiceExecutor;
+import org.wildfly.clustering.service.concurrent.StripedServiceExecutor;
+
+/**
+ * Measures the contention of concurrent executions of a {@link ServiceExecutor}, such as those guarding each command execution or web request.
+ * Runs using all available processors by default - use <code>-t</code> to compare scalability across thread counts.
+ * @author Paul Ferraro
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(Threads.MAX)
+@Fork(1)
+public class ServiceExecutorBenchmark {
+
+    public enum ServiceExecutorType implements Supplier<ServiceExecutor> {
+        STAMPED_LOCK() {
+            @Override
+            public ServiceExecutor get() {
+                return new StampedLockServiceExecutor();
+            }
+        },
+        STRIPED() {
+            @Override
+            public ServiceExecutor get() {
+                return new StripedServiceExecutor();
+            }
+        },
+        ;
+    }
+
+    // Simulated work per execution, in JMH tokens
+    private static final long WORK = 10L;
+    private static final Supplier<Boolean> TASK = () -> {
+        Blackhole.consumeCPU(WORK);
+        return Boolean.TRUE;
+    };
+
+    @Param
+    private ServiceExecutorType type;
+
+    private ServiceExecutor executor;
+
+    @Setup
+    public void setup() {
+        this.executor = this.type.get();
+    }
+
+    @Benchmark
+    public Optional<Boolean> execute() {
+        return this.executor.execute(TASK);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.function.Supplier;
+
+import org.jboss.logging.Logger;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Creates the {@link ScheduledEntries} of an expiration scheduler, i.e. whose entries must be sorted by expiration time.
+ * Creates a {@link TimingWheelScheduledEntries} if a tick resolution was specified via the {@value #TICK_RESOLUTION_PROPERTY} system property,
+ * otherwise a {@link SortedScheduledEntries}.
+ * @author Paul Ferraro
+ */
+public class ExpirationScheduledEntriesFactory<K> implements Supplier<ScheduledEntries<K, Instant>> {
+
+    public static final String TICK_RESOLUTION_PROPERTY = "jboss.clustering.expiration.tick-resolution";
+    private static final Logger LOGGER = Logger.getLogger(ExpirationScheduledEntriesFactory.class);
+
+    private final Duration resolution;
+
+    public ExpirationScheduledEntriesFactory() {
+        String resolution = WildFlySecurityManager.getPropertyPrivileged(TICK_RESOLUTION_PROPERTY, null);
+        this.resolution = (resolution != null) ? parse(resolution) : null;
+    }
+
+    private static Duration parse(String resolution) {
+        try {
+            return Duration.parse(resolution);
+        } catch (DateTimeParseException e) {
+            LOGGER.warnf("Ignoring invalid %s system property value: %s", TICK_RESOLUTION_PROPERTY, resolution);
+            return null;
+        }
+    }
+
+    @Override
+    public ScheduledEntries<K, Instant> get() {
+        return ((this.resolution != null) && !this.resolution.isNegative() && !this.resolution.isZero()) ? new TimingWheelScheduledEntries<>(this.resolution) : new SortedScheduledEntries<>();
+    }
+}
@@ -48,17 +48,31 @@ public class LocalScheduler<T> implements Scheduler<T, Instant>, Iterable<T>, Ru
     private final ScheduledExecutorService executor;
     private final ScheduledEntries<T, Instant> entries;
     private final Predicate<T> task;
+    private final Runnable completionTask;
     private final Duration closeTimeout;
 
     private volatile Future<?> future = null;
 
     public LocalScheduler(ScheduledEntries<T, Instant> entries, Predicate<T> task, Duration closeTimeout) {
+        this(entries, task, null, closeTimeout);
+    }
+
+    /**
+     * Creates a scheduler whose completion task runs following each pass over the due entries,
+     * e.g. to flush the work accumulated by the scheduled task.
+     * @param entries the scheduled entries
+     * @param task the task to run for each due entry
+     * @param completionTask a task to run following each pass over the due entries, or null
+     * @param closeTimeout the duration to wait for the scheduled task to terminate upon close
+     */
+    public LocalScheduler(ScheduledEntries<T, Instant> entries, Predicate<T> task, Runnable completionTask, Duration closeTimeout) {
         ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new DefaultThreadFactory(this.getClass()));
         executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
         executor.setRemoveOnCancelPolicy(entries.isSorted());
         this.executor = executor;
         this.entries = entries;
         this.task = task;
+        this.completionTask = completionTask;
         this.closeTimeout = closeTimeout;
     }
 
@@ -128,15 +142,21 @@ public class LocalScheduler<T> implements Scheduler<T, Instant>, Iterable<T>, Ru
 
     @Override
     public void run() {
-        Iterator<Map.Entry<T, Instant>> entries = this.entries.iterator();
-        while (entries.hasNext()) {
-            if (Thread.currentThread().isInterrupted()) return;
-            Map.Entry<T, Instant> entry = entries.next();
-            if (entry.getValue().isAfter(Instant.now())) break;
-            T key = entry.getKey();
-            // Remove only if task is successful
-            if (this.task.test(key)) {
-                entries.remove();
+        try {
+            Iterator<Map.Entry<T, Instant>> entries = this.entries.iterator();
+            while (entries.hasNext()) {
+                if (Thread.currentThread().isInterrupted()) return;
+                Map.Entry<T, Instant> entry = entries.next();
+                if (entry.getValue().isAfter(Instant.now())) break;
+                T key = entry.getKey();
+                // Remove only if task is successful
+                if (this.task.test(key)) {
+                    entries.remove();
+                }
+            }
+        } finally {
+            if (this.completionTask != null) {
+                this.completionTask.run();
             }
         }
         synchronized (this) {
@@ -0,0 +1,365 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * {@link ScheduledEntries} implemented using a hierarchical timing wheel, where entries are sorted based on the entry value, to within the configured tick resolution.
+ * Each level of the wheel contains {@value #SLOTS} slots, where each slot of a given level spans all slots of the level below.
+ * Entries scheduled beyond the span of the highest level are retained in an overflow bucket.
+ * Both {@link #add(Object, Instant)} and {@link #remove(Object)} run in O(1) time.
+ * Entries are cascaded into finer levels of the wheel as time advances, i.e. upon {@link #iterator()}.
+ * @author Paul Ferraro
+ */
+public class TimingWheelScheduledEntries<K> implements ScheduledEntries<K, Instant> {
+    private static final int LEVEL_BITS = 6;
+    private static final int SLOTS = 1 << LEVEL_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    // Pseudo-levels
+    private static final int DUE = -1;
+    private static final int OVERFLOW = LEVELS;
+
+    private final Clock clock;
+    private final long resolution;
+    private final ConcurrentDirectDeque<Entry<K>> due = ConcurrentDirectDeque.newInstance();
+    private final ConcurrentDirectDeque<Entry<K>>[][] wheel;
+    private final ConcurrentDirectDeque<Entry<K>> overflow = ConcurrentDirectDeque.newInstance();
+    // Number of entries per level, including overflow
+    private final AtomicIntegerArray counts = new AtomicIntegerArray(LEVELS + 1);
+    private final Map<K, Entry<K>> entries = new ConcurrentHashMap<>();
+    // Add/remove operations share this lock, advancing the wheel requires exclusivity
+    private final StampedLock lock = new StampedLock();
+
+    private volatile long currentTick;
+
+    /**
+     * Creates a new timing wheel using the specified tick resolution.
+     * @param resolution the duration of a single tick of the wheel
+     */
+    public TimingWheelScheduledEntries(Duration resolution) {
+        this(resolution, Clock.systemUTC());
+    }
+
+    @SuppressWarnings("unchecked")
+    TimingWheelScheduledEntries(Duration resolution, Clock clock) {
+        this.clock = clock;
+        this.resolution = Math.max(resolution.toMillis(), 1L);
+        this.wheel = new ConcurrentDirectDeque[LEVELS][SLOTS];
+        for (int level = 0; level < LEVELS; ++level) {
+            for (int slot = 0; slot < SLOTS; ++slot) {
+                this.wheel[level][slot] = ConcurrentDirectDeque.newInstance();
+            }
+        }
+        this.currentTick = this.tick(clock.instant());
+    }
+
+    @Override
+    public boolean isSorted() {
+        return true;
+    }
+
+    @Override
+    public void add(K key, Instant value) {
+        Entry<K> entry = new Entry<>(key, value, this.tick(value));
+        long stamp = this.lock.readLock();
+        try {
+            this.insert(entry, this.currentTick);
+            Entry<K> oldEntry = this.entries.put(key, entry);
+            if (oldEntry != null) {
+                this.unlink(oldEntry);
+            }
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void remove(K key) {
+        long stamp = this.lock.readLock();
+        try {
+            Entry<K> entry = this.entries.remove(key);
+            if (entry != null) {
+                this.unlink(entry);
+            }
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * If the first entry resides in a coarse slot of the wheel, the value of the returned entry is the start of that slot,
+     * at which time the slot will cascade into finer levels of the wheel.
+     */
+    @Override
+    public Map.Entry<K, Instant> peek() {
+        long stamp = this.lock.tryOptimisticRead();
+        Map.Entry<K, Instant> result = this.first();
+        if (!this.lock.validate(stamp)) {
+            stamp = this.lock.readLock();
+            try {
+                result = this.first();
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, Instant>> iterator() {
+        long tick = this.tick(this.clock.instant());
+        if (tick > this.currentTick) {
+            long stamp = this.lock.writeLock();
+            try {
+                this.advance(tick);
+            } finally {
+                this.lock.unlockWrite(stamp);
+            }
+        }
+        long current = this.currentTick;
+        List<ConcurrentDirectDeque<Entry<K>>> deques = new ArrayList<>();
+        deques.add(this.due);
+        for (int level = 0; level < LEVELS; ++level) {
+            if (this.counts.get(level) > 0) {
+                ConcurrentDirectDeque<Entry<K>>[] slots = this.wheel[level];
+                for (int slot = slot(current, level) + 1; slot < SLOTS; ++slot) {
+                    deques.add(slots[slot]);
+                }
+            }
+        }
+        deques.add(this.overflow);
+        Iterator<ConcurrentDirectDeque<Entry<K>>> dequeIterator = deques.iterator();
+        return new Iterator<Map.Entry<K, Instant>>() {
+            private Iterator<Entry<K>> iterator = dequeIterator.next().iterator();
+            private Entry<K> current = null;
+
+            @Override
+            public boolean hasNext() {
+                while (!this.iterator.hasNext()) {
+                    if (!dequeIterator.hasNext()) return false;
+                    this.iterator = dequeIterator.next().iterator();
+                }
+                return true;
+            }
+
+            @Override
+            public Map.Entry<K, Instant> next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                this.current = this.iterator.next();
+                return this.current;
+            }
+
+            @Override
+            public void remove() {
+                Entry<K> entry = this.current;
+                if (entry == null) {
+                    throw new IllegalStateException();
+                }
+                this.current = null;
+                TimingWheelScheduledEntries.this.removeEntry(entry);
+            }
+        };
+    }
+
+    private void removeEntry(Entry<K> entry) {
+        long stamp = this.lock.readLock();
+        try {
+            // Entry may have been concurrently replaced or removed
+            if (this.entries.remove(entry.getKey(), entry)) {
+                this.unlink(entry);
+            }
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    private long tick(Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli(), this.resolution);
+    }
+
+    private static int slot(long tick, int level) {
+        return (int) (tick >> (LEVEL_BITS * level)) & SLOT_MASK;
+    }
+
+    private Map.Entry<K, Instant> first() {
+        Entry<K> entry = this.due.peekFirst();
+        if (entry != null) return entry;
+        long current = this.currentTick;
+        for (int level = 0; level < LEVELS; ++level) {
+            if (this.counts.get(level) > 0) {
+                ConcurrentDirectDeque<Entry<K>>[] slots = this.wheel[level];
+                for (int slot = slot(current, level) + 1; slot < SLOTS; ++slot) {
+                    entry = slots[slot].peekFirst();
+                    if (entry != null) {
+                        if (level == 0) return entry;
+                        // Start of this slot
+                        long start = ((current >> (LEVEL_BITS * (level + 1))) << (LEVEL_BITS * (level + 1))) | ((long) slot << (LEVEL_BITS * level));
+                        return new SimpleImmutableEntry<>(entry.getKey(), Instant.ofEpochMilli(start * this.resolution));
+                    }
+                }
+            }
+        }
+        entry = this.overflow.peekFirst();
+        if (entry == null) return null;
+        // Start of next revolution of highest level
+        long start = ((current >> (LEVEL_BITS * LEVELS)) + 1) << (LEVEL_BITS * LEVELS);
+        return new SimpleImmutableEntry<>(entry.getKey(), Instant.ofEpochMilli(start * this.resolution));
+    }
+
+    /**
+     * Inserts the specified entry into the appropriate slot of the wheel relative to the specified tick.
+     * Must be called while holding a read or write lock.
+     */
+    private void insert(Entry<K> entry, long current) {
+        long tick = entry.tick;
+        int level = DUE;
+        ConcurrentDirectDeque<Entry<K>> deque = this.due;
+        if (tick > current) {
+            level = OVERFLOW;
+            deque = this.overflow;
+            // Find lowest level in which the entry shares the slot of the current tick at the next level
+            for (int i = 0; i < LEVELS; ++i) {
+                int bits = LEVEL_BITS * (i + 1);
+                if ((tick >> bits) == (current >> bits)) {
+                    level = i;
+                    deque = this.wheel[i][slot(tick, i)];
+                    break;
+                }
+            }
+        }
+        entry.level = level;
+        entry.deque = deque;
+        entry.token = deque.offerLastAndReturnToken(entry);
+        if (level != DUE) {
+            this.counts.incrementAndGet(level);
+        }
+    }
+
+    /**
+     * Unlinks the specified entry from its slot.
+     * Must be called while holding a read or write lock.
+     */
+    private void unlink(Entry<K> entry) {
+        entry.deque.removeToken(entry.token);
+        if (entry.level != DUE) {
+            this.counts.decrementAndGet(entry.level);
+        }
+    }
+
+    /**
+     * Advances the wheel to the specified tick, cascading entries from coarser to finer levels.
+     * Must be called while holding the write lock.
+     */
+    private void advance(long target) {
+        long current = this.currentTick;
+        while (current < target) {
+            int level = 0;
+            while ((level <= OVERFLOW) && (this.counts.get(level) == 0)) {
+                level += 1;
+            }
+            if (level > OVERFLOW) {
+                // Wheel contains no pending entries
+                current = target;
+            } else if (level > 0) {
+                // Skip directly to the next slot boundary of the lowest occupied level
+                int bits = LEVEL_BITS * level;
+                current = Math.min(target, ((current >> bits) + 1) << bits);
+            } else {
+                current += 1;
+            }
+            this.currentTick = current;
+
+            if ((current & ((1L << (LEVEL_BITS * LEVELS)) - 1)) == 0) {
+                this.cascade(this.overflow, OVERFLOW, current);
+            }
+            for (int i = LEVELS - 1; i > 0; --i) {
+                if ((current & ((1L << (LEVEL_BITS * i)) - 1)) == 0) {
+                    this.cascade(this.wheel[i][slot(current, i)], i, current);
+                }
+            }
+            this.cascade(this.wheel[0][slot(current, 0)], 0, current);
+        }
+    }
+
+    private void cascade(ConcurrentDirectDeque<Entry<K>> deque, int level, long current) {
+        // Bound iterations, since overflow entries may be reinserted into the same deque
+        for (int i = this.counts.get(level); i > 0; --i) {
+            Entry<K> entry = deque.pollFirst();
+            if (entry == null) break;
+            this.counts.decrementAndGet(level);
+            this.insert(entry, current);
+        }
+    }
+
+    private static class Entry<K> implements Map.Entry<K, Instant> {
+        private final K key;
+        private final Instant value;
+        final long tick;
+        // Location of this entry within the wheel, guarded by lock
+        volatile int level;
+        volatile ConcurrentDirectDeque<Entry<K>> deque;
+        volatile Object token;
+
+        Entry(K key, Instant value, long tick) {
+            this.key = key;
+            this.value = value;
+            this.tick = tick;
+        }
+
+        @Override
+        public K getKey() {
+            return this.key;
+        }
+
+        @Override
+        public Instant getValue() {
+            return this.value;
+        }
+
+        @Override
+        public Instant setValue(Instant value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String toString() {
+            return this.key.toString();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ExpirationScheduledEntriesFactory}
+ * @author Paul Ferraro
+ */
+public class ExpirationScheduledEntriesFactoryTestCase {
+
+    @After
+    public void destroy() {
+        System.clearProperty(ExpirationScheduledEntriesFactory.TICK_RESOLUTION_PROPERTY);
+    }
+
+    @Test
+    public void unspecified() {
+        assertTrue(new ExpirationScheduledEntriesFactory<>().get() instanceof SortedScheduledEntries);
+    }
+
+    @Test
+    public void valid() {
+        System.setProperty(ExpirationScheduledEntriesFactory.TICK_RESOLUTION_PROPERTY, "PT0.1S");
+        assertTrue(new ExpirationScheduledEntriesFactory<>().get() instanceof TimingWheelScheduledEntries);
+    }
+
+    @Test
+    public void invalid() {
+        System.setProperty(ExpirationScheduledEntriesFactory.TICK_RESOLUTION_PROPERTY, "100ms");
+        assertTrue(new ExpirationScheduledEntriesFactory<>().get() instanceof SortedScheduledEntries);
+    }
+}
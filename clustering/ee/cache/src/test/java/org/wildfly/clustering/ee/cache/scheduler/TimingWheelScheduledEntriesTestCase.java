@@ -0,0 +1,153 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TimingWheelScheduledEntries}
+ * @author Paul Ferraro
+ */
+public class TimingWheelScheduledEntriesTestCase {
+
+    @Test
+    public void test() {
+        MutableClock clock = new MutableClock(Instant.EPOCH);
+        ScheduledEntries<UUID, Instant> entries = new TimingWheelScheduledEntries<>(Duration.ofSeconds(1), clock);
+
+        // Verify empty
+        Assert.assertFalse(entries.iterator().hasNext());
+        Assert.assertNull(entries.peek());
+
+        // Spread entries across every level of the wheel, including overflow
+        List<Instant> instants = Arrays.asList(Instant.EPOCH.minusSeconds(1), Instant.ofEpochSecond(1), Instant.ofEpochSecond(100), Instant.ofEpochSecond(5000), Instant.ofEpochSecond(1000000), Instant.ofEpochSecond(20000000));
+        List<UUID> expected = new ArrayList<>(instants.size());
+        for (int i = 0; i < instants.size(); ++i) {
+            expected.add(UUID.randomUUID());
+        }
+        // Add in reverse order
+        for (int i = instants.size() - 1; i >= 0; --i) {
+            entries.add(expected.get(i), instants.get(i));
+        }
+
+        assertOrder(expected, entries);
+        Assert.assertSame(expected.get(0), entries.peek().getKey());
+
+        // Verify removal of first item
+        entries.remove(expected.remove(0));
+        assertOrder(expected, entries);
+        Assert.assertEquals(Instant.ofEpochSecond(1), entries.peek().getValue());
+
+        // Verify removal of middle item
+        entries.remove(expected.remove(1));
+        assertOrder(expected, entries);
+
+        // Verify rescheduling of existing entry
+        entries.add(expected.get(0), Instant.ofEpochSecond(2000000));
+        UUID rescheduled = expected.remove(0);
+        expected.add(expected.size() - 1, rescheduled);
+        assertOrder(expected, entries);
+
+        // Verify that a coarse slot reports its start
+        Assert.assertEquals(Instant.ofEpochSecond(4096), entries.peek().getValue());
+
+        // Advance past first entry, verify cascading
+        clock.setInstant(Instant.ofEpochSecond(5000));
+        Iterator<Map.Entry<UUID, Instant>> iterator = entries.iterator();
+        Assert.assertTrue(iterator.hasNext());
+        Map.Entry<UUID, Instant> entry = iterator.next();
+        Assert.assertSame(expected.get(0), entry.getKey());
+        Assert.assertEquals(Instant.ofEpochSecond(5000), entry.getValue());
+        iterator.remove();
+        expected.remove(0);
+        assertOrder(expected, entries);
+
+        // Advance past all but the overflow entry
+        clock.setInstant(Instant.ofEpochSecond(19000000));
+        assertOrder(expected, entries);
+        iterator = entries.iterator();
+        for (int i = 0; i < expected.size() - 1; ++i) {
+            Assert.assertTrue(iterator.hasNext());
+            iterator.next();
+            iterator.remove();
+        }
+        // Overflow entry now resides within the highest level of the wheel
+        Assert.assertEquals(Instant.ofEpochSecond(76L << 18), entries.peek().getValue());
+
+        // Verify removal of non-existent entry
+        entries.remove(UUID.randomUUID());
+
+        entries.remove(expected.get(expected.size() - 1));
+        Assert.assertFalse(entries.iterator().hasNext());
+        Assert.assertNull(entries.peek());
+    }
+
+    private static void assertOrder(List<UUID> expected, ScheduledEntries<UUID, Instant> entries) {
+        Iterator<Map.Entry<UUID, Instant>> iterator = entries.iterator();
+        for (UUID id : expected) {
+            Assert.assertTrue(iterator.hasNext());
+            Assert.assertSame(id, iterator.next().getKey());
+        }
+        Assert.assertFalse(iterator.hasNext());
+    }
+
+    private static class MutableClock extends Clock {
+        private volatile Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void setInstant(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return this.instant;
+        }
+    }
+}
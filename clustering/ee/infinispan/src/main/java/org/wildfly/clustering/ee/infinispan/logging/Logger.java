@@ -46,4 +46,8 @@ public interface Logger extends BasicLogger {
     @LogMessage(level = INFO)
     @Message(id = 2, value = "Failed to schedule %s on primary owner.")
     void failedToSchedule(@Cause Throwable cause, Object id);
+
+    @LogMessage(level = INFO)
+    @Message(id = 3, value = "Failed to cancel/schedule %d item(s) on primary owner %s.")
+    void failedToExecuteBatch(@Cause Throwable cause, int size, Object member);
 }
@@ -0,0 +1,62 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.infinispan.scheduler;
+
+import java.util.Collection;
+
+import org.wildfly.clustering.dispatcher.Command;
+
+/**
+ * Command that cancels and schedules a batch of items.
+ * @author Paul Ferraro
+ */
+public class BatchCommand<I, M> implements Command<Void, Scheduler<I, M>> {
+    private static final long serialVersionUID = -3213146396564519578L;
+
+    private final Collection<I> cancelIds;
+    private final Collection<I> scheduleIds;
+
+    public BatchCommand(Collection<I> cancelIds, Collection<I> scheduleIds) {
+        this.cancelIds = cancelIds;
+        this.scheduleIds = scheduleIds;
+    }
+
+    Collection<I> getCancelIds() {
+        return this.cancelIds;
+    }
+
+    Collection<I> getScheduleIds() {
+        return this.scheduleIds;
+    }
+
+    @Override
+    public Void execute(Scheduler<I, M> scheduler) {
+        for (I id : this.cancelIds) {
+            scheduler.cancel(id);
+        }
+        for (I id : this.scheduleIds) {
+            scheduler.schedule(id);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.infinispan.scheduler;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.wildfly.clustering.marshalling.Externalizer;
+import org.wildfly.clustering.marshalling.spi.IndexSerializer;
+
+/**
+ * Externalizer for a {@link BatchCommand}.
+ * @author Paul Ferraro
+ */
+@SuppressWarnings("rawtypes")
+public class BatchCommandExternalizer implements Externalizer<BatchCommand> {
+
+    @Override
+    public void writeObject(ObjectOutput output, BatchCommand command) throws IOException {
+        writeIds(output, command.getCancelIds());
+        writeIds(output, command.getScheduleIds());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public BatchCommand readObject(ObjectInput input) throws IOException, ClassNotFoundException {
+        List<Object> cancelIds = readIds(input);
+        List<Object> scheduleIds = readIds(input);
+        return new BatchCommand<>(cancelIds, scheduleIds);
+    }
+
+    @Override
+    public Class<BatchCommand> getTargetClass() {
+        return BatchCommand.class;
+    }
+
+    private static void writeIds(ObjectOutput output, Collection<?> ids) throws IOException {
+        IndexSerializer.VARIABLE.writeInt(output, ids.size());
+        for (Object id : ids) {
+            output.writeObject(id);
+        }
+    }
+
+    private static List<Object> readIds(ObjectInput input) throws IOException, ClassNotFoundException {
+        int size = IndexSerializer.VARIABLE.readInt(input);
+        List<Object> ids = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            ids.add(input.readObject());
+        }
+        return ids;
+    }
+}
@@ -23,7 +23,13 @@
 package org.wildfly.clustering.ee.infinispan.scheduler;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import org.wildfly.clustering.dispatcher.Command;
@@ -38,6 +44,9 @@ import org.wildfly.common.function.ExceptionSupplier;
 
 /**
  * Scheduler decorator that schedules/cancels a given object on the primary owner.
+ * Commands destined for a remote primary owner are dispatched asynchronously, and coalesced per member while a previous batch to that member is in flight.
+ * Since only the most recent command per item is retained, a deferred cancellation can never override a subsequent schedule.
+ * The primary owner verifies that an item has actually expired (i.e. via its last access time) before expiring it, so a delayed cancellation cannot result in premature expiration.
  * @author Paul Ferraro
  */
 public class PrimaryOwnerScheduler<I, K, M> implements org.wildfly.clustering.ee.Scheduler<I, M> {
@@ -46,9 +55,12 @@ public class PrimaryOwnerScheduler<I, K, M> implements org.wildfly.clustering.ee
     private final Function<K, Node> primaryOwnerLocator;
     private final Function<I, K> keyFactory;
     private final CommandDispatcher<Scheduler<I, M>> dispatcher;
+    private final Node localMember;
+    private final Map<Node, MemberBatch> batches = new ConcurrentHashMap<>();
 
     public <C, L> PrimaryOwnerScheduler(CommandDispatcherFactory dispatcherFactory, String name, Scheduler<I, M> scheduler, Function<K, Node> primaryOwnerLocator, Function<I, K> keyFactory) {
         this.dispatcher = dispatcherFactory.createCommandDispatcher(name, scheduler, this.getClass().getClassLoader());
+        this.localMember = dispatcherFactory.getGroup().getLocalMember();
         this.primaryOwnerLocator = primaryOwnerLocator;
         this.keyFactory = keyFactory;
     }
@@ -56,7 +68,7 @@ public class PrimaryOwnerScheduler<I, K, M> implements org.wildfly.clustering.ee
     @Override
     public void schedule(I id, M metaData) {
         try {
-            this.executeOnPrimaryOwner(id, new ScheduleCommand<>(id, metaData));
+            this.executeOnPrimaryOwner(id, new ScheduleCommand<>(id, metaData), Boolean.TRUE);
         } catch (Exception e) {
             Logger.ROOT_LOGGER.failedToSchedule(e, id);
         }
@@ -65,22 +77,38 @@ public class PrimaryOwnerScheduler<I, K, M> implements org.wildfly.clustering.ee
     @Override
     public void cancel(I id) {
         try {
-            this.executeOnPrimaryOwner(id, new CancelCommand<>(id)).toCompletableFuture().join();
+            this.executeOnPrimaryOwner(id, new CancelCommand<>(id), Boolean.FALSE).toCompletableFuture().join();
         } catch (Exception e) {
             Logger.ROOT_LOGGER.failedToCancel(e, id);
         }
     }
 
-    private CompletionStage<Void> executeOnPrimaryOwner(I id, Command<Void, Scheduler<I, M>> command) throws CommandDispatcherException {
+    /**
+     * Executes the specified command on the primary owner of the specified item.
+     * The command executes synchronously if the current member is the primary owner, otherwise it is enqueued for asynchronous dispatch.
+     * @param id an item identifier
+     * @param command the command to execute if the current member is the primary owner
+     * @param schedule indicates whether the remote command should schedule or cancel the item
+     * @return a completion stage of the local command
+     */
+    private CompletionStage<Void> executeOnPrimaryOwner(I id, Command<Void, Scheduler<I, M>> command, Boolean schedule) throws CommandDispatcherException {
         K key = this.keyFactory.apply(id);
         Function<K, Node> primaryOwnerLocator = this.primaryOwnerLocator;
         CommandDispatcher<Scheduler<I, M>> dispatcher = this.dispatcher;
+        Node localMember = this.localMember;
+        Map<Node, MemberBatch> batches = this.batches;
         ExceptionSupplier<CompletionStage<Void>, CommandDispatcherException> action = new ExceptionSupplier<CompletionStage<Void>, CommandDispatcherException>() {
             @Override
             public CompletionStage<Void> get() throws CommandDispatcherException {
                 Node node = primaryOwnerLocator.apply(key);
+                if (node.equals(localMember)) {
+                    return dispatcher.executeOnMember(command, node);
+                }
                 // This should only go remote following a failover
-                return dispatcher.executeOnMember(command, node);
+                while (!batches.computeIfAbsent(node, MemberBatch::new).add(id, schedule)) {
+                    // Batch was concurrently retired
+                }
+                return CompletableFuture.completedFuture(null);
             }
         };
         return INVOKER.invoke(action);
@@ -91,4 +119,80 @@ public class PrimaryOwnerScheduler<I, K, M> implements org.wildfly.clustering.ee
         this.dispatcher.close();
         this.dispatcher.getContext().close();
     }
+
+    /**
+     * Pending commands for a remote member, of which at most one batch is in flight at any given time.
+     */
+    private class MemberBatch {
+        private final Node member;
+        // Most recent operation per item: true = schedule, false = cancel
+        private Map<I, Boolean> pending = new HashMap<>();
+        private boolean inFlight = false;
+        private boolean retired = false;
+
+        MemberBatch(Node member) {
+            this.member = member;
+        }
+
+        /**
+         * Enqueues the specified operation, dispatching it immediately if no batch is currently in flight.
+         * @return false, if this batch was retired and the operation was not enqueued
+         */
+        boolean add(I id, Boolean schedule) {
+            Map<I, Boolean> batch = null;
+            synchronized (this) {
+                if (this.retired) return false;
+                this.pending.put(id, schedule);
+                if (!this.inFlight) {
+                    this.inFlight = true;
+                    batch = this.drain();
+                }
+            }
+            if (batch != null) {
+                this.send(batch);
+            }
+            return true;
+        }
+
+        private Map<I, Boolean> drain() {
+            Map<I, Boolean> batch = this.pending;
+            this.pending = new HashMap<>();
+            return batch;
+        }
+
+        private void send(Map<I, Boolean> batch) {
+            List<I> cancelIds = new ArrayList<>(batch.size());
+            List<I> scheduleIds = new ArrayList<>(batch.size());
+            for (Map.Entry<I, Boolean> entry : batch.entrySet()) {
+                (entry.getValue().booleanValue() ? scheduleIds : cancelIds).add(entry.getKey());
+            }
+            try {
+                PrimaryOwnerScheduler.this.dispatcher.executeOnMember(new BatchCommand<>(cancelIds, scheduleIds), this.member).whenComplete((result, exception) -> {
+                    if (exception != null) {
+                        Logger.ROOT_LOGGER.failedToExecuteBatch(exception, batch.size(), this.member);
+                    }
+                    this.sent();
+                });
+            } catch (CommandDispatcherException e) {
+                Logger.ROOT_LOGGER.failedToExecuteBatch(e, batch.size(), this.member);
+                this.sent();
+            }
+        }
+
+        private void sent() {
+            Map<I, Boolean> batch = null;
+            synchronized (this) {
+                if (this.pending.isEmpty()) {
+                    this.inFlight = false;
+                    this.retired = true;
+                    PrimaryOwnerScheduler.this.batches.remove(this.member, this);
+                } else {
+                    batch = this.drain();
+                }
+            }
+            if (batch != null) {
+                this.send(batch);
+            }
+        }
+    }
 }
@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.infinispan.scheduler;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.infinispan.Cache;
+import org.infinispan.CacheStream;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
+import org.wildfly.clustering.ee.infinispan.logging.Logger;
+import org.wildfly.clustering.infinispan.spi.distribution.Locality;
+
+/**
+ * Describes the segments for which the current member became the primary owner following a topology change,
+ * and processes the local contents of those segments.
+ * @author Paul Ferraro
+ */
+class PrimaryOwnershipChange {
+
+    private final Cache<?, ?> cache;
+    private final IntSet segments;
+    private final int totalSegments;
+
+    PrimaryOwnershipChange(Cache<?, ?> cache, Locality oldLocality, Locality newLocality) {
+        this.cache = cache;
+        this.totalSegments = cache.getCacheConfiguration().clustering().hash().numSegments();
+        this.segments = IntSets.mutableEmptySet(this.totalSegments);
+        for (int segment = 0; segment < this.totalSegments; ++segment) {
+            if (!oldLocality.isLocalSegment(segment) && newLocality.isLocalSegment(segment)) {
+                this.segments.add(segment);
+            }
+        }
+    }
+
+    /**
+     * Indicates whether primary ownership of any segment was gained.
+     * @return true, if no segments were gained, false otherwise
+     */
+    boolean isEmpty() {
+        return this.segments.isEmpty();
+    }
+
+    /**
+     * Applies the specified task to each filtered element of the specified stream belonging to a segment whose primary ownership was gained.
+     * Elements are processed by the calling thread, i.e. the executor of the topology change listener, rather than by a shared pool whose threads lack its context.
+     * Processing stops early if the calling thread is interrupted.
+     * @param stream a stream of local cache keys or entries
+     * @param filter a stream filter
+     * @param task a task
+     */
+    <T> void forEach(CacheStream<T> stream, Predicate<? super T> filter, Consumer<? super T> task) {
+        Thread thread = Thread.currentThread();
+        long count = 0;
+        long start = System.nanoTime();
+        Logger.ROOT_LOGGER.debugf("Scheduling local entries of %d segment(s) of cache %s whose primary ownership changed", this.segments.size(), this.cache.getName());
+        // Only filter by segment if we did not gain ownership of every segment, e.g. for non-clustered caches
+        CacheStream<T> segmentStream = (this.segments.size() < this.totalSegments) ? stream.filterKeySegments(this.segments) : stream;
+        Iterator<T> values = segmentStream.filter(filter).iterator();
+        while (values.hasNext()) {
+            if (thread.isInterrupted()) break;
+            task.accept(values.next());
+            count += 1;
+            if (Logger.ROOT_LOGGER.isTraceEnabled() && (count % 1000 == 0)) {
+                Logger.ROOT_LOGGER.tracef("Scheduled %d local entries of cache %s", count, this.cache.getName());
+            }
+        }
+        long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (thread.isInterrupted()) {
+            Logger.ROOT_LOGGER.debugf("Scheduling of local entries of cache %s was interrupted after %d entries (%d ms)", this.cache.getName(), count, duration);
+        } else {
+            Logger.ROOT_LOGGER.debugf("Scheduled %d local entries from %d segment(s) of cache %s in %d ms", count, this.segments.size(), this.cache.getName(), duration);
+        }
+    }
+}
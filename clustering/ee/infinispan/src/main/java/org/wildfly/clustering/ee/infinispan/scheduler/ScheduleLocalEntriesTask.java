@@ -22,13 +22,12 @@
 
 package org.wildfly.clustering.ee.infinispan.scheduler;
 
-import java.util.Iterator;
 import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
-import java.util.stream.Stream;
 
 import org.infinispan.Cache;
+import org.infinispan.CacheStream;
 import org.infinispan.context.Flag;
 import org.wildfly.clustering.ee.cache.Key;
 import org.wildfly.clustering.infinispan.spi.distribution.Locality;
@@ -53,18 +52,12 @@ public class ScheduleLocalEntriesTask<I, M, K extends Key<I>, V extends M> imple
 
     @Override
     public void accept(Locality oldLocality, Locality newLocality) {
+        // Only segments for which we are the new primary owner need to be scheduled locally
+        PrimaryOwnershipChange change = new PrimaryOwnershipChange(this.cache, oldLocality, newLocality);
+        if (change.isEmpty()) return;
         // Iterate over local entries, including any cache stores to include entries that may be passivated/invalidated
-        try (Stream<Map.Entry<K, V>> stream = this.cache.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL).entrySet().stream().filter(this.filter)) {
-            Iterator<Map.Entry<K, V>> entries = stream.iterator();
-            while (entries.hasNext()) {
-                if (Thread.currentThread().isInterrupted()) break;
-                Map.Entry<K, V> entry = entries.next();
-                K key = entry.getKey();
-                // If we are the new primary owner of this bean then schedule expiration of this bean locally
-                if (!oldLocality.isLocal(key) && newLocality.isLocal(key)) {
-                    this.scheduler.schedule(key.getId(), entry.getValue());
-                }
-            }
+        try (CacheStream<Map.Entry<K, V>> stream = this.cache.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL).entrySet().stream()) {
+            change.forEach(stream, this.filter, entry -> this.scheduler.schedule(entry.getKey().getId(), entry.getValue()));
         }
     }
 }
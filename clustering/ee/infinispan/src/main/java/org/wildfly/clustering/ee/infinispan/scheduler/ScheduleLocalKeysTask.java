@@ -22,12 +22,11 @@
 
 package org.wildfly.clustering.ee.infinispan.scheduler;
 
-import java.util.Iterator;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
-import java.util.stream.Stream;
 
 import org.infinispan.Cache;
+import org.infinispan.CacheStream;
 import org.infinispan.context.Flag;
 import org.wildfly.clustering.ee.cache.Key;
 import org.wildfly.clustering.infinispan.spi.distribution.Locality;
@@ -51,17 +50,12 @@ public class ScheduleLocalKeysTask<I, K extends Key<I>> implements BiConsumer<Lo
 
     @Override
     public void accept(Locality oldLocality, Locality newLocality) {
+        // Only segments for which we are the new primary owner need to be scheduled locally
+        PrimaryOwnershipChange change = new PrimaryOwnershipChange(this.cache, oldLocality, newLocality);
+        if (change.isEmpty()) return;
         // Iterate over local keys, including any cache stores to include entries that may be passivated/invalidated
-        try (Stream<K> stream = this.cache.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL).keySet().stream().filter(this.filter)) {
-            Iterator<K> keys = stream.iterator();
-            while (keys.hasNext()) {
-                if (Thread.currentThread().isInterrupted()) break;
-                K key = keys.next();
-                // If we are the new primary owner of this entry then schedule it locally
-                if (!oldLocality.isLocal(key) && newLocality.isLocal(key)) {
-                    this.scheduler.schedule(key.getId());
-                }
-            }
+        try (CacheStream<K> stream = this.cache.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL).keySet().stream()) {
+            change.forEach(stream, this.filter, key -> this.scheduler.schedule(key.getId()));
         }
     }
 }
\ No newline at end of file
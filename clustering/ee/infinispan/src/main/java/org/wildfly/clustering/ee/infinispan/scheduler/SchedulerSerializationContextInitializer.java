@@ -26,6 +26,7 @@ import org.infinispan.protostream.SerializationContext;
 import org.infinispan.protostream.SerializationContextInitializer;
 import org.kohsuke.MetaInfServices;
 import org.wildfly.clustering.marshalling.protostream.AbstractSerializationContextInitializer;
+import org.wildfly.clustering.marshalling.protostream.ExternalizerMarshaller;
 import org.wildfly.clustering.marshalling.protostream.FunctionalObjectMarshaller;
 
 /**
@@ -38,5 +39,6 @@ public class SchedulerSerializationContextInitializer extends AbstractSerializat
     public void registerMarshallers(SerializationContext context) {
         context.registerMarshaller(new FunctionalObjectMarshaller<>(CancelCommand.class, CancelCommand::new, CancelCommand::getId));
         context.registerMarshaller(new FunctionalObjectMarshaller<>(ScheduleCommand.class, ScheduleCommand::new, ScheduleCommand::getId));
+        context.registerMarshaller(new ExternalizerMarshaller<>(new BatchCommandExternalizer()));
     }
 }
@@ -0,0 +1,59 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.wildfly.clustering.ee.infinispan.scheduler;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.wildfly.clustering.marshalling.ExternalizerTesterFactory;
+import org.wildfly.clustering.marshalling.Tester;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamTesterFactory;
+
+/**
+ * Unit test for {@link BatchCommandExternalizer}.
+ * @author Paul Ferraro
+ */
+public class BatchCommandExternalizerTestCase {
+
+    @Test
+    public void test() throws IOException {
+        test(new ExternalizerTesterFactory(new BatchCommandExternalizer()).createTester());
+        test(new ProtoStreamTesterFactory(this.getClass().getClassLoader()).createTester());
+    }
+
+    private static void test(Tester<BatchCommand<String, Object>> tester) throws IOException {
+        tester.test(new BatchCommand<>(Collections.emptyList(), Collections.emptyList()), BatchCommandExternalizerTestCase::assertEquals);
+        tester.test(new BatchCommand<>(Arrays.asList("foo", "bar"), Collections.emptyList()), BatchCommandExternalizerTestCase::assertEquals);
+        tester.test(new BatchCommand<>(Collections.emptyList(), Arrays.asList("foo", "bar")), BatchCommandExternalizerTestCase::assertEquals);
+        tester.test(new BatchCommand<>(Arrays.asList("foo"), Arrays.asList("bar", "baz")), BatchCommandExternalizerTestCase::assertEquals);
+    }
+
+    static void assertEquals(BatchCommand<String, Object> command1, BatchCommand<String, Object> command2) {
+        Assert.assertEquals(command1.getCancelIds(), command2.getCancelIds());
+        Assert.assertEquals(command1.getScheduleIds(), command2.getScheduleIds());
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.wildfly.clustering.ee.infinispan.scheduler;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.wildfly.clustering.dispatcher.Command;
+import org.wildfly.clustering.dispatcher.CommandDispatcher;
+import org.wildfly.clustering.dispatcher.CommandDispatcherException;
+import org.wildfly.clustering.group.Group;
+import org.wildfly.clustering.group.Node;
+import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
+
+/**
+ * Unit test for {@link PrimaryOwnerScheduler}.
+ * @author Paul Ferraro
+ */
+public class PrimaryOwnerSchedulerTestCase {
+    private static final String NAME = "scheduler";
+
+    private final CommandDispatcherFactory dispatcherFactory = mock(CommandDispatcherFactory.class);
+    private final CommandDispatcher<Scheduler<String, Object>> dispatcher = mock(CommandDispatcher.class);
+    private final Group group = mock(Group.class);
+    private final Scheduler<String, Object> scheduler = mock(Scheduler.class);
+    private final Function<String, Node> primaryOwnerLocator = mock(Function.class);
+    private final Node localMember = mock(Node.class);
+    private final Node remoteMember = mock(Node.class);
+    private final Object metaData = new Object();
+
+    private org.wildfly.clustering.ee.Scheduler<String, Object> createScheduler() {
+        when(this.dispatcherFactory.getGroup()).thenReturn(this.group);
+        when(this.group.getLocalMember()).thenReturn(this.localMember);
+        when(this.dispatcherFactory.<Scheduler<String, Object>>createCommandDispatcher(same(NAME), same(this.scheduler), any())).thenReturn(this.dispatcher);
+        return new PrimaryOwnerScheduler<>(this.dispatcherFactory, NAME, this.scheduler, this.primaryOwnerLocator, Function.identity());
+    }
+
+    @Test
+    public void local() throws CommandDispatcherException {
+        org.wildfly.clustering.ee.Scheduler<String, Object> subject = this.createScheduler();
+        when(this.primaryOwnerLocator.apply("foo")).thenReturn(this.localMember);
+        when(this.dispatcher.executeOnMember(ArgumentMatchers.<Command<Void, Scheduler<String, Object>>>any(), same(this.localMember))).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Commands for locally owned items execute directly, without batching
+        subject.schedule("foo", this.metaData);
+        verify(this.dispatcher).executeOnMember(isA(ScheduleCommand.class), same(this.localMember));
+
+        subject.cancel("foo");
+        verify(this.dispatcher).executeOnMember(isA(CancelCommand.class), same(this.localMember));
+
+        verify(this.dispatcher, never()).executeOnMember(isA(BatchCommand.class), any());
+    }
+
+    @Test
+    public void remote() throws CommandDispatcherException {
+        org.wildfly.clustering.ee.Scheduler<String, Object> subject = this.createScheduler();
+        when(this.primaryOwnerLocator.apply(anyString())).thenReturn(this.remoteMember);
+        CompletableFuture<Void> firstBatch = new CompletableFuture<>();
+        CompletableFuture<Void> secondBatch = new CompletableFuture<>();
+        when(this.dispatcher.executeOnMember(ArgumentMatchers.<BatchCommand<String, Object>>any(), same(this.remoteMember))).thenReturn(firstBatch, secondBatch, CompletableFuture.completedFuture(null));
+        ArgumentCaptor<BatchCommand<String, Object>> capturedCommand = ArgumentCaptor.forClass(BatchCommand.class);
+
+        // No batch is in flight, so the first command is dispatched immediately
+        subject.schedule("foo", this.metaData);
+
+        verify(this.dispatcher).executeOnMember(capturedCommand.capture(), same(this.remoteMember));
+        BatchCommand<String, Object> command = capturedCommand.getValue();
+        assertEquals(Collections.singletonList("foo"), command.getScheduleIds());
+        assertTrue(command.getCancelIds().isEmpty());
+
+        // Subsequent commands are coalesced while the first batch is in flight, retaining only the most recent command per item
+        subject.cancel("bar");
+        subject.schedule("baz", this.metaData);
+        subject.cancel("baz");
+        subject.cancel("qux");
+        subject.schedule("qux", this.metaData);
+
+        verify(this.dispatcher, times(1)).executeOnMember(any(), same(this.remoteMember));
+
+        // Completion of the first batch flushes the pending commands
+        firstBatch.complete(null);
+
+        verify(this.dispatcher, times(2)).executeOnMember(capturedCommand.capture(), same(this.remoteMember));
+        command = capturedCommand.getValue();
+        assertEquals(new HashSet<>(Arrays.asList("bar", "baz")), new HashSet<>(command.getCancelIds()));
+        assertEquals(Collections.singletonList("qux"), command.getScheduleIds());
+
+        // A failed batch is logged, after which the now empty batch is retired
+        secondBatch.completeExceptionally(new Exception());
+
+        verify(this.dispatcher, times(2)).executeOnMember(any(), same(this.remoteMember));
+
+        // A new batch dispatches immediately
+        subject.cancel("foo");
+
+        verify(this.dispatcher, times(3)).executeOnMember(capturedCommand.capture(), same(this.remoteMember));
+        command = capturedCommand.getValue();
+        assertEquals(Collections.singletonList("foo"), command.getCancelIds());
+        assertTrue(command.getScheduleIds().isEmpty());
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.wildfly.clustering.ee.infinispan.scheduler;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.CacheSet;
+import org.infinispan.CacheStream;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.context.Flag;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.wildfly.clustering.ee.cache.Key;
+import org.wildfly.clustering.infinispan.spi.distribution.Locality;
+
+/**
+ * Unit test for {@link ScheduleLocalEntriesTask}.
+ * @author Paul Ferraro
+ */
+public class ScheduleLocalEntriesTaskTestCase {
+
+    private final AdvancedCache<Key<String>, Object> cache = mock(AdvancedCache.class);
+    private final CacheSet<Map.Entry<Key<String>, Object>> entrySet = mock(CacheSet.class);
+    private final CacheStream<Map.Entry<Key<String>, Object>> stream = mock(CacheStream.class);
+    private final Predicate<Map.Entry<? super Key<String>, ? super Object>> filter = mock(Predicate.class);
+    private final Scheduler<String, Object> scheduler = mock(Scheduler.class);
+    private final Locality oldLocality = mock(Locality.class);
+    private final Locality newLocality = mock(Locality.class);
+
+    @Test
+    public void segmentsGained() {
+        this.init(3);
+        Object value1 = new Object();
+        Object value2 = new Object();
+        List<Map.Entry<Key<String>, Object>> entries = Arrays.asList(new AbstractMap.SimpleImmutableEntry<>(createKey("foo"), value1), new AbstractMap.SimpleImmutableEntry<>(createKey("bar"), value2));
+        when(this.stream.filterKeySegments(any(IntSet.class))).thenReturn(this.stream);
+        when(this.stream.filter(same(this.filter))).thenReturn(this.stream);
+        when(this.stream.iterator()).thenReturn(entries.iterator());
+
+        // Segments 1 and 2 were gained, segment 0 remains unowned
+        when(this.newLocality.isLocalSegment(1)).thenReturn(true);
+        when(this.newLocality.isLocalSegment(2)).thenReturn(true);
+
+        new ScheduleLocalEntriesTask<>(this.cache, this.filter, this.scheduler).accept(this.oldLocality, this.newLocality);
+
+        ArgumentCaptor<IntSet> capturedSegments = ArgumentCaptor.forClass(IntSet.class);
+        verify(this.stream).filterKeySegments(capturedSegments.capture());
+        IntSet segments = capturedSegments.getValue();
+        assertEquals(2, segments.size());
+        assertFalse(segments.contains(0));
+        assertTrue(segments.contains(1));
+        assertTrue(segments.contains(2));
+
+        verify(this.stream).filter(same(this.filter));
+        verify(this.scheduler).schedule("foo", value1);
+        verify(this.scheduler).schedule("bar", value2);
+        verify(this.stream).close();
+    }
+
+    @Test
+    public void noSegmentsGained() {
+        this.init(1);
+
+        when(this.oldLocality.isLocalSegment(0)).thenReturn(true);
+
+        new ScheduleLocalEntriesTask<>(this.cache, this.filter, this.scheduler).accept(this.oldLocality, this.newLocality);
+
+        verify(this.cache, never()).entrySet();
+        verifyZeroInteractions(this.scheduler);
+    }
+
+    private void init(int segments) {
+        when(this.cache.getCacheConfiguration()).thenReturn(new ConfigurationBuilder().clustering().cacheMode(CacheMode.DIST_SYNC).hash().numSegments(segments).build());
+        when(this.cache.getName()).thenReturn("cache");
+        when(this.cache.getAdvancedCache()).thenReturn(this.cache);
+        when(this.cache.withFlags(Flag.CACHE_MODE_LOCAL)).thenReturn(this.cache);
+        when(this.cache.entrySet()).thenReturn(this.entrySet);
+        when(this.entrySet.stream()).thenReturn(this.stream);
+    }
+
+    private static Key<String> createKey(String id) {
+        Key<String> key = mock(Key.class);
+        when(key.getId()).thenReturn(id);
+        return key;
+    }
+}
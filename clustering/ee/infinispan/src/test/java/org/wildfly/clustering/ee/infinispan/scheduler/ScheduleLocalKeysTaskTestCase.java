@@ -0,0 +1,137 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.wildfly.clustering.ee.infinispan.scheduler;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.CacheSet;
+import org.infinispan.CacheStream;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.context.Flag;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.wildfly.clustering.ee.cache.Key;
+import org.wildfly.clustering.infinispan.spi.distribution.Locality;
+
+/**
+ * Unit test for {@link ScheduleLocalKeysTask}.
+ * @author Paul Ferraro
+ */
+public class ScheduleLocalKeysTaskTestCase {
+
+    private final AdvancedCache<Key<String>, Object> cache = mock(AdvancedCache.class);
+    private final CacheSet<Key<String>> keySet = mock(CacheSet.class);
+    private final CacheStream<Key<String>> stream = mock(CacheStream.class);
+    private final Predicate<Key<String>> filter = mock(Predicate.class);
+    private final Scheduler<String, Object> scheduler = mock(Scheduler.class);
+    private final Locality oldLocality = mock(Locality.class);
+    private final Locality newLocality = mock(Locality.class);
+
+    @Test
+    public void segmentsGained() {
+        this.init(3);
+        Key<String> key1 = createKey("foo");
+        Key<String> key2 = createKey("bar");
+        this.stream(Arrays.asList(key1, key2));
+
+        // Segment 0 was already owned, segment 1 was gained, segment 2 was lost
+        when(this.oldLocality.isLocalSegment(0)).thenReturn(true);
+        when(this.newLocality.isLocalSegment(0)).thenReturn(true);
+        when(this.newLocality.isLocalSegment(1)).thenReturn(true);
+        when(this.oldLocality.isLocalSegment(2)).thenReturn(true);
+
+        new ScheduleLocalKeysTask<>(this.cache, this.filter, this.scheduler).accept(this.oldLocality, this.newLocality);
+
+        ArgumentCaptor<IntSet> capturedSegments = ArgumentCaptor.forClass(IntSet.class);
+        verify(this.stream).filterKeySegments(capturedSegments.capture());
+        IntSet segments = capturedSegments.getValue();
+        assertEquals(1, segments.size());
+        assertTrue(segments.contains(1));
+
+        verify(this.stream).filter(same(this.filter));
+        verify(this.scheduler).schedule("foo");
+        verify(this.scheduler).schedule("bar");
+        verify(this.stream).close();
+    }
+
+    @Test
+    public void allSegmentsGained() {
+        this.init(2);
+        Key<String> key = createKey("foo");
+        this.stream(Arrays.asList(key));
+
+        when(this.newLocality.isLocalSegment(0)).thenReturn(true);
+        when(this.newLocality.isLocalSegment(1)).thenReturn(true);
+
+        new ScheduleLocalKeysTask<>(this.cache, this.filter, this.scheduler).accept(this.oldLocality, this.newLocality);
+
+        // No need to filter by segment
+        verify(this.stream, never()).filterKeySegments(any(IntSet.class));
+        verify(this.scheduler).schedule("foo");
+    }
+
+    @Test
+    public void noSegmentsGained() {
+        this.init(2);
+
+        when(this.oldLocality.isLocalSegment(0)).thenReturn(true);
+        when(this.newLocality.isLocalSegment(0)).thenReturn(true);
+        when(this.oldLocality.isLocalSegment(1)).thenReturn(true);
+
+        new ScheduleLocalKeysTask<>(this.cache, this.filter, this.scheduler).accept(this.oldLocality, this.newLocality);
+
+        verify(this.cache, never()).keySet();
+        verifyZeroInteractions(this.scheduler);
+    }
+
+    private void init(int segments) {
+        when(this.cache.getCacheConfiguration()).thenReturn(new ConfigurationBuilder().clustering().cacheMode(CacheMode.DIST_SYNC).hash().numSegments(segments).build());
+        when(this.cache.getName()).thenReturn("cache");
+        when(this.cache.getAdvancedCache()).thenReturn(this.cache);
+        when(this.cache.withFlags(Flag.CACHE_MODE_LOCAL)).thenReturn(this.cache);
+        when(this.cache.keySet()).thenReturn(this.keySet);
+        when(this.keySet.stream()).thenReturn(this.stream);
+    }
+
+    private void stream(List<Key<String>> keys) {
+        when(this.stream.filterKeySegments(any(IntSet.class))).thenReturn(this.stream);
+        when(this.stream.filter(same(this.filter))).thenReturn(this.stream);
+        when(this.stream.iterator()).thenReturn(keys.iterator());
+    }
+
+    private static Key<String> createKey(String id) {
+        Key<String> key = mock(Key.class);
+        when(key.getId()).thenReturn(id);
+        return key;
+    }
+}
@@ -21,6 +21,8 @@
  */
 package org.wildfly.clustering.ejb.infinispan;
 
+import java.util.Collection;
+
 /**
  * Evicts a stateful bean.
  * @author Paul Ferraro
@@ -31,4 +33,15 @@ public interface BeanGroupEvictor<I> {
      * @param id a bean group identifier.
      */
     void evict(I id);
+
+    /**
+     * Evicts the bean groups identified by the specified identifiers.
+     * Since cache eviction is a per-key, local operation, the default implementation simply evicts each bean group in turn.
+     * @param ids a collection of bean group identifiers.
+     */
+    default void evict(Collection<I> ids) {
+        for (I id : ids) {
+            this.evict(id);
+        }
+    }
 }
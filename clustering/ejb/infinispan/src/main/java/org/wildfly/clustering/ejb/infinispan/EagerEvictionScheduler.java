@@ -23,7 +23,12 @@ package org.wildfly.clustering.ejb.infinispan;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
@@ -32,19 +37,22 @@ import org.wildfly.clustering.dispatcher.CommandDispatcher;
 import org.wildfly.clustering.dispatcher.CommandDispatcherException;
 import org.wildfly.clustering.ee.Batch;
 import org.wildfly.clustering.ee.Batcher;
+import org.wildfly.clustering.ee.cache.scheduler.ExpirationScheduledEntriesFactory;
 import org.wildfly.clustering.ee.cache.scheduler.LinkedScheduledEntries;
 import org.wildfly.clustering.ee.cache.scheduler.LocalScheduler;
-import org.wildfly.clustering.ee.cache.scheduler.SortedScheduledEntries;
 import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
 import org.wildfly.clustering.ee.infinispan.scheduler.Scheduler;
 import org.wildfly.clustering.ejb.infinispan.bean.InfinispanBeanKey;
 import org.wildfly.clustering.ejb.infinispan.logging.InfinispanEjbLogger;
 import org.wildfly.clustering.group.Group;
+import org.wildfly.clustering.group.Node;
 import org.wildfly.clustering.infinispan.spi.distribution.Locality;
 import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
 
 /**
  * Scheduler for eager eviction of a bean.
+ * Beans due for eviction within a single pass of the scheduler are evicted via a single broadcast.
+ * Members running a previous version, which cannot deserialize this broadcast, are sent a command per bean instead.
  * @author Paul Ferraro
  */
 public class EagerEvictionScheduler<I, T> implements Scheduler<I, ImmutableBeanEntry<I>>, Predicate<I> {
@@ -54,11 +62,13 @@ public class EagerEvictionScheduler<I, T> implements Scheduler<I, ImmutableBeanE
     private final Map<I, I> beanGroups = new ConcurrentHashMap<>();
     private final BeanFactory<I, T> factory;
     private final Duration idleTimeout;
+    // Beans pending eviction, only accessed by the scheduler thread
+    private final List<I> evictions = new ArrayList<>();
 
     private final CommandDispatcher<BeanGroupEvictor<I>> dispatcher;
 
     public EagerEvictionScheduler(Group group, Batcher<TransactionBatch> batcher, BeanFactory<I, T> factory, BeanGroupEvictor<I> evictor, Duration idleTimeout, CommandDispatcherFactory dispatcherFactory, String dispatcherName, Duration closeTimeout) {
-        this.scheduler = new LocalScheduler<>(group.isSingleton() ? new LinkedScheduledEntries<>() : new SortedScheduledEntries<>(), this, closeTimeout);
+        this.scheduler = new LocalScheduler<>(group.isSingleton() ? new LinkedScheduledEntries<>() : new ExpirationScheduledEntriesFactory<I>().get(), this, this::evict, closeTimeout);
         this.batcher = batcher;
         this.factory = factory;
         this.idleTimeout = idleTimeout;
@@ -107,17 +117,58 @@ public class EagerEvictionScheduler<I, T> implements Scheduler<I, ImmutableBeanE
     @Override
     public boolean test(I id) {
         InfinispanEjbLogger.ROOT_LOGGER.debugf("Evicting stateful session bean %s", id);
+        // Defer eviction until the scheduler completes its pass over the due beans
+        this.evictions.add(id);
+        return true;
+    }
+
+    private void evict() {
+        if (this.evictions.isEmpty()) return;
+        List<I> ids = new ArrayList<>(this.evictions);
+        this.evictions.clear();
         try {
             // Cache eviction is a local operation, so we need to broadcast this to the cluster
-            this.dispatcher.executeOnGroup(new EvictCommand<>(id));
-            this.beanGroups.remove(id);
-            return true;
+            Map<Node, CompletionStage<Void>> responses = this.dispatcher.executeOnGroup(new BulkEvictCommand<>(ids));
+            for (Map.Entry<Node, CompletionStage<Void>> entry : responses.entrySet()) {
+                Node member = entry.getKey();
+                entry.getValue().whenComplete((result, exception) -> {
+                    // Member may be running a previous version that cannot deserialize the bulk command
+                    // Cancellation indicates the member left the group
+                    if ((exception != null) && !(exception instanceof CancellationException)) {
+                        InfinispanEjbLogger.ROOT_LOGGER.debugf(exception, "Failed to evict stateful session beans %s on member %s, retrying individually", ids, member);
+                        this.evict(member, ids);
+                    }
+                });
+            }
+            for (I id : ids) {
+                this.beanGroups.remove(id);
+            }
         } catch (CommandDispatcherException e) {
             InfinispanEjbLogger.ROOT_LOGGER.warn(e.getLocalizedMessage(), e);
-            return false;
+            // Retry eviction of beans that were not canceled in the interim
+            Instant now = Instant.now();
+            for (I id : ids) {
+                if (this.beanGroups.containsKey(id)) {
+                    this.scheduler.schedule(id, now);
+                }
+            }
         }
     }
 
+    private void evict(Node member, List<I> ids) {
+        for (I id : ids) {
+            try {
+                this.dispatcher.executeOnMember(new EvictCommand<>(id), member);
+            } catch (CommandDispatcherException e) {
+                InfinispanEjbLogger.ROOT_LOGGER.warn(e.getLocalizedMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Evicts a single bean.
+     * Only sent to members that failed to execute a {@link BulkEvictCommand}, e.g. members running a previous version during a rolling upgrade.
+     */
     static class EvictCommand<I> implements Command<Void, BeanGroupEvictor<I>> {
         private static final long serialVersionUID = -7382608648983713382L;
 
@@ -134,4 +185,21 @@ public class EagerEvictionScheduler<I, T> implements Scheduler<I, ImmutableBeanE
             return null;
         }
     }
+
+    static class BulkEvictCommand<I> implements Command<Void, BeanGroupEvictor<I>> {
+        private static final long serialVersionUID = 2934614718392436532L;
+
+        private final Collection<I> ids;
+
+        BulkEvictCommand(Collection<I> ids) {
+            this.ids = ids;
+        }
+
+        @Override
+        public Void execute(BeanGroupEvictor<I> evictor) throws Exception {
+            InfinispanEjbLogger.ROOT_LOGGER.tracef("Passivating stateful session beans %s", this.ids);
+            evictor.evict(this.ids);
+            return null;
+        }
+    }
 }
@@ -27,6 +27,7 @@ import java.util.Set;
 
 import org.wildfly.clustering.ee.Mutator;
 import org.wildfly.clustering.ee.Remover;
+import org.wildfly.clustering.ee.cache.CacheProperties;
 import org.wildfly.clustering.ejb.PassivationListener;
 import org.wildfly.clustering.ejb.infinispan.BeanGroup;
 import org.wildfly.clustering.ejb.infinispan.BeanGroupEntry;
@@ -34,6 +35,7 @@ import org.wildfly.clustering.ejb.infinispan.logging.InfinispanEjbLogger;
 
 /**
  * A {@link org.wildfly.clustering.ejb.infinispan.BeanGroup} implementation backed by an infinispan cache.
+ * On close, the group of a marshalling cache is only replicated if its marshalled form changed since it was last accessed.
  *
  * @author Paul Ferraro
  *
@@ -48,13 +50,15 @@ public class InfinispanBeanGroup<I, T, C> implements BeanGroup<I, T> {
     private final C context;
     private final Mutator mutator;
     private final Remover<I> remover;
+    private final CacheProperties properties;
 
-    public InfinispanBeanGroup(I id, BeanGroupEntry<I, T, C> entry, C context, Mutator mutator, Remover<I> remover) {
+    public InfinispanBeanGroup(I id, BeanGroupEntry<I, T, C> entry, C context, Mutator mutator, Remover<I> remover, CacheProperties properties) {
         this.id = id;
         this.entry = entry;
         this.context = context;
         this.mutator = mutator;
         this.remover = remover;
+        this.properties = properties;
     }
 
     @Override
@@ -123,12 +127,25 @@ public class InfinispanBeanGroup<I, T, C> implements BeanGroup<I, T> {
     @Override
     public void close() {
         if (!this.beans().isEmpty()) {
-            this.mutator.mutate();
+            // Group is only closed once no bean is in use, thus any changes since last access are complete
+            // Changes can only be detected via the marshalled form of the group, which non-marshalling caches never compute
+            if (!this.properties.isMarshalling() || this.isModified()) {
+                this.mutator.mutate();
+            }
         } else {
             this.remover.remove(this.id);
         }
     }
 
+    private boolean isModified() {
+        try {
+            return this.entry.getBeans().isModified();
+        } catch (IOException e) {
+            // Defer to replication to report marshalling failure
+            return true;
+        }
+    }
+
     @Override
     public void prePassivate(I id, PassivationListener<T> listener) {
         if (listener != null) {
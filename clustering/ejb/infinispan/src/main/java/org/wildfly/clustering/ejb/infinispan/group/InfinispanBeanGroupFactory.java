@@ -83,6 +83,7 @@ public class InfinispanBeanGroupFactory<I, T, C> implements BeanGroupFactory<I,
     private final MarshalledValueFactory<C> factory;
     private final PassivationListener<T> passivationListener;
     private final MutatorFactory<BeanGroupKey<I>, BeanGroupEntry<I, T, C>> mutatorFactory;
+    private final CacheProperties properties;
     private final ExecutorService executor = new DefaultExecutorService(this.getClass(), ExecutorServiceFactory.CACHED_THREAD);
 
     public InfinispanBeanGroupFactory(Cache<BeanGroupKey<I>, BeanGroupEntry<I, T, C>> cache, Cache<BeanKey<I>, BeanEntry<I>> beanCache, Predicate<Map.Entry<? super BeanKey<I>, ? super BeanEntry<I>>> beanFilter, MarshalledValueFactory<C> factory, CacheProperties properties, PassivationConfiguration<T> passivation) {
@@ -94,6 +95,7 @@ public class InfinispanBeanGroupFactory<I, T, C> implements BeanGroupFactory<I,
         this.passivationListener = !properties.isPersistent() ? passivation.getPassivationListener() : null;
         this.cache.addListener(this, BeanGroupFilter.INSTANCE, null);
         this.mutatorFactory = new InfinispanMutatorFactory<>(cache, properties);
+        this.properties = properties;
     }
 
     @Override
@@ -153,7 +155,7 @@ public class InfinispanBeanGroupFactory<I, T, C> implements BeanGroupFactory<I,
     }
 
     private BeanGroup<I, T> createGroup(I id, BeanGroupEntry<I, T, C> entry, Mutator mutator) {
-        return new InfinispanBeanGroup<>(id, entry, this.factory.getMarshallingContext(), mutator, this);
+        return new InfinispanBeanGroup<>(id, entry, this.factory.getMarshallingContext(), mutator, this, this.properties);
     }
 
     @Override
@@ -167,6 +169,7 @@ public class InfinispanBeanGroupFactory<I, T, C> implements BeanGroupFactory<I,
 
         C context = this.factory.getMarshallingContext();
         Remover<I> remover = this;
+        CacheProperties properties = this.properties;
         BeanGroupEntry<I, T, C> entry = event.getValue();
         Cache<BeanKey<I>, BeanEntry<I>> beanCache = this.beanCache;
         PassivationListener<T> passivationListener = this.passivationListener;
@@ -174,7 +177,7 @@ public class InfinispanBeanGroupFactory<I, T, C> implements BeanGroupFactory<I,
         Runnable task = new Runnable() {
             @Override
             public void run() {
-                try (BeanGroup<I, T> group = new InfinispanBeanGroup<>(event.getKey().getId(), entry, context, Mutator.PASSIVE, remover)) {
+                try (BeanGroup<I, T> group = new InfinispanBeanGroup<>(event.getKey().getId(), entry, context, Mutator.PASSIVE, remover, properties)) {
                     Set<I> beans = group.getBeans();
                     List<I> notified = new ArrayList<>(beans.size());
                     try {
@@ -213,6 +216,7 @@ public class InfinispanBeanGroupFactory<I, T, C> implements BeanGroupFactory<I,
 
         C context = this.factory.getMarshallingContext();
         Remover<I> remover = this;
+        CacheProperties properties = this.properties;
         BeanGroupEntry<I, T, C> entry = event.getValue();
         Cache<BeanKey<I>, BeanEntry<I>> beanCache = this.beanCache;
         PassivationListener<T> passivationListener = this.passivationListener;
@@ -220,7 +224,7 @@ public class InfinispanBeanGroupFactory<I, T, C> implements BeanGroupFactory<I,
         Runnable task = new Runnable() {
             @Override
             public void run() {
-                try (BeanGroup<I, T> group = new InfinispanBeanGroup<>(event.getKey().getId(), entry, context, Mutator.PASSIVE, remover)) {
+                try (BeanGroup<I, T> group = new InfinispanBeanGroup<>(event.getKey().getId(), entry, context, Mutator.PASSIVE, remover, properties)) {
                     for (I beanId : group.getBeans()) {
                         BeanKey<I> beanKey = new InfinispanBeanKey<>(beanId);
                         BeanEntry<I> beanEntry = beanCache.get(beanKey);
@@ -36,6 +36,7 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.wildfly.clustering.ee.Mutator;
 import org.wildfly.clustering.ee.Remover;
+import org.wildfly.clustering.ee.cache.CacheProperties;
 import org.wildfly.clustering.ejb.PassivationListener;
 import org.wildfly.clustering.ejb.infinispan.BeanGroup;
 import org.wildfly.clustering.ejb.infinispan.BeanGroupEntry;
@@ -47,8 +48,9 @@ public class InfinispanBeanGroupTestCase {
     private Object context = new Object();
     private Mutator mutator = mock(Mutator.class);
     private Remover<String> remover = mock(Remover.class);
+    private CacheProperties properties = mock(CacheProperties.class);
 
-    private BeanGroup<String, Object> group = new InfinispanBeanGroup<>(this.id, this.entry, this.context, this.mutator, this.remover);
+    private BeanGroup<String, Object> group = new InfinispanBeanGroup<>(this.id, this.entry, this.context, this.mutator, this.remover, this.properties);
 
     @Test
     public void getId() {
@@ -216,6 +218,7 @@ public class InfinispanBeanGroupTestCase {
 
         when(this.entry.getBeans()).thenReturn(value);
         when(value.get(this.context)).thenReturn(Collections.<String, Object>emptyMap());
+        when(this.properties.isMarshalling()).thenReturn(true);
 
         this.group.close();
 
@@ -225,10 +228,32 @@ public class InfinispanBeanGroupTestCase {
         reset(this.remover, this.mutator);
 
         when(value.get(this.context)).thenReturn(Collections.singletonMap("id", new Object()));
+        when(value.isModified()).thenReturn(true);
 
         this.group.close();
 
         verify(this.mutator).mutate();
         verify(this.remover, never()).remove(this.id);
+
+        reset(this.remover, this.mutator);
+
+        when(value.isModified()).thenReturn(false);
+
+        this.group.close();
+
+        verify(this.mutator, never()).mutate();
+        verify(this.remover, never()).remove(this.id);
+
+        reset(this.remover, this.mutator, value);
+
+        // Non-marshalling cache should always mutate, without computing marshalled form
+        when(this.properties.isMarshalling()).thenReturn(false);
+        when(value.get(this.context)).thenReturn(Collections.singletonMap("id", new Object()));
+
+        this.group.close();
+
+        verify(this.mutator).mutate();
+        verify(value, never()).isModified();
+        verify(this.remover, never()).remove(this.id);
     }
 }
@@ -24,9 +24,6 @@ package org.jboss.as.clustering.infinispan.subsystem;
 
 import static org.jboss.as.clustering.infinispan.subsystem.CacheContainerResourceDefinition.Capability.KEY_AFFINITY_FACTORY;
 
-import java.util.Collections;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -34,10 +31,6 @@ import java.util.function.Supplier;
 import org.infinispan.Cache;
 import org.infinispan.affinity.KeyAffinityService;
 import org.infinispan.affinity.KeyGenerator;
-import org.infinispan.affinity.impl.KeyAffinityServiceImpl;
-import org.infinispan.remoting.transport.Address;
-import org.jboss.as.clustering.context.DefaultExecutorService;
-import org.jboss.as.clustering.context.DefaultThreadFactory;
 import org.jboss.as.clustering.controller.CapabilityServiceNameProvider;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.msc.Service;
@@ -45,89 +38,36 @@ import org.jboss.msc.service.ServiceBuilder;
 import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceTarget;
 import org.wildfly.clustering.infinispan.spi.affinity.KeyAffinityServiceFactory;
-import org.wildfly.clustering.service.AsyncServiceConfigurator;
+import org.wildfly.clustering.infinispan.spi.affinity.SegmentKeyAffinityService;
 import org.wildfly.clustering.service.FunctionalService;
 import org.wildfly.clustering.service.ServiceConfigurator;
-import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Key affinity service factory that will only generates keys for use by the local node.
- * Returns a trivial implementation if the specified cache is not distributed.
+ * Keys are generated on demand by the calling thread, filtered via the segments owned by the requested address.
  * @author Paul Ferraro
  */
-public class KeyAffinityServiceFactoryServiceConfigurator extends CapabilityServiceNameProvider implements ServiceConfigurator, Function<ExecutorService, KeyAffinityServiceFactory>, Supplier<ExecutorService>, Consumer<ExecutorService> {
-
-    private volatile int bufferSize = 100;
+public class KeyAffinityServiceFactoryServiceConfigurator extends CapabilityServiceNameProvider implements ServiceConfigurator, KeyAffinityServiceFactory, Supplier<KeyAffinityServiceFactory> {
 
     public KeyAffinityServiceFactoryServiceConfigurator(PathAddress address) {
         super(KEY_AFFINITY_FACTORY, address);
     }
 
-    public KeyAffinityServiceFactoryServiceConfigurator setBufferSize(int size) {
-        this.bufferSize = size;
-        return this;
-    }
-
     @Override
-    public ExecutorService get() {
-        return Executors.newCachedThreadPool(new DefaultThreadFactory(KeyAffinityService.class));
-    }
-
-    @Override
-    public KeyAffinityServiceFactory apply(ExecutorService executor) {
-        int bufferSize = this.bufferSize;
-        return new KeyAffinityServiceFactory() {
-            @Override
-            public <K> KeyAffinityService<K> createService(Cache<K, ?> cache, KeyGenerator<K> generator) {
-                return cache.getCacheConfiguration().clustering().cacheMode().isClustered() ? new KeyAffinityServiceImpl<>(executor, cache, generator, bufferSize, Collections.singleton(cache.getCacheManager().getAddress()), false) : new SimpleKeyAffinityService<>(generator);
-            }
-        };
+    public KeyAffinityServiceFactory get() {
+        return this;
     }
 
     @Override
-    public void accept(ExecutorService executor) {
-        WildFlySecurityManager.doUnchecked(executor, DefaultExecutorService.SHUTDOWN_NOW_ACTION);
+    public <K> KeyAffinityService<K> createService(Cache<K, ?> cache, KeyGenerator<K> generator) {
+        return new SegmentKeyAffinityService<>(cache, generator);
     }
 
     @Override
     public ServiceBuilder<?> build(ServiceTarget target) {
-        ServiceBuilder<?> builder = new AsyncServiceConfigurator(this.getServiceName()).startSynchronously().build(target);
+        ServiceBuilder<?> builder = target.addService(this.getServiceName());
         Consumer<KeyAffinityServiceFactory> affinityFactory = builder.provides(this.getServiceName());
-        Service service = new FunctionalService<>(affinityFactory, this, this, this);
+        Service service = new FunctionalService<>(affinityFactory, Function.identity(), this);
         return builder.setInstance(service).setInitialMode(ServiceController.Mode.ON_DEMAND);
     }
-
-    private static class SimpleKeyAffinityService<K> implements KeyAffinityService<K> {
-        private final KeyGenerator<K> generator;
-        private volatile boolean started = false;
-
-        SimpleKeyAffinityService(KeyGenerator<K> generator) {
-            this.generator = generator;
-        }
-
-        @Override
-        public void start() {
-            this.started = true;
-        }
-
-        @Override
-        public void stop() {
-            this.started = false;
-        }
-
-        @Override
-        public K getKeyForAddress(Address address) {
-            return this.generator.getKey();
-        }
-
-        @Override
-        public K getCollocatedKey(K otherKey) {
-            return this.generator.getKey();
-        }
-
-        @Override
-        public boolean isStarted() {
-            return this.started;
-        }
-    }
 }
@@ -27,6 +27,8 @@ import org.infinispan.interceptors.impl.CacheLoaderInterceptor;
 import org.jboss.as.clustering.controller.BinaryCapabilityNameResolver;
 import org.jboss.as.clustering.controller.FunctionExecutorRegistry;
 import org.jboss.as.clustering.controller.MetricHandler;
+import org.jboss.as.clustering.infinispan.subsystem.remote.HotRodStoreMetric;
+import org.jboss.as.clustering.infinispan.subsystem.remote.HotRodStoreMetricExecutor;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 
@@ -48,6 +50,7 @@ public class PersistenceRuntimeResourceDefinition extends CacheComponentRuntimeR
     public ManagementResourceRegistration register(ManagementResourceRegistration parent) {
         ManagementResourceRegistration registration = super.register(parent);
         new MetricHandler<>(new CacheInterceptorMetricExecutor<>(this.executors, CacheLoaderInterceptor.class, BinaryCapabilityNameResolver.GRANDPARENT_PARENT), StoreMetric.class).register(registration);
+        new MetricHandler<>(new HotRodStoreMetricExecutor(this.executors, BinaryCapabilityNameResolver.GRANDPARENT_PARENT), HotRodStoreMetric.class).register(registration);
         return registration;
     }
 }
@@ -23,11 +23,18 @@
 package org.jboss.as.clustering.infinispan.subsystem.remote;
 
 import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -79,6 +86,11 @@ public class HotRodStore<K, V> implements NonBlockingStore<K, V> {
     private PersistenceMarshaller marshaller;
     private MarshallableEntryFactory<K,V> entryFactory;
     private int batchSize;
+    private int batchBytes;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchEntries = new LongAdder();
+    private final LongAdder batchTime = new LongAdder();
 
     @Override
     public CompletionStage<Void> start(InitializationContext context) {
@@ -89,6 +101,7 @@ public class HotRodStore<K, V> implements NonBlockingStore<K, V> {
         String cacheConfiguration = configuration.cacheConfiguration();
         String cacheName = context.getCache().getName();
         this.batchSize = configuration.maxBatchSize();
+        this.batchBytes = configuration.maxBatchBytes();
 
         this.marshaller = context.getPersistenceMarshaller();
         this.entryFactory = context.getMarshallableEntryFactory();
@@ -156,13 +169,71 @@ public class HotRodStore<K, V> implements NonBlockingStore<K, V> {
 
     @Override
     public CompletionStage<Void> batch(int publisherCount, Publisher<SegmentedPublisher<Object>> removePublisher, Publisher<SegmentedPublisher<MarshallableEntry<K, V>>> writePublisher) {
+        long start = System.nanoTime();
+        LongAdder entries = new LongAdder();
+        // HotRod has no bulk remove operation
         Completable removeCompletable = Flowable.fromPublisher(removePublisher)
                 .flatMap(sp -> Flowable.fromPublisher(sp), publisherCount)
+                .doOnNext(key -> entries.increment())
                 .flatMapCompletable(key -> Completable.fromCompletionStage(this.cache.removeAsync(this.marshalKey(key))), false, this.batchSize);
+        // Bundle writes into bulk operations, bounded by entry count and marshalled size
         Completable writeCompletable = Flowable.fromPublisher(writePublisher)
                 .flatMap(sp -> Flowable.fromPublisher(sp), publisherCount)
-                .flatMapCompletable(entry -> Completable.fromCompletionStage(this.cache.putAsync(entry.getKeyBytes(), this.marshalValue(entry.getMarshalledValue()))), false, this.batchSize);
-        return removeCompletable.mergeWith(writeCompletable).toCompletionStage(null);
+                .doOnNext(entry -> entries.increment())
+                .map(entry -> new AbstractMap.SimpleImmutableEntry<>(entry.getKeyBytes(), this.marshalValue(entry.getMarshalledValue())))
+                .buffer(this.batchSize)
+                .flatMapCompletable(chunk -> Completable.fromCompletionStage(this.putAll(chunk)), false, publisherCount);
+        return removeCompletable.mergeWith(writeCompletable).doOnComplete(() -> {
+            this.batches.increment();
+            this.batchEntries.add(entries.sum());
+            this.batchTime.add(System.nanoTime() - start);
+        }).toCompletionStage(null);
+    }
+
+    private CompletionStage<Void> putAll(List<? extends Map.Entry<ByteBuffer, ByteBuffer>> chunk) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(1);
+        Map<ByteBuffer, ByteBuffer> map = new HashMap<>();
+        int bytes = 0;
+        for (Map.Entry<ByteBuffer, ByteBuffer> entry : chunk) {
+            int size = entry.getKey().getLength() + entry.getValue().getLength();
+            if (!map.isEmpty() && (bytes + size > this.batchBytes)) {
+                futures.add(this.cache.putAllAsync(map));
+                map = new HashMap<>();
+                bytes = 0;
+            }
+            map.put(entry.getKey(), entry.getValue());
+            bytes += size;
+        }
+        if (!map.isEmpty()) {
+            futures.add(this.cache.putAllAsync(map));
+        }
+        return (futures.size() == 1) ? futures.get(0) : CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Returns the number of batches written to this store.
+     * @return a number of batches
+     */
+    public long getBatches() {
+        return this.batches.sum();
+    }
+
+    /**
+     * Returns the average number of entries written or removed per batch.
+     * @return an average number of entries
+     */
+    public double getAverageBatchSize() {
+        long count = this.batches.sum();
+        return (count > 0) ? (double) this.batchEntries.sum() / count : 0;
+    }
+
+    /**
+     * Returns the average duration of a batch, in milliseconds.
+     * @return an average duration, in milliseconds
+     */
+    public long getAverageBatchTime() {
+        long count = this.batches.sum();
+        return (count > 0) ? TimeUnit.NANOSECONDS.toMillis(this.batchTime.sum() / count) : 0;
     }
 
     @Override
@@ -178,8 +249,9 @@ public class HotRodStore<K, V> implements NonBlockingStore<K, V> {
     }
 
     private Flowable<MarshallableEntry<K, V>> publishEntries(IntSet segments, Predicate<? super K> filter) {
-        Stream<MarshallableEntry<K, V>> entries = this.cache.entrySet().stream().map(this::unmarshalEntry);
-        Stream<MarshallableEntry<K, V>> filteredEntries = (filter != null) ? entries.filter(entry -> filter.test(entry.getKey())) : entries;
+        Stream<Map.Entry<ByteBuffer, ByteBuffer>> entries = this.cache.entrySet().stream();
+        // Filter on key before unmarshalling value
+        Stream<MarshallableEntry<K, V>> filteredEntries = (filter != null) ? entries.map(this::unmarshalKeyEntry).filter(entry -> filter.test(entry.getKey())).map(this::unmarshalValueEntry) : entries.map(this::unmarshalEntry);
         return Flowable.fromPublisher(this.blockingManager.blockingPublisher(Flowable.defer(() -> Flowable.fromStream(filteredEntries).doFinally(filteredEntries::close))));
     }
 
@@ -220,6 +292,14 @@ public class HotRodStore<K, V> implements NonBlockingStore<K, V> {
         return this.entryFactory.create(this.unmarshalKey(entry.getKey()), this.unmarshalValue(entry.getValue()));
     }
 
+    private Map.Entry<K, ByteBuffer> unmarshalKeyEntry(Map.Entry<ByteBuffer, ByteBuffer> entry) {
+        return new AbstractMap.SimpleImmutableEntry<>(this.unmarshalKey(entry.getKey()), entry.getValue());
+    }
+
+    private MarshallableEntry<K, V> unmarshalValueEntry(Map.Entry<K, ByteBuffer> entry) {
+        return this.entryFactory.create(entry.getKey(), this.unmarshalValue(entry.getValue()));
+    }
+
     private ByteBuffer marshalValue(MarshalledValue value) {
         try {
             return this.marshaller.objectToBuffer(value);
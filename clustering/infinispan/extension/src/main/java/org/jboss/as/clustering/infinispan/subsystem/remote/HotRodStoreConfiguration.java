@@ -41,6 +41,14 @@ public class HotRodStoreConfiguration extends AbstractStoreConfiguration {
 
     static final AttributeDefinition<String> CACHE_CONFIGURATION = AttributeDefinition.builder("cacheConfiguration", null, String.class).build();
 
+    /**
+     * Store property defining the maximum number of marshalled bytes written via a single bulk operation, e.g.
+     * <code>&lt;property name="maxBatchBytes"&gt;524288&lt;/property&gt;</code>.
+     * A single entry exceeding this limit is written via its own bulk operation.
+     */
+    static final String MAX_BATCH_BYTES = "maxBatchBytes";
+    static final int DEFAULT_MAX_BATCH_BYTES = 1024 * 1024;
+
     public HotRodStoreConfiguration(AttributeSet attributes, AsyncStoreConfiguration async) {
         super(attributes, async);
     }
@@ -53,6 +61,10 @@ public class HotRodStoreConfiguration extends AbstractStoreConfiguration {
         return this.attributes.attribute(CACHE_CONFIGURATION).get();
     }
 
+    public int maxBatchBytes() {
+        return this.properties().getIntProperty(MAX_BATCH_BYTES, DEFAULT_MAX_BATCH_BYTES);
+    }
+
     @Override
     public String toString() {
         return "HotRodStoreConfiguration{attributes=" + this.attributes + '}';
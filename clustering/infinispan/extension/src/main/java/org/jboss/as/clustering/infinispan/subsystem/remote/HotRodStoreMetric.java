@@ -0,0 +1,73 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.clustering.infinispan.subsystem.remote;
+
+import org.jboss.as.clustering.controller.Metric;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.AttributeAccess.Flag;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Enumeration of management metrics for a HotRod store.
+ * @author Paul Ferraro
+ */
+@SuppressWarnings("rawtypes")
+public enum HotRodStoreMetric implements Metric<HotRodStore> {
+
+    AVERAGE_BATCH_SIZE("average-batch-size", ModelType.DOUBLE, Flag.GAUGE_METRIC, null) {
+        @Override
+        public ModelNode execute(HotRodStore store) {
+            return new ModelNode(store.getAverageBatchSize());
+        }
+    },
+    AVERAGE_BATCH_TIME("average-batch-time", ModelType.LONG, Flag.GAUGE_METRIC, MeasurementUnit.MILLISECONDS) {
+        @Override
+        public ModelNode execute(HotRodStore store) {
+            return new ModelNode(store.getAverageBatchTime());
+        }
+    },
+    BATCHES("batches", ModelType.LONG, Flag.COUNTER_METRIC, null) {
+        @Override
+        public ModelNode execute(HotRodStore store) {
+            return new ModelNode(store.getBatches());
+        }
+    },
+    ;
+    private final AttributeDefinition definition;
+
+    HotRodStoreMetric(String name, ModelType type, Flag metricType, MeasurementUnit unit) {
+        this.definition = new SimpleAttributeDefinitionBuilder(name, type)
+                .setFlags(metricType)
+                .setMeasurementUnit(unit)
+                .setStorageRuntime()
+                .build();
+    }
+
+    @Override
+    public AttributeDefinition getDefinition() {
+        return this.definition;
+    }
+}
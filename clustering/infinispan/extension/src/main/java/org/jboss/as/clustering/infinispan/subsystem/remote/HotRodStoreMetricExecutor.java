@@ -0,0 +1,50 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.clustering.infinispan.subsystem.remote;
+
+import java.util.Set;
+
+import org.infinispan.Cache;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.jboss.as.clustering.controller.BinaryCapabilityNameResolver;
+import org.jboss.as.clustering.controller.FunctionExecutorRegistry;
+import org.jboss.as.clustering.infinispan.subsystem.CacheMetricExecutor;
+
+/**
+ * Executor for metrics of the HotRod store of a cache.
+ * @author Paul Ferraro
+ */
+@SuppressWarnings("rawtypes")
+public class HotRodStoreMetricExecutor extends CacheMetricExecutor<HotRodStore> {
+
+    public HotRodStoreMetricExecutor(FunctionExecutorRegistry<Cache<?, ?>> executors, BinaryCapabilityNameResolver resolver) {
+        super(executors, resolver);
+    }
+
+    @Override
+    public HotRodStore apply(Cache<?, ?> cache) {
+        PersistenceManager manager = cache.getAdvancedCache().getComponentRegistry().getLocalComponent(PersistenceManager.class);
+        Set<HotRodStore> stores = (manager != null) ? manager.getStores(HotRodStore.class) : null;
+        return ((stores != null) && !stores.isEmpty()) ? stores.iterator().next() : null;
+    }
+}
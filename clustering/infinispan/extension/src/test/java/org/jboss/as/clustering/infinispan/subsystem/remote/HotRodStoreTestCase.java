@@ -0,0 +1,196 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.clustering.infinispan.subsystem.remote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.infinispan.Cache;
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.client.hotrod.configuration.Configuration;
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.transport.netty.ChannelFactory;
+import org.infinispan.commons.io.ByteBuffer;
+import org.infinispan.commons.io.ByteBufferImpl;
+import org.infinispan.commons.util.IntSets;
+import org.infinispan.marshall.persistence.PersistenceMarshaller;
+import org.infinispan.persistence.spi.InitializationContext;
+import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.persistence.spi.MarshallableEntryFactory;
+import org.infinispan.persistence.spi.MarshalledValue;
+import org.infinispan.persistence.spi.NonBlockingStore;
+import org.infinispan.persistence.spi.NonBlockingStore.SegmentedPublisher;
+import org.infinispan.util.concurrent.BlockingManager;
+import org.infinispan.util.concurrent.CompletableFutures;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.reactivestreams.Subscriber;
+import org.wildfly.clustering.infinispan.client.RemoteCacheContainer;
+
+import io.reactivex.rxjava3.core.Flowable;
+
+/**
+ * Unit test for {@link HotRodStore}.
+ * @author Paul Ferraro
+ */
+public class HotRodStoreTestCase {
+    private static final String CACHE_NAME = "cache";
+    private static final int MAX_BATCH_SIZE = 10;
+    private static final int MAX_BATCH_BYTES = 100;
+
+    private final InitializationContext context = mock(InitializationContext.class);
+    private final BlockingManager blockingManager = mock(BlockingManager.class);
+    private final HotRodStoreConfiguration configuration = mock(HotRodStoreConfiguration.class);
+    private final RemoteCacheContainer container = mock(RemoteCacheContainer.class);
+    private final RemoteCacheManager manager = mock(RemoteCacheManager.class);
+    private final RemoteCache<ByteBuffer, ByteBuffer> remoteCache = mock(RemoteCache.class);
+    private final Cache<Object, Object> cache = mock(Cache.class);
+    private final PersistenceMarshaller marshaller = mock(PersistenceMarshaller.class);
+    private final MarshallableEntryFactory<Object, Object> entryFactory = mock(MarshallableEntryFactory.class);
+
+    private final HotRodStore<Object, Object> store = new HotRodStore<>();
+    private int keys = 0;
+
+    @Before
+    public void init() {
+        Configuration clientConfiguration = new ConfigurationBuilder().build();
+
+        when(this.context.getBlockingManager()).thenReturn(this.blockingManager);
+        when(this.context.getConfiguration()).thenReturn(this.configuration);
+        when(this.context.getCache()).thenReturn(this.cache);
+        when(this.context.getPersistenceMarshaller()).thenReturn(this.marshaller);
+        when(this.context.getMarshallableEntryFactory()).thenReturn(this.entryFactory);
+        when(this.cache.getName()).thenReturn(CACHE_NAME);
+        when(this.configuration.remoteCacheContainer()).thenReturn(this.container);
+        when(this.configuration.maxBatchSize()).thenReturn(MAX_BATCH_SIZE);
+        when(this.configuration.maxBatchBytes()).thenReturn(MAX_BATCH_BYTES);
+        when(this.container.getConfiguration()).thenReturn(clientConfiguration);
+        when(this.container.<ByteBuffer, ByteBuffer>getCache(CACHE_NAME)).thenReturn(this.remoteCache);
+        when(this.remoteCache.getRemoteCacheManager()).thenReturn(this.manager);
+        when(this.manager.getConfiguration()).thenReturn(clientConfiguration);
+        when(this.manager.getChannelFactory()).thenReturn(mock(ChannelFactory.class));
+        when(this.manager.getCodec()).thenReturn(mock(Codec.class));
+        when(this.blockingManager.runBlocking(any(), anyString())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return CompletableFutures.completedNull();
+        });
+
+        this.store.start(this.context).toCompletableFuture().join();
+    }
+
+    @Test
+    public void batch() throws Exception {
+        // Entries of 50, 50, 210, 40, and 40 bytes
+        List<MarshallableEntry<Object, Object>> entries = Arrays.asList(this.createEntry(10, 40), this.createEntry(10, 40), this.createEntry(10, 200), this.createEntry(10, 30), this.createEntry(10, 30));
+        Object key = new Object();
+        MarshallableEntry<Object, Object> keyEntry = mock(MarshallableEntry.class);
+        ByteBuffer keyBytes = ByteBufferImpl.create(new byte[10]);
+
+        when(this.entryFactory.create(key)).thenReturn(keyEntry);
+        when(keyEntry.getKeyBytes()).thenReturn(keyBytes);
+        when(this.remoteCache.removeAsync(keyBytes)).thenReturn(CompletableFuture.completedFuture(null));
+        when(this.remoteCache.putAllAsync(any())).thenReturn(CompletableFutures.completedNull());
+
+        this.store.batch(1, Flowable.just(createPublisher(Collections.singletonList(key))), Flowable.just(createPublisher(entries))).toCompletableFuture().join();
+
+        verify(this.remoteCache).removeAsync(keyBytes);
+
+        // Entries should be split into bulk writes not exceeding the maximum number of bytes, except for the entry that exceeds it on its own
+        ArgumentCaptor<Map<ByteBuffer, ByteBuffer>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(this.remoteCache, times(3)).putAllAsync(captor.capture());
+        List<Map<ByteBuffer, ByteBuffer>> writes = captor.getAllValues();
+        assertEquals(2, writes.get(0).size());
+        assertTrue(writes.get(0).containsKey(entries.get(0).getKeyBytes()));
+        assertTrue(writes.get(0).containsKey(entries.get(1).getKeyBytes()));
+        assertEquals(Collections.singleton(entries.get(2).getKeyBytes()), writes.get(1).keySet());
+        assertEquals(2, writes.get(2).size());
+        assertTrue(writes.get(2).containsKey(entries.get(3).getKeyBytes()));
+        assertTrue(writes.get(2).containsKey(entries.get(4).getKeyBytes()));
+
+        assertEquals(1L, this.store.getBatches());
+        assertEquals(6d, this.store.getAverageBatchSize(), 0d);
+        assertTrue(this.store.getAverageBatchTime() >= 0L);
+
+        // Empty batch
+        this.store.batch(1, Flowable.empty(), Flowable.empty()).toCompletableFuture().join();
+
+        verify(this.remoteCache, times(3)).putAllAsync(any());
+
+        assertEquals(2L, this.store.getBatches());
+        assertEquals(3d, this.store.getAverageBatchSize(), 0d);
+    }
+
+    @Test
+    public void size() {
+        when(this.remoteCache.sizeAsync()).thenReturn(CompletableFuture.completedFuture(2L));
+
+        // Store is not segmented, thus size is always that of the whole remote cache
+        assertEquals(2L, this.store.size(IntSets.immutableSet(0)).toCompletableFuture().join().longValue());
+        assertFalse(this.store.characteristics().contains(NonBlockingStore.Characteristic.SEGMENTABLE));
+
+        verify(this.remoteCache, never()).keySet();
+    }
+
+    private MarshallableEntry<Object, Object> createEntry(int keySize, int valueSize) throws Exception {
+        MarshallableEntry<Object, Object> entry = mock(MarshallableEntry.class);
+        MarshalledValue value = mock(MarshalledValue.class);
+        // Distinct contents, since byte buffers are compared by value
+        byte[] key = new byte[keySize];
+        key[0] = (byte) ++this.keys;
+        when(entry.getKeyBytes()).thenReturn(ByteBufferImpl.create(key));
+        when(entry.getMarshalledValue()).thenReturn(value);
+        when(this.marshaller.objectToBuffer(value)).thenReturn(ByteBufferImpl.create(new byte[valueSize]));
+        return entry;
+    }
+
+    private static <T> SegmentedPublisher<T> createPublisher(List<T> values) {
+        return new SegmentedPublisher<T>() {
+            @Override
+            public int getSegment() {
+                return 0;
+            }
+
+            @Override
+            public void subscribe(Subscriber<? super T> subscriber) {
+                Flowable.fromIterable(values).subscribe(subscriber);
+            }
+        };
+    }
+}
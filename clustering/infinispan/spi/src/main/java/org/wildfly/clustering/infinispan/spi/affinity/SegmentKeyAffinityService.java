@@ -0,0 +1,121 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.wildfly.clustering.infinispan.spi.affinity;
+
+import org.infinispan.Cache;
+import org.infinispan.affinity.KeyAffinityService;
+import org.infinispan.affinity.KeyGenerator;
+import org.infinispan.distribution.DistributionManager;
+import org.infinispan.distribution.LocalizedCacheTopology;
+import org.infinispan.remoting.transport.Address;
+
+/**
+ * {@link KeyAffinityService} that generates keys on the calling thread, retaining only those keys that map to a segment primarily owned by the requested address.
+ * Unlike Infinispan's buffering implementation, key generation never blocks, and requires no background threads.
+ * The table of segments primarily owned by the local address is rebuilt lazily following a change to the cache topology.
+ * If the requested address owns no segments (e.g. during a topology change), an arbitrary key is returned.
+ * @author Paul Ferraro
+ * @param <K> the key type
+ */
+public class SegmentKeyAffinityService<K> implements KeyAffinityService<K> {
+
+    private final KeyGenerator<K> generator;
+    private final DistributionManager distribution;
+
+    private volatile SegmentTable table = null;
+    private volatile boolean started = false;
+
+    public SegmentKeyAffinityService(Cache<K, ?> cache, KeyGenerator<K> generator) {
+        this.generator = generator;
+        this.distribution = cache.getCacheConfiguration().clustering().cacheMode().isClustered() ? cache.getAdvancedCache().getDistributionManager() : null;
+    }
+
+    @Override
+    public void start() {
+        this.started = true;
+    }
+
+    @Override
+    public void stop() {
+        this.started = false;
+        this.table = null;
+    }
+
+    @Override
+    public boolean isStarted() {
+        return this.started;
+    }
+
+    @Override
+    public K getKeyForAddress(Address address) {
+        if (this.distribution == null) return this.generator.getKey();
+        LocalizedCacheTopology topology = this.distribution.getCacheTopology();
+        SegmentTable table = this.getSegmentTable(topology, address);
+        K key = this.generator.getKey();
+        if (table.segments > 0) {
+            while (!table.primary[topology.getSegment(key)]) {
+                key = this.generator.getKey();
+            }
+        }
+        return key;
+    }
+
+    private SegmentTable getSegmentTable(LocalizedCacheTopology topology, Address address) {
+        // Only the table of the local address, by far the most common request, is retained
+        if (!address.equals(topology.getLocalAddress())) {
+            return new SegmentTable(topology, address);
+        }
+        SegmentTable table = this.table;
+        if ((table == null) || (table.topology != topology)) {
+            table = new SegmentTable(topology, address);
+            this.table = table;
+        }
+        return table;
+    }
+
+    @Override
+    public K getCollocatedKey(K otherKey) {
+        if (this.distribution == null) return this.generator.getKey();
+        return this.getKeyForAddress(this.distribution.getCacheTopology().getDistribution(otherKey).primary());
+    }
+
+    private static class SegmentTable {
+        final LocalizedCacheTopology topology;
+        final boolean[] primary;
+        final int segments;
+
+        SegmentTable(LocalizedCacheTopology topology, Address address) {
+            this.topology = topology;
+            this.primary = new boolean[topology.getNumSegments()];
+            int segments = 0;
+            for (int segment = 0; segment < this.primary.length; ++segment) {
+                if (address.equals(topology.getSegmentDistribution(segment).primary())) {
+                    this.primary[segment] = true;
+                    segments += 1;
+                }
+            }
+            this.segments = segments;
+        }
+    }
+}
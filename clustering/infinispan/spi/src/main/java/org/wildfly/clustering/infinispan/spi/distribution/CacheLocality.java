@@ -43,4 +43,9 @@ public class CacheLocality implements Locality {
     public boolean isLocal(Object key) {
         return this.locality.isLocal(key);
     }
+
+    @Override
+    public boolean isLocalSegment(int segment) {
+        return this.locality.isLocalSegment(segment);
+    }
 }
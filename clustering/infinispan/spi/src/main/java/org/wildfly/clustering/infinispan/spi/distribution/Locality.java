@@ -33,4 +33,12 @@ public interface Locality {
      * @return true, if the current node is the primary owner of the specified cache key, false otherwise
      */
     boolean isLocal(Object key);
+
+    /**
+     * Indicates whether the current node is the primary owner of the specified segment.
+     * For local caches, this method will always return true.
+     * @param segment a cache segment
+     * @return true, if the current node is the primary owner of the specified segment, false otherwise
+     */
+    boolean isLocalSegment(int segment);
 }
@@ -38,4 +38,9 @@ public class SimpleLocality implements Locality {
     public boolean isLocal(Object key) {
         return this.local;
     }
+
+    @Override
+    public boolean isLocalSegment(int segment) {
+        return this.local;
+    }
 }
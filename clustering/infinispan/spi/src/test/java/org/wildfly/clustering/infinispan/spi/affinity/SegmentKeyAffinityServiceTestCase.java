@@ -0,0 +1,140 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.wildfly.clustering.infinispan.spi.affinity;
+
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.affinity.KeyAffinityService;
+import org.infinispan.affinity.KeyGenerator;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.distribution.DistributionManager;
+import org.infinispan.distribution.LocalizedCacheTopology;
+import org.infinispan.distribution.ch.ConsistentHash;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.topology.CacheTopology;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link SegmentKeyAffinityService}.
+ * @author Paul Ferraro
+ */
+public class SegmentKeyAffinityServiceTestCase {
+
+    private final Address localAddress = mock(Address.class);
+    private final Address remoteAddress = mock(Address.class);
+    private final AdvancedCache<Object, Object> cache = mock(AdvancedCache.class);
+    private final DistributionManager distribution = mock(DistributionManager.class);
+    private final KeyPartitioner partitioner = mock(KeyPartitioner.class);
+    private final KeyGenerator<Object> generator = mock(KeyGenerator.class);
+
+    @Test
+    public void local() {
+        when(this.cache.getCacheConfiguration()).thenReturn(new ConfigurationBuilder().clustering().cacheMode(CacheMode.LOCAL).build());
+
+        Object key = new Object();
+        when(this.generator.getKey()).thenReturn(key);
+
+        KeyAffinityService<Object> service = new SegmentKeyAffinityService<>(this.cache, this.generator);
+        service.start();
+
+        Assert.assertSame(key, service.getKeyForAddress(this.localAddress));
+        Assert.assertSame(key, service.getCollocatedKey(new Object()));
+
+        service.stop();
+    }
+
+    @Test
+    public void distributed() {
+        when(this.cache.getCacheConfiguration()).thenReturn(new ConfigurationBuilder().clustering().cacheMode(CacheMode.DIST_SYNC).build());
+        when(this.cache.getAdvancedCache()).thenReturn(this.cache);
+        when(this.cache.getDistributionManager()).thenReturn(this.distribution);
+
+        ConsistentHash hash = mock(ConsistentHash.class);
+        when(hash.getMembers()).thenReturn(Arrays.asList(this.localAddress, this.remoteAddress));
+        when(hash.getNumSegments()).thenReturn(3);
+        // Segments 0 and 2 are primarily owned by remote member, segment 1 by local member
+        when(hash.locatePrimaryOwnerForSegment(0)).thenReturn(this.remoteAddress);
+        when(hash.locateOwnersForSegment(0)).thenReturn(Arrays.asList(this.remoteAddress, this.localAddress));
+        when(hash.locatePrimaryOwnerForSegment(1)).thenReturn(this.localAddress);
+        when(hash.locateOwnersForSegment(1)).thenReturn(Arrays.asList(this.localAddress, this.remoteAddress));
+        when(hash.locatePrimaryOwnerForSegment(2)).thenReturn(this.remoteAddress);
+        when(hash.locateOwnersForSegment(2)).thenReturn(Arrays.asList(this.remoteAddress, this.localAddress));
+        CacheTopology topology = new CacheTopology(1, 1, hash, null, CacheTopology.Phase.NO_REBALANCE, hash.getMembers(), null);
+        when(this.distribution.getCacheTopology()).thenReturn(new LocalizedCacheTopology(CacheMode.DIST_SYNC, topology, this.partitioner, this.localAddress, true));
+
+        Object key0 = new Object();
+        Object key1 = new Object();
+        Object key2 = new Object();
+        when(this.partitioner.getSegment(key0)).thenReturn(0);
+        when(this.partitioner.getSegment(key1)).thenReturn(1);
+        when(this.partitioner.getSegment(key2)).thenReturn(2);
+
+        KeyAffinityService<Object> service = new SegmentKeyAffinityService<>(this.cache, this.generator);
+        service.start();
+
+        when(this.generator.getKey()).thenReturn(key0, key2, key1);
+        Assert.assertSame(key1, service.getKeyForAddress(this.localAddress));
+
+        when(this.generator.getKey()).thenReturn(key1, key2);
+        Assert.assertSame(key2, service.getKeyForAddress(this.remoteAddress));
+
+        when(this.generator.getKey()).thenReturn(key0, key1);
+        Assert.assertSame(key1, service.getCollocatedKey(key1));
+
+        service.stop();
+    }
+
+    @Test
+    public void unowned() {
+        when(this.cache.getCacheConfiguration()).thenReturn(new ConfigurationBuilder().clustering().cacheMode(CacheMode.DIST_SYNC).build());
+        when(this.cache.getAdvancedCache()).thenReturn(this.cache);
+        when(this.cache.getDistributionManager()).thenReturn(this.distribution);
+
+        // Local member (e.g. joining) does not yet own any segments
+        ConsistentHash hash = mock(ConsistentHash.class);
+        when(hash.getMembers()).thenReturn(Collections.singletonList(this.remoteAddress));
+        when(hash.getNumSegments()).thenReturn(1);
+        when(hash.locatePrimaryOwnerForSegment(0)).thenReturn(this.remoteAddress);
+        when(hash.locateOwnersForSegment(0)).thenReturn(Collections.singletonList(this.remoteAddress));
+        CacheTopology topology = new CacheTopology(1, 1, hash, null, CacheTopology.Phase.NO_REBALANCE, hash.getMembers(), null);
+        when(this.distribution.getCacheTopology()).thenReturn(new LocalizedCacheTopology(CacheMode.DIST_SYNC, topology, this.partitioner, this.localAddress, true));
+
+        Object key = new Object();
+        when(this.generator.getKey()).thenReturn(key);
+
+        KeyAffinityService<Object> service = new SegmentKeyAffinityService<>(this.cache, this.generator);
+        service.start();
+
+        Assert.assertSame(key, service.getKeyForAddress(this.localAddress));
+
+        service.stop();
+    }
+}
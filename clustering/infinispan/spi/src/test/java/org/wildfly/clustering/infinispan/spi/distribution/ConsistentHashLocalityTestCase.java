@@ -0,0 +1,81 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.wildfly.clustering.infinispan.spi.distribution;
+
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.distribution.LocalizedCacheTopology;
+import org.infinispan.distribution.ch.ConsistentHash;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.topology.CacheTopology;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ConsistentHashLocality}.
+ * @author Paul Ferraro
+ */
+public class ConsistentHashLocalityTestCase {
+
+    private final Address localAddress = mock(Address.class);
+    private final Address remoteAddress = mock(Address.class);
+    private final KeyPartitioner partitioner = mock(KeyPartitioner.class);
+
+    @Test
+    public void test() {
+        ConsistentHash hash = mock(ConsistentHash.class);
+        when(hash.getMembers()).thenReturn(Arrays.asList(this.localAddress, this.remoteAddress));
+        when(hash.getNumSegments()).thenReturn(3);
+        // Segments 0 and 2 are primarily owned by remote member, segment 1 by local member
+        when(hash.locatePrimaryOwnerForSegment(0)).thenReturn(this.remoteAddress);
+        when(hash.locateOwnersForSegment(0)).thenReturn(Arrays.asList(this.remoteAddress, this.localAddress));
+        when(hash.locatePrimaryOwnerForSegment(1)).thenReturn(this.localAddress);
+        when(hash.locateOwnersForSegment(1)).thenReturn(Arrays.asList(this.localAddress, this.remoteAddress));
+        when(hash.locatePrimaryOwnerForSegment(2)).thenReturn(this.remoteAddress);
+        when(hash.locateOwnersForSegment(2)).thenReturn(Arrays.asList(this.remoteAddress, this.localAddress));
+        CacheTopology topology = new CacheTopology(1, 1, hash, null, CacheTopology.Phase.NO_REBALANCE, hash.getMembers(), null);
+
+        Object key0 = new Object();
+        Object key1 = new Object();
+        Object key2 = new Object();
+        when(this.partitioner.getSegment(key0)).thenReturn(0);
+        when(this.partitioner.getSegment(key1)).thenReturn(1);
+        when(this.partitioner.getSegment(key2)).thenReturn(2);
+
+        Locality locality = new ConsistentHashLocality(new LocalizedCacheTopology(CacheMode.DIST_SYNC, topology, this.partitioner, this.localAddress, true));
+
+        Assert.assertFalse(locality.isLocalSegment(0));
+        Assert.assertTrue(locality.isLocalSegment(1));
+        Assert.assertFalse(locality.isLocalSegment(2));
+
+        // Key locality must be consistent with the locality of its segment
+        Assert.assertFalse(locality.isLocal(key0));
+        Assert.assertTrue(locality.isLocal(key1));
+        Assert.assertFalse(locality.isLocal(key2));
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.marshalling.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wildfly.clustering.marshalling.Externalizer;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValue;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValueExternalizer;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValueFactory;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+
+/**
+ * Measures the life cycle of a session attribute wrapped in a {@link ByteBufferMarshalledValue}, for each {@link ByteBufferMarshaller}:
+ * <ul>
+ * <li>creation and marshalling on the originating member</li>
+ * <li>replication to and unmarshalling on another member</li>
+ * <li>access and dirty checking on a member holding the unmarshalled value</li>
+ * </ul>
+ * @author Paul Ferraro
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarshalledValueBenchmark {
+
+    private static final Externalizer<ByteBufferMarshalledValue<Object>> EXTERNALIZER = new ByteBufferMarshalledValueExternalizer();
+
+    @Param
+    private MarshallerType marshaller;
+
+    @Param({ "SESSION" })
+    private Payload payload;
+
+    private ByteBufferMarshaller subject;
+    private ByteBufferMarshalledValueFactory factory;
+    private Object object;
+    private byte[] replica;
+
+    @Setup
+    public void setup() throws IOException {
+        this.subject = this.marshaller.apply(this.getClass().getClassLoader());
+        this.factory = new ByteBufferMarshalledValueFactory(this.subject);
+        this.object = this.payload.get();
+        this.replica = replicate(this.factory.createMarshalledValue(this.object));
+    }
+
+    @Benchmark
+    public byte[] marshal() throws IOException {
+        return replicate(this.factory.createMarshalledValue(this.object));
+    }
+
+    @Benchmark
+    public Object unmarshal() throws IOException {
+        return receive(this.replica).get(this.subject);
+    }
+
+    @Benchmark
+    public boolean access() throws IOException {
+        ByteBufferMarshalledValue<Object> value = receive(this.replica);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> session = (Map<String, Object>) value.get(this.subject);
+        session.put("visits", session.size());
+        return value.isModified();
+    }
+
+    private static byte[] replicate(ByteBufferMarshalledValue<Object> value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            EXTERNALIZER.writeObject(output, value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ByteBufferMarshalledValue<Object> receive(byte[] bytes) throws IOException {
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return EXTERNALIZER.readObject(input);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.marshalling.benchmarks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+
+/**
+ * Measures the throughput of each {@link ByteBufferMarshaller} for each {@link Payload}.
+ * The marshalled size of the payload is reported via the auxiliary "bytes" counter.
+ * Allocation per operation is reported when run with the gc profiler, i.e. <code>-prof gc</code>.
+ * @author Paul Ferraro
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarshallerBenchmark {
+
+    @Param
+    private MarshallerType marshaller;
+
+    @Param
+    private Payload payload;
+
+    private ByteBufferMarshaller subject;
+    private Object object;
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setup() throws IOException {
+        this.subject = this.marshaller.apply(this.getClass().getClassLoader());
+        this.object = this.payload.get();
+        this.buffer = this.subject.write(this.object);
+    }
+
+    @Benchmark
+    public ByteBuffer write(Size size) throws IOException {
+        return this.subject.write(this.object);
+    }
+
+    @Benchmark
+    public Object read() throws IOException {
+        return this.subject.read(this.buffer.duplicate());
+    }
+
+    @Benchmark
+    public Object roundTrip() throws IOException {
+        return this.subject.read(this.subject.write(this.object));
+    }
+
+    /**
+     * Reports the marshalled size of the benchmarked payload.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Size {
+        private long bytes;
+
+        @Setup(Level.Iteration)
+        public void setup(MarshallerBenchmark benchmark) {
+            ByteBuffer buffer = benchmark.buffer;
+            this.bytes = buffer.remaining();
+        }
+
+        public long bytes() {
+            return this.bytes;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.marshalling.benchmarks;
+
+import java.util.function.Function;
+
+import org.jboss.marshalling.MarshallingConfiguration;
+import org.wildfly.clustering.marshalling.jboss.DynamicClassTable;
+import org.wildfly.clustering.marshalling.jboss.ExternalizerObjectTable;
+import org.wildfly.clustering.marshalling.jboss.JBossByteBufferMarshaller;
+import org.wildfly.clustering.marshalling.jboss.MarshallingConfigurationRepository;
+import org.wildfly.clustering.marshalling.jboss.SimpleMarshallingConfigurationRepository;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamByteBufferMarshaller;
+import org.wildfly.clustering.marshalling.protostream.SerializationContextBuilder;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+
+/**
+ * Enumerates the benchmarked {@link ByteBufferMarshaller} implementations, configured as they would be for a deployment.
+ * @author Paul Ferraro
+ */
+public enum MarshallerType implements Function<ClassLoader, ByteBufferMarshaller> {
+
+    JBOSS() {
+        @Override
+        public ByteBufferMarshaller apply(ClassLoader loader) {
+            return new JBossByteBufferMarshaller(createRepository(loader), loader);
+        }
+    },
+    // Creates new marshaller/unmarshaller instances per operation, for comparison with the pooled instances of JBOSS
+    JBOSS_UNPOOLED() {
+        @Override
+        public ByteBufferMarshaller apply(ClassLoader loader) {
+            return new JBossByteBufferMarshaller(createRepository(loader), loader, 0);
+        }
+    },
+    PROTOSTREAM() {
+        @Override
+        public ByteBufferMarshaller apply(ClassLoader loader) {
+            return new ProtoStreamByteBufferMarshaller(new SerializationContextBuilder().register(loader).build());
+        }
+    },
+    ;
+
+    private static MarshallingConfigurationRepository createRepository(ClassLoader loader) {
+        MarshallingConfiguration configuration = new MarshallingConfiguration();
+        configuration.setClassTable(new DynamicClassTable(loader));
+        configuration.setObjectTable(new ExternalizerObjectTable(loader));
+        return new SimpleMarshallingConfigurationRepository(configuration);
+    }
+}
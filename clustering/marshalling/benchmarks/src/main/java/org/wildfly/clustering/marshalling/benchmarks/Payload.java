@@ -0,0 +1,196 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.marshalling.benchmarks;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.net.UnknownHostException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Enumerates the benchmarked object graphs.
+ * Each graph is deterministic, so that marshalled sizes are comparable across runs.
+ * @author Paul Ferraro
+ */
+public enum Payload implements Supplier<Object> {
+
+    /**
+     * A typical session attribute graph, i.e. a map of mostly JDK types with some nesting.
+     */
+    SESSION() {
+        @Override
+        public Object get() {
+            Map<String, Object> session = new LinkedHashMap<>();
+            session.put("user", "jdoe@example.com");
+            session.put("id", new UUID(0x0123456789abcdefL, 0xfedcba9876543210L));
+            session.put("login", Instant.ofEpochSecond(1600000000L, 123456789));
+            session.put("locale", Locale.US);
+            session.put("roles", new HashSet<>(Arrays.asList("admin", "user", "guest")));
+            session.put("visits", 42);
+            session.put("premium", Boolean.TRUE);
+            List<Map<String, Object>> cart = new ArrayList<>(8);
+            for (int i = 0; i < 8; ++i) {
+                Map<String, Object> item = new HashMap<>();
+                item.put("sku", "SKU-" + i);
+                item.put("quantity", i + 1);
+                item.put("price", 9.99d * (i + 1));
+                cart.add(item);
+            }
+            session.put("cart", cart);
+            Map<String, String> preferences = new TreeMap<>();
+            preferences.put("currency", "USD");
+            preferences.put("theme", "dark");
+            preferences.put("timezone", "America/New_York");
+            session.put("preferences", preferences);
+            session.put("history", new LinkedList<>(Arrays.asList("/", "/catalog", "/catalog/item?id=1", "/cart", "/checkout")));
+            return session;
+        }
+    },
+    TIME() {
+        @Override
+        public Object get() {
+            LocalDateTime dateTime = LocalDateTime.of(2021, Month.JANUARY, 1, 12, 30, 15, 123456789);
+            return new ArrayList<>(Arrays.<Object>asList(
+                    DayOfWeek.MONDAY,
+                    Duration.ofSeconds(3600L, 123456789),
+                    Instant.ofEpochSecond(1600000000L, 123456789),
+                    dateTime.toLocalDate(),
+                    dateTime.toLocalTime(),
+                    dateTime,
+                    Month.JANUARY,
+                    MonthDay.of(Month.JANUARY, 1),
+                    OffsetDateTime.of(dateTime, ZoneOffset.ofHours(-5)),
+                    Period.of(1, 2, 3),
+                    Year.of(2021),
+                    YearMonth.of(2021, Month.JANUARY),
+                    ZoneId.of("America/New_York"),
+                    ZoneOffset.UTC,
+                    ZonedDateTime.of(dateTime, ZoneId.of("Europe/Prague"))));
+        }
+    },
+    NET() {
+        @Override
+        public Object get() {
+            try {
+                return new ArrayList<>(Arrays.<Object>asList(
+                        InetAddress.getByAddress("localhost", new byte[] { 127, 0, 0, 1 }),
+                        InetSocketAddress.createUnresolved("example.com", 8080),
+                        new InetSocketAddress(InetAddress.getByAddress(new byte[] { 10, 0, 0, 1 }), 7600),
+                        URI.create("https://example.com/context/path?query=value#fragment"),
+                        new URL("http", "example.com", 8080, "/context/path")));
+            } catch (UnknownHostException | MalformedURLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    },
+    UTIL() {
+        @Override
+        public Object get() {
+            BitSet bits = new BitSet();
+            bits.set(1);
+            bits.set(64);
+            bits.set(127);
+            return new ArrayList<>(Arrays.<Object>asList(
+                    bits,
+                    new Date(1600000000000L),
+                    EnumSet.of(TimeUnit.SECONDS, TimeUnit.MINUTES),
+                    Locale.FRANCE,
+                    Optional.of("value"),
+                    Collections.singletonMap("key", "value"),
+                    Collections.emptyList(),
+                    new TreeSet<>(Arrays.asList(3, 1, 2)),
+                    new UUID(0x0123456789abcdefL, 0xfedcba9876543210L)));
+        }
+    },
+    CONCURRENT() {
+        @Override
+        public Object get() {
+            Map<String, Integer> map = new ConcurrentHashMap<>();
+            Map<String, Integer> sortedMap = new ConcurrentSkipListMap<>();
+            for (int i = 0; i < 16; ++i) {
+                map.put(Integer.toString(i), i);
+                sortedMap.put(Integer.toString(i), i);
+            }
+            return new ArrayList<>(Arrays.<Object>asList(
+                    map,
+                    sortedMap,
+                    new ConcurrentLinkedQueue<>(Arrays.asList("a", "b", "c")),
+                    new CopyOnWriteArrayList<>(Arrays.asList(1, 2, 3)),
+                    TimeUnit.MILLISECONDS));
+        }
+    },
+    SQL() {
+        @Override
+        public Object get() {
+            Timestamp timestamp = new Timestamp(1600000000000L);
+            timestamp.setNanos(123456789);
+            return new ArrayList<>(Arrays.<Object>asList(
+                    new java.sql.Date(1600000000000L),
+                    new Time(1600000000000L),
+                    timestamp));
+        }
+    },
+    ;
+}
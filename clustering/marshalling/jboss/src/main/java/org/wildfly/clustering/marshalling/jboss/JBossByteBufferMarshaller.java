@@ -22,11 +22,17 @@
 
 package org.wildfly.clustering.marshalling.jboss;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InvalidClassException;
 import java.io.OutputStream;
 import java.lang.ref.WeakReference;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
 import org.jboss.marshalling.ClassExternalizerFactory;
 import org.jboss.marshalling.Marshaller;
@@ -35,26 +41,44 @@ import org.jboss.marshalling.Marshalling;
 import org.jboss.marshalling.MarshallingConfiguration;
 import org.jboss.marshalling.ObjectTable;
 import org.jboss.marshalling.SerializabilityChecker;
-import org.jboss.marshalling.SimpleDataInput;
-import org.jboss.marshalling.SimpleDataOutput;
 import org.jboss.marshalling.Unmarshaller;
-import org.wildfly.clustering.marshalling.spi.IndexSerializer;
 import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
 import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * A {@link ByteBufferMarshaller} based on JBoss Marshalling.
+ * Marshaller and unmarshaller instances are pooled per marshalling version, and reused by subsequent operations.
  * @author Paul Ferraro
  */
 public class JBossByteBufferMarshaller implements ByteBufferMarshaller {
 
+    private static final int DEFAULT_POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
     private final MarshallerFactory factory = Marshalling.getMarshallerFactory("river", Marshalling.class.getClassLoader());
     private final MarshallingConfigurationRepository repository;
     private final WeakReference<ClassLoader> loader;
+    private final ConcurrentMap<Integer, Queue<Marshaller>> marshallers;
+    private final ConcurrentMap<Integer, Queue<Unmarshaller>> unmarshallers;
+    private final Function<Integer, Queue<Marshaller>> marshallerPoolFactory;
+    private final Function<Integer, Queue<Unmarshaller>> unmarshallerPoolFactory;
 
     public JBossByteBufferMarshaller(MarshallingConfigurationRepository repository, ClassLoader loader) {
+        this(repository, loader, DEFAULT_POOL_SIZE);
+    }
+
+    /**
+     * Creates a marshaller that retains up to the specified number of idle marshaller and unmarshaller instances per marshalling version.
+     * @param repository a repository of marshalling configurations
+     * @param loader the class loader of the deployment
+     * @param poolSize the maximum number of idle instances to retain, or 0, if instances should not be reused
+     */
+    public JBossByteBufferMarshaller(MarshallingConfigurationRepository repository, ClassLoader loader, int poolSize) {
         this.repository = repository;
         this.loader = new WeakReference<>(loader);
+        this.marshallers = (poolSize > 0) ? new ConcurrentHashMap<>() : null;
+        this.unmarshallers = (poolSize > 0) ? new ConcurrentHashMap<>() : null;
+        this.marshallerPoolFactory = version -> new ArrayBlockingQueue<>(poolSize);
+        this.unmarshallerPoolFactory = version -> new ArrayBlockingQueue<>(poolSize);
     }
 
     private MarshallingConfiguration getMarshallingConfiguration(int version) {
@@ -63,20 +87,34 @@ public class JBossByteBufferMarshaller implements ByteBufferMarshaller {
 
     @Override
     public Object readFrom(InputStream input) throws IOException {
-        try (SimpleDataInput data = new SimpleDataInput(Marshalling.createByteInput(input))) {
-            int version = IndexSerializer.UNSIGNED_BYTE.readInt(data);
-            ClassLoader loader = setThreadContextClassLoader(this.loader.get());
-            try (Unmarshaller unmarshaller = this.factory.createUnmarshaller(this.repository.getMarshallingConfiguration(version))) {
-                unmarshaller.start(data);
-                Object result = unmarshaller.readObject();
-                unmarshaller.finish();
-                return result;
-            } catch (ClassNotFoundException e) {
-                InvalidClassException exception = new InvalidClassException(e.getMessage());
-                exception.initCause(e);
-                throw exception;
-            } finally {
-                setThreadContextClassLoader(loader);
+        // Equivalent to IndexSerializer.UNSIGNED_BYTE, which would otherwise require a DataInput
+        int version = input.read();
+        if (version < 0) {
+            throw new EOFException();
+        }
+        Queue<Unmarshaller> pool = (this.unmarshallers != null) ? this.unmarshallers.computeIfAbsent(version, this.unmarshallerPoolFactory) : null;
+        Unmarshaller pooled = (pool != null) ? pool.poll() : null;
+        boolean reusable = false;
+        ClassLoader loader = setThreadContextClassLoader(this.loader.get());
+        Unmarshaller unmarshaller = null;
+        try {
+            unmarshaller = (pooled != null) ? pooled : this.factory.createUnmarshaller(this.getMarshallingConfiguration(version));
+            unmarshaller.start(Marshalling.createByteInput(input));
+            Object result = unmarshaller.readObject();
+            unmarshaller.finish();
+            // Each stream is self-describing, so discard cached classes (and instances) before reuse
+            unmarshaller.clearClassCache();
+            reusable = true;
+            return result;
+        } catch (ClassNotFoundException e) {
+            InvalidClassException exception = new InvalidClassException(e.getMessage());
+            exception.initCause(e);
+            throw exception;
+        } finally {
+            setThreadContextClassLoader(loader);
+            // Discard instances whose state is indeterminate following a failure
+            if (reusable && (pool != null)) {
+                pool.offer(unmarshaller);
             }
         }
     }
@@ -84,15 +122,29 @@ public class JBossByteBufferMarshaller implements ByteBufferMarshaller {
     @Override
     public void writeTo(OutputStream output, Object value) throws IOException {
         int version = this.repository.getCurrentMarshallingVersion();
-        try (SimpleDataOutput data = new SimpleDataOutput(Marshalling.createByteOutput(output))) {
-            IndexSerializer.UNSIGNED_BYTE.writeInt(data, version);
-            ClassLoader loader = setThreadContextClassLoader(this.loader.get());
-            try (Marshaller marshaller = this.factory.createMarshaller(this.getMarshallingConfiguration(version))) {
-                marshaller.start(data);
-                marshaller.writeObject(value);
-                marshaller.finish();
-            } finally {
-                setThreadContextClassLoader(loader);
+        // Equivalent to IndexSerializer.UNSIGNED_BYTE, which would otherwise require a DataOutput
+        if (version > (Byte.MAX_VALUE - Byte.MIN_VALUE)) {
+            throw new IndexOutOfBoundsException(Integer.toString(version));
+        }
+        output.write(version);
+        Queue<Marshaller> pool = (this.marshallers != null) ? this.marshallers.computeIfAbsent(version, this.marshallerPoolFactory) : null;
+        Marshaller pooled = (pool != null) ? pool.poll() : null;
+        boolean reusable = false;
+        ClassLoader loader = setThreadContextClassLoader(this.loader.get());
+        Marshaller marshaller = null;
+        try {
+            marshaller = (pooled != null) ? pooled : this.factory.createMarshaller(this.getMarshallingConfiguration(version));
+            marshaller.start(Marshalling.createByteOutput(output));
+            marshaller.writeObject(value);
+            marshaller.finish();
+            // Each stream must be self-describing, so discard cached classes (and instances) before reuse
+            marshaller.clearClassCache();
+            reusable = true;
+        } finally {
+            setThreadContextClassLoader(loader);
+            // Discard instances whose state is indeterminate following a failure
+            if (reusable && (pool != null)) {
+                pool.offer(marshaller);
             }
         }
     }
@@ -114,6 +166,9 @@ public class JBossByteBufferMarshaller implements ByteBufferMarshaller {
     }
 
     private static ClassLoader setThreadContextClassLoader(ClassLoader loader) {
-        return (loader != null) ? WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(loader) : null;
+        if (loader == null) return null;
+        ClassLoader currentLoader = WildFlySecurityManager.getCurrentContextClassLoaderPrivileged();
+        // Skip the swap if the requested loader is already the context class loader
+        return (loader != currentLoader) ? WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(loader) : null;
     }
 }
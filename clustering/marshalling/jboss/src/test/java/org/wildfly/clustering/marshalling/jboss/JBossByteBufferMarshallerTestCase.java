@@ -0,0 +1,70 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.wildfly.clustering.marshalling.jboss;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+
+/**
+ * Unit test for {@link JBossByteBufferMarshaller}, validating that reused marshaller and unmarshaller instances produce self-describing streams.
+ * @author Paul Ferraro
+ */
+public class JBossByteBufferMarshallerTestCase {
+
+    @Test
+    public void pooled() throws IOException {
+        test(1);
+    }
+
+    @Test
+    public void unpooled() throws IOException {
+        test(0);
+    }
+
+    private static void test(int poolSize) throws IOException {
+        ClassLoader loader = JBossByteBufferMarshallerTestCase.class.getClassLoader();
+        ByteBufferMarshaller marshaller = new JBossByteBufferMarshaller(new JBossMarshallingTesterFactory(loader), loader, poolSize);
+
+        Object first = Collections.singletonMap(UUID.randomUUID(), Arrays.asList("foo", "bar"));
+        Object second = Collections.singletonMap(UUID.randomUUID(), Arrays.asList("bar", "foo"));
+
+        // Marshal both values using the same marshaller instance
+        ByteBuffer firstBuffer = marshaller.write(first);
+        ByteBuffer secondBuffer = marshaller.write(second);
+
+        // Unmarshal in reverse order using the same unmarshaller instance
+        Assert.assertEquals(second, marshaller.read(secondBuffer));
+        Assert.assertEquals(first, marshaller.read(firstBuffer));
+        // Repeat, to verify that reused instances retain no state from the previous stream
+        Assert.assertEquals(first, marshaller.read(marshaller.write(first)));
+        Assert.assertEquals(second, marshaller.read(marshaller.write(second)));
+    }
+}
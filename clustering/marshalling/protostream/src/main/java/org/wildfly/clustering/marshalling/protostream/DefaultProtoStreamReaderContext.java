@@ -0,0 +1,91 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.wildfly.clustering.marshalling.protostream;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resettable {@link ProtoStreamReaderContext} reused by successive unmarshalling operations on the same thread.
+ * Each nested unmarshalling operation uses a separate context, whose parent is restored on {@link #close()}.
+ * @author Paul Ferraro
+ */
+final class DefaultProtoStreamReaderContext implements ProtoStreamReaderContext {
+    // Reference tables larger than this threshold are discarded on close, rather than retained for reuse
+    private static final int MAX_RETAINED_REFERENCES = 64;
+
+    private final DefaultProtoStreamReaderContext parent;
+    private DefaultProtoStreamReaderContext child = null;
+    // Reference identifiers are assigned sequentially, so objects are indexed by their reference identifier
+    private List<Object> objects = new ArrayList<>();
+
+    DefaultProtoStreamReaderContext() {
+        this(null);
+    }
+
+    private DefaultProtoStreamReaderContext(DefaultProtoStreamReaderContext parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Opens a context nested within the current context of this thread, and makes it the current context.
+     * @return a context with an empty reference table
+     */
+    static DefaultProtoStreamReaderContext open() {
+        return ((DefaultProtoStreamReaderContext) INSTANCE.get()).openChild();
+    }
+
+    private DefaultProtoStreamReaderContext openChild() {
+        DefaultProtoStreamReaderContext context = this.child;
+        if (context == null) {
+            context = new DefaultProtoStreamReaderContext(this);
+            this.child = context;
+        }
+        INSTANCE.set(context);
+        return context;
+    }
+
+    @Override
+    public void setReference(Object object) {
+        this.objects.add(object);
+    }
+
+    @Override
+    public Object findByReference(Integer referenceId) {
+        int index = referenceId.intValue();
+        return ((index >= 0) && (index < this.objects.size())) ? this.objects.get(index) : null;
+    }
+
+    @Override
+    public void close() {
+        if (this.objects.size() > MAX_RETAINED_REFERENCES) {
+            this.objects = new ArrayList<>();
+        } else {
+            this.objects.clear();
+        }
+        if (this.parent != null) {
+            INSTANCE.set(this.parent);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.wildfly.clustering.marshalling.protostream;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.wildfly.clustering.marshalling.spi.ByteBufferOutputStream;
+
+/**
+ * Resettable {@link ProtoStreamWriterContext} reused by successive marshalling operations on the same thread.
+ * Each nested marshalling operation uses a separate context, whose parent is restored on {@link #close()}.
+ * @author Paul Ferraro
+ */
+final class DefaultProtoStreamWriterContext implements ProtoStreamWriterContext {
+    // Reference tables and buffers larger than these thresholds are discarded on close, rather than retained for reuse
+    private static final int MAX_RETAINED_REFERENCES = 64;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+    private static final int INITIAL_BUFFER_SIZE = 512;
+
+    private final DefaultProtoStreamWriterContext parent;
+    private DefaultProtoStreamWriterContext child = null;
+    private Map<Object, Integer> references = new IdentityHashMap<>();
+    private int index = 0;
+    private ByteBufferOutputStream buffer = null;
+
+    DefaultProtoStreamWriterContext() {
+        this(null);
+    }
+
+    private DefaultProtoStreamWriterContext(DefaultProtoStreamWriterContext parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Opens a context nested within the current context of this thread, and makes it the current context.
+     * @return a context with an empty reference table
+     */
+    static DefaultProtoStreamWriterContext open() {
+        return ((DefaultProtoStreamWriterContext) INSTANCE.get()).openChild();
+    }
+
+    private DefaultProtoStreamWriterContext openChild() {
+        DefaultProtoStreamWriterContext context = this.child;
+        if (context == null) {
+            context = new DefaultProtoStreamWriterContext(this);
+            this.child = context;
+        }
+        INSTANCE.set(context);
+        return context;
+    }
+
+    /**
+     * Returns an empty output buffer, reused by successive operations using this context.
+     * @return an output buffer
+     */
+    ByteBufferOutputStream getBuffer() {
+        ByteBufferOutputStream buffer = this.buffer;
+        if (buffer == null) {
+            buffer = new ByteBufferOutputStream(INITIAL_BUFFER_SIZE);
+            this.buffer = buffer;
+        } else {
+            buffer.reset();
+        }
+        return buffer;
+    }
+
+    @Override
+    public Integer getReferenceId(Object object) {
+        return this.references.get(object);
+    }
+
+    @Override
+    public void setReference(Object object) {
+        this.references.put(object, this.index++);
+    }
+
+    @Override
+    public void close() {
+        if (this.index > MAX_RETAINED_REFERENCES) {
+            this.references = new IdentityHashMap<>();
+        } else if (this.index > 0) {
+            this.references.clear();
+        }
+        this.index = 0;
+        if ((this.buffer != null) && (this.buffer.size() > MAX_RETAINED_BUFFER_SIZE)) {
+            this.buffer = null;
+        }
+        if (this.parent != null) {
+            INSTANCE.set(this.parent);
+        }
+    }
+}
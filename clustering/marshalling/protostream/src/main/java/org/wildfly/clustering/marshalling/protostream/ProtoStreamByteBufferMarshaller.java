@@ -26,12 +26,15 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
 import java.util.OptionalInt;
 
 import org.infinispan.protostream.ImmutableSerializationContext;
 import org.infinispan.protostream.ProtobufUtil;
 import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+import org.wildfly.clustering.marshalling.spi.ByteBufferOutputStream;
 import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
@@ -41,6 +44,15 @@ public class ProtoStreamByteBufferMarshaller implements ByteBufferMarshaller {
 
     private final ImmutableSerializationContext context;
     private final Predictable<Any> marshaller;
+    // Caches the marshallability of non-array, non-proxy types, which does not depend on a given instance
+    private final ClassValue<Boolean> marshallableTypes = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> targetClass) {
+            if (Throwable.class.isAssignableFrom(targetClass) && (WildFlySecurityManager.getClassLoaderPrivileged(targetClass) == WildFlySecurityManager.getClassLoaderPrivileged(Throwable.class))) return Boolean.TRUE;
+            if (AnyField.fromJavaType(targetClass) != null) return Boolean.TRUE;
+            return ProtoStreamByteBufferMarshaller.this.context.canMarshall(targetClass);
+        }
+    };
 
     public ProtoStreamByteBufferMarshaller(ImmutableSerializationContext context) {
         this.context = context;
@@ -56,9 +68,10 @@ public class ProtoStreamByteBufferMarshaller implements ByteBufferMarshaller {
     public boolean isMarshallable(Object object) {
         if ((object == null) || (object instanceof Class)) return true;
         Class<?> targetClass = object.getClass();
-        if ((object instanceof Throwable) && (WildFlySecurityManager.getClassLoaderPrivileged(targetClass) == WildFlySecurityManager.getClassLoaderPrivileged(Throwable.class))) return true;
-        if (AnyField.fromJavaType(targetClass) != null) return true;
         if (targetClass.isArray()) {
+            Class<?> componentType = targetClass.getComponentType();
+            // Elements of a final component type share the marshallability of that type
+            if (componentType.isPrimitive() || (isFinalType(componentType) && this.marshallableTypes.get(componentType))) return true;
             for (int i = 0; i < Array.getLength(object); ++i) {
                 if (!this.isMarshallable(Array.get(object, i))) return false;
             }
@@ -67,19 +80,44 @@ public class ProtoStreamByteBufferMarshaller implements ByteBufferMarshaller {
         if (Proxy.isProxyClass(targetClass)) {
             return this.isMarshallable(Proxy.getInvocationHandler(object));
         }
-        return this.context.canMarshall(targetClass);
+        return this.marshallableTypes.get(targetClass);
+    }
+
+    /**
+     * Indicates whether the marshallability of an instance of the specified type is determined by its type alone.
+     */
+    private static boolean isFinalType(Class<?> targetClass) {
+        return Modifier.isFinal(targetClass.getModifiers()) && !targetClass.isArray() && !Proxy.isProxyClass(targetClass);
+    }
+
+    @Override
+    public Object read(ByteBuffer buffer) throws IOException {
+        // Reads directly from the backing array of the buffer, if it has one
+        try (ProtoStreamReaderContext context = ProtoStreamReaderContext.open()) {
+            return ProtobufUtil.fromByteBuffer(this.context, buffer, Any.class).get();
+        }
+    }
+
+    @Override
+    public ByteBuffer write(Object object) throws IOException {
+        // Marshal to the reusable buffer of our context, such that the only allocated buffer is the exactly sized result
+        try (DefaultProtoStreamWriterContext context = DefaultProtoStreamWriterContext.open()) {
+            ByteBufferOutputStream output = context.getBuffer();
+            ProtobufUtil.writeTo(this.context, output, new Any(object));
+            return ByteBuffer.wrap(output.toByteArray());
+        }
     }
 
     @Override
     public Object readFrom(InputStream input) throws IOException {
-        try (ProtoStreamReaderContext context = ProtoStreamReaderContext.INSTANCE.get()) {
+        try (ProtoStreamReaderContext context = ProtoStreamReaderContext.open()) {
             return ProtobufUtil.readFrom(this.context, input, Any.class).get();
         }
     }
 
     @Override
     public void writeTo(OutputStream output, Object object) throws IOException {
-        try (ProtoStreamWriterContext context = ProtoStreamWriterContext.INSTANCE.get()) {
+        try (ProtoStreamWriterContext context = ProtoStreamWriterContext.open()) {
             ProtobufUtil.writeTo(this.context, output, new Any(object));
         }
     }
@@ -22,40 +22,29 @@
 
 package org.wildfly.clustering.marshalling.protostream;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * @author Paul Ferraro
  */
 public interface ProtoStreamReaderContext extends AutoCloseable {
 
-    ThreadLocal<ProtoStreamReaderContext> INSTANCE = new ThreadLocal<ProtoStreamReaderContext>() {
-        @Override
-        protected ProtoStreamReaderContext initialValue() {
-            return new ProtoStreamReaderContext() {
-                private final Map<Integer, Object> objects = new HashMap<>();
-                private int index = 0;
-
-                @Override
-                public void setReference(Object object) {
-                    this.objects.put(this.index++, object);
-                }
+    ThreadLocal<ProtoStreamReaderContext> INSTANCE = ThreadLocal.withInitial(DefaultProtoStreamReaderContext::new);
 
-                @Override
-                public Object findByReference(Integer id) {
-                    return this.objects.get(id);
-                }
-            };
-        }
-    };
+    /**
+     * Opens a new context for the current thread, which becomes the current context until closed.
+     * Contexts are reused by subsequent operations on the same thread.
+     * @return a new context
+     */
+    static ProtoStreamReaderContext open() {
+        return DefaultProtoStreamReaderContext.open();
+    }
 
     void setReference(Object object);
 
     Object findByReference(Integer referenceId);
 
+    /**
+     * Resets this context, and restores the context that was current when this context was opened.
+     */
     @Override
-    default void close() {
-        INSTANCE.remove();
-    }
+    void close();
 }
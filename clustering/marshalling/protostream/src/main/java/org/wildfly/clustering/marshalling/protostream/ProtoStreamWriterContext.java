@@ -22,40 +22,29 @@
 
 package org.wildfly.clustering.marshalling.protostream;
 
-import java.util.IdentityHashMap;
-import java.util.Map;
-
 /**
  * @author Paul Ferraro
  */
 public interface ProtoStreamWriterContext extends AutoCloseable {
 
-    ThreadLocal<ProtoStreamWriterContext> INSTANCE = new ThreadLocal<ProtoStreamWriterContext>() {
-        @Override
-        protected ProtoStreamWriterContext initialValue() {
-            return new ProtoStreamWriterContext() {
-                private final Map<Object, Integer> references = new IdentityHashMap<>();
-                private int index = 0;
-
-                @Override
-                public Integer getReferenceId(Object object) {
-                    return this.references.get(object);
-                }
+    ThreadLocal<ProtoStreamWriterContext> INSTANCE = ThreadLocal.withInitial(DefaultProtoStreamWriterContext::new);
 
-                @Override
-                public void setReference(Object object) {
-                    this.references.put(object, this.index++);
-                }
-            };
-        }
-    };
+    /**
+     * Opens a new context for the current thread, which becomes the current context until closed.
+     * Contexts are reused by subsequent operations on the same thread.
+     * @return a new context
+     */
+    static ProtoStreamWriterContext open() {
+        return DefaultProtoStreamWriterContext.open();
+    }
 
     Integer getReferenceId(Object object);
 
     void setReference(Object object);
 
+    /**
+     * Resets this context, and restores the context that was current when this context was opened.
+     */
     @Override
-    default void close() {
-        INSTANCE.remove();
-    }
+    void close();
 }
@@ -0,0 +1,66 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.wildfly.clustering.marshalling.protostream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link DefaultProtoStreamReaderContext}.
+ * @author Paul Ferraro
+ */
+public class DefaultProtoStreamReaderContextTestCase {
+
+    @Test
+    public void test() {
+        Object object = new Object();
+        ProtoStreamReaderContext root = ProtoStreamReaderContext.INSTANCE.get();
+        ProtoStreamReaderContext outer = ProtoStreamReaderContext.open();
+        try {
+            Assert.assertSame(outer, ProtoStreamReaderContext.INSTANCE.get());
+            Assert.assertNull(outer.findByReference(0));
+            outer.setReference(object);
+            Assert.assertSame(object, outer.findByReference(0));
+
+            // Nested context must not share references of outer context
+            try (ProtoStreamReaderContext inner = ProtoStreamReaderContext.open()) {
+                Assert.assertNotSame(outer, inner);
+                Assert.assertSame(inner, ProtoStreamReaderContext.INSTANCE.get());
+                Assert.assertNull(inner.findByReference(0));
+            }
+            Assert.assertSame(outer, ProtoStreamReaderContext.INSTANCE.get());
+            Assert.assertSame(object, outer.findByReference(0));
+        } finally {
+            outer.close();
+        }
+        Assert.assertSame(root, ProtoStreamReaderContext.INSTANCE.get());
+
+        // Context is reused, and reset
+        try (ProtoStreamReaderContext context = ProtoStreamReaderContext.open()) {
+            Assert.assertSame(outer, context);
+            Assert.assertNull(context.findByReference(0));
+        }
+        Assert.assertSame(root, ProtoStreamReaderContext.INSTANCE.get());
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.wildfly.clustering.marshalling.protostream;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.wildfly.clustering.marshalling.spi.ByteBufferOutputStream;
+
+/**
+ * Unit test for {@link DefaultProtoStreamWriterContext}.
+ * @author Paul Ferraro
+ */
+public class DefaultProtoStreamWriterContextTestCase {
+
+    @Test
+    public void test() {
+        Object object = new Object();
+        ProtoStreamWriterContext root = ProtoStreamWriterContext.INSTANCE.get();
+        DefaultProtoStreamWriterContext outer = DefaultProtoStreamWriterContext.open();
+        try {
+            Assert.assertSame(outer, ProtoStreamWriterContext.INSTANCE.get());
+            Assert.assertNull(outer.getReferenceId(object));
+            outer.setReference(object);
+            Assert.assertEquals(Integer.valueOf(0), outer.getReferenceId(object));
+
+            ByteBufferOutputStream buffer = outer.getBuffer();
+            buffer.write(1);
+
+            // Nested context must not share references of outer context
+            try (ProtoStreamWriterContext inner = ProtoStreamWriterContext.open()) {
+                Assert.assertNotSame(outer, inner);
+                Assert.assertSame(inner, ProtoStreamWriterContext.INSTANCE.get());
+                Assert.assertNull(inner.getReferenceId(object));
+            }
+            Assert.assertSame(outer, ProtoStreamWriterContext.INSTANCE.get());
+            Assert.assertEquals(Integer.valueOf(0), outer.getReferenceId(object));
+
+            // Buffer is reset on reuse
+            Assert.assertSame(buffer, outer.getBuffer());
+            Assert.assertEquals(0, buffer.size());
+        } finally {
+            outer.close();
+        }
+        Assert.assertSame(root, ProtoStreamWriterContext.INSTANCE.get());
+
+        // Context is reused, and reset
+        try (ProtoStreamWriterContext context = ProtoStreamWriterContext.open()) {
+            Assert.assertSame(outer, context);
+            Assert.assertNull(context.getReferenceId(object));
+        }
+        Assert.assertSame(root, ProtoStreamWriterContext.INSTANCE.get());
+    }
+}
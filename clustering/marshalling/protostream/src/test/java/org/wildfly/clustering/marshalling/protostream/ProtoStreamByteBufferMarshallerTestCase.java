@@ -0,0 +1,63 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.marshalling.protostream;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+
+/**
+ * Unit test for {@link ProtoStreamByteBufferMarshaller}.
+ * @author Paul Ferraro
+ */
+public class ProtoStreamByteBufferMarshallerTestCase {
+
+    private final ByteBufferMarshaller marshaller = new ProtoStreamByteBufferMarshaller(new SerializationContextBuilder().build());
+
+    @Test
+    public void isMarshallable() {
+        // Repeat, to verify cached verdicts
+        for (int i = 0; i < 2; ++i) {
+            assertTrue(this.marshaller.isMarshallable(null));
+            assertTrue(this.marshaller.isMarshallable(Object.class));
+            assertTrue(this.marshaller.isMarshallable("foo"));
+            assertTrue(this.marshaller.isMarshallable(1));
+            assertTrue(this.marshaller.isMarshallable(new Exception()));
+            assertTrue(this.marshaller.isMarshallable(new int[] { 1, 2 }));
+            assertTrue(this.marshaller.isMarshallable(new String[] { "foo", null }));
+            assertTrue(this.marshaller.isMarshallable(new Object[] { "foo", 1, null }));
+            assertTrue(this.marshaller.isMarshallable(new Object[][] { new Object[] { "foo" }, new String[] { "bar" } }));
+            assertTrue(this.marshaller.isMarshallable(new NonMarshallable[] { null }));
+
+            assertFalse(this.marshaller.isMarshallable(new NonMarshallable()));
+            assertFalse(this.marshaller.isMarshallable(new NonMarshallable[] { new NonMarshallable() }));
+            assertFalse(this.marshaller.isMarshallable(new Object[] { "foo", new NonMarshallable() }));
+            assertFalse(this.marshaller.isMarshallable(new Object[][] { new Object[] { "foo" }, new Object[] { new NonMarshallable() } }));
+        }
+    }
+
+    static final class NonMarshallable {
+    }
+}
@@ -27,22 +27,48 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
+import java.util.function.Predicate;
 
 /**
+ * {@link MarshalledValue} implementation that uses a {@link ByteBufferMarshaller}.
+ * The serialized form of a value that was never accessed, or of an immutable object, is retained such that it is marshalled at most once, regardless of how many times it is written.
+ * Since a mutable object might be modified at any time by a caller of {@link #get(ByteBufferMarshaller)}, its serialized form is not retained, but marshalled on every write.
+ * The only exception is the serialized form of a mutable object computed by {@link #isModified()}, or supplied upon construction, which is reused by the next write only, and discarded if the object is accessed beforehand.
+ * The serialized form read upon first access is kept as a snapshot against which {@link #isModified()} compares the current state of the object.
  * @author Paul Ferraro
  */
 public class ByteBufferMarshalledValue<T> implements MarshalledValue<T, ByteBufferMarshaller>, Serializable {
     private static final long serialVersionUID = -8419893544424515905L;
+    private static final Predicate<Object> MUTABLE = object -> false;
 
     private transient volatile ByteBufferMarshaller marshaller;
+    // Unknown, i.e. null, for a deserialized value until it is read via get(ByteBufferMarshaller, Predicate)
+    private transient volatile Predicate<Object> immutability;
     private transient volatile T object;
     private transient volatile ByteBuffer buffer;
+    private transient volatile ByteBuffer snapshot;
+    private transient volatile ByteBuffer pending;
 
     public ByteBufferMarshalledValue(T object, ByteBufferMarshaller marshaller) {
+        this(object, marshaller, MUTABLE);
+    }
+
+    public ByteBufferMarshalledValue(T object, ByteBufferMarshaller marshaller, Predicate<Object> immutability) {
         this.marshaller = marshaller;
+        this.immutability = immutability;
         this.object = object;
     }
 
+    ByteBufferMarshalledValue(T object, ByteBuffer buffer, ByteBufferMarshaller marshaller, Predicate<Object> immutability) {
+        this(object, marshaller, immutability);
+        // Serialized form of a mutable object is only reused by the next write
+        if (immutability.test(object)) {
+            this.buffer = buffer;
+        } else {
+            this.pending = buffer;
+        }
+    }
+
     ByteBufferMarshalledValue(ByteBuffer buffer) {
         this.buffer = buffer;
     }
@@ -54,9 +80,23 @@ public class ByteBufferMarshalledValue<T> implements MarshalledValue<T, ByteBuff
 
     synchronized ByteBuffer getBuffer() throws IOException {
         ByteBuffer buffer = this.buffer;
-        if (buffer != null) return buffer;
-        if (this.object == null) return null;
-        return this.marshaller.write(this.object);
+        if (buffer != null) return buffer.duplicate();
+        // Reuse serialized form computed by isModified(), which becomes the new snapshot once written
+        ByteBuffer pending = this.pending;
+        if (pending != null) {
+            this.snapshot = pending;
+            this.pending = null;
+            return pending.duplicate();
+        }
+        T object = this.object;
+        if (object == null) return null;
+        buffer = this.marshaller.write(object);
+        // Only retain serialized form of an immutable object, since a mutable object might be modified after this write
+        if (this.isImmutable(object)) {
+            this.buffer = buffer;
+            return buffer.duplicate();
+        }
+        return buffer;
     }
 
     @SuppressWarnings("unchecked")
@@ -65,11 +105,60 @@ public class ByteBufferMarshalledValue<T> implements MarshalledValue<T, ByteBuff
         if (this.object == null) {
             this.marshaller = marshaller;
             if (this.buffer != null) {
-                this.object = (T) this.marshaller.read(this.buffer);
-                this.buffer = null;
+                this.object = (T) this.marshaller.read(this.buffer.duplicate());
             }
         }
-        return this.object;
+        T object = this.object;
+        // Discard any pending serialized form, since caller may mutate the object
+        this.pending = null;
+        // Discard serialized form, since caller may mutate the object, but keep it as a snapshot of the accessed state
+        if ((this.buffer != null) && ((object == null) || !this.isImmutable(object))) {
+            this.snapshot = this.buffer;
+            this.buffer = null;
+        }
+        return object;
+    }
+
+    /**
+     * Returns the object of this marshalled value, using the specified marshalling context.
+     * If this value was deserialized, e.g. via replication, state transfer, or activation, its immutability is unknown, thus the specified test of object immutability is applied,
+     * such that the serialized form of an immutable object is retained, as it was for the value from which this value was deserialized.
+     * @param marshaller a marshalling context
+     * @param immutability a test of object immutability
+     * @return the object of this marshalled value
+     * @throws IOException if the object could not be unmarshalled
+     */
+    public synchronized T get(ByteBufferMarshaller marshaller, Predicate<Object> immutability) throws IOException {
+        if (this.immutability == null) {
+            this.immutability = immutability;
+        }
+        return this.get(marshaller);
+    }
+
+    private boolean isImmutable(Object object) {
+        Predicate<Object> immutability = this.immutability;
+        return (immutability != null) && immutability.test(object);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Compares the serialized form of the current state of the object with the snapshot taken upon access, or with the serialized form that was last written.
+     * If modified, the current serialized form is reused by the next write, after which it becomes the new snapshot.
+     * Thus, if the write never happens, e.g. due to a transaction rollback, this value continues to report itself as modified.
+     */
+    @Override
+    public synchronized boolean isModified() throws IOException {
+        // Object was either never accessed, or is immutable
+        if ((this.buffer != null) || (this.object == null)) return false;
+        ByteBuffer current = this.marshaller.write(this.object);
+        ByteBuffer snapshot = this.snapshot;
+        // Snapshot is null if object was never read from its serialized form
+        if ((snapshot != null) && snapshot.equals(current)) {
+            this.pending = null;
+            return false;
+        }
+        this.pending = current;
+        return true;
     }
 
     @Override
@@ -22,6 +22,10 @@
 
 package org.wildfly.clustering.marshalling.spi;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.Predicate;
+
 /**
  * Factory for creating a {@link ByteBufferMarshalledValue}.
  * @author Paul Ferraro
@@ -29,9 +33,20 @@ package org.wildfly.clustering.marshalling.spi;
 public class ByteBufferMarshalledValueFactory implements MarshalledValueFactory<ByteBufferMarshaller> {
 
     private final ByteBufferMarshaller marshaller;
+    private final Predicate<Object> immutability;
 
     public ByteBufferMarshalledValueFactory(ByteBufferMarshaller marshaller) {
+        this(marshaller, object -> false);
+    }
+
+    /**
+     * Creates a marshalled value factory whose marshalled values may retain their serialized form when the marshalled object is immutable.
+     * @param marshaller a byte buffer marshaller
+     * @param immutability a test of object immutability
+     */
+    public ByteBufferMarshalledValueFactory(ByteBufferMarshaller marshaller, Predicate<Object> immutability) {
         this.marshaller = marshaller;
+        this.immutability = immutability;
     }
 
     @Override
@@ -41,11 +56,30 @@ public class ByteBufferMarshalledValueFactory implements MarshalledValueFactory<
 
     @Override
     public <T> ByteBufferMarshalledValue<T> createMarshalledValue(T object) {
-        return new ByteBufferMarshalledValue<>(object, this.marshaller);
+        return new ByteBufferMarshalledValue<>(object, this.marshaller, this.immutability);
+    }
+
+    /**
+     * Creates a marshalled value from an object whose serialized form was already computed by this factory's marshaller, e.g. to detect whether the object was modified.
+     * The specified serialized form of an immutable object is retained, as if computed by this marshalled value.
+     * The specified serialized form of a mutable object is reused by the next write only, such that the object need not be marshalled again, unless accessed beforehand.
+     * Thereafter, a mutable object is marshalled on every write.
+     * @param object the marshalled object
+     * @param buffer the serialized form of the specified object
+     * @return a marshalled value
+     */
+    public <T> ByteBufferMarshalledValue<T> createMarshalledValue(T object, ByteBuffer buffer) {
+        return new ByteBufferMarshalledValue<>(object, buffer, this.marshaller, this.immutability);
     }
 
     @Override
     public ByteBufferMarshaller getMarshallingContext() {
         return this.marshaller;
     }
+
+    @Override
+    public <T> T get(MarshalledValue<T, ByteBufferMarshaller> value) throws IOException {
+        // Re-apply immutability to values deserialized without it
+        return (value instanceof ByteBufferMarshalledValue) ? ((ByteBufferMarshalledValue<T>) value).get(this.marshaller, this.immutability) : value.get(this.marshaller);
+    }
 }
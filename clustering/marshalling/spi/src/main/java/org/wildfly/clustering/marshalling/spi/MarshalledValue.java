@@ -32,4 +32,13 @@ import java.io.IOException;
  */
 public interface MarshalledValue<T, C> {
     T get(C context) throws IOException;
+
+    /**
+     * Indicates whether the current state of the value may differ from the state in which it was accessed via {@link #get(Object)}, or from the state in which it was last written.
+     * @return true, if the value may have been modified, false otherwise.
+     * @throws IOException if the value could not be marshalled
+     */
+    default boolean isModified() throws IOException {
+        return true;
+    }
 }
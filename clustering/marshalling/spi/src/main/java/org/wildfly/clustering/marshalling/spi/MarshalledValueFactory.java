@@ -22,6 +22,8 @@
 
 package org.wildfly.clustering.marshalling.spi;
 
+import java.io.IOException;
+
 /**
  * @author Paul Ferraro
  */
@@ -29,4 +31,14 @@ public interface MarshalledValueFactory<C> extends Marshallability {
     <T> MarshalledValue<T, C> createMarshalledValue(T object);
 
     C getMarshallingContext();
+
+    /**
+     * Returns the object of the specified marshalled value, which was created by this factory, or deserialized from a marshalled value created by this factory.
+     * @param value a marshalled value
+     * @return the object of the specified marshalled value
+     * @throws IOException if the object could not be unmarshalled
+     */
+    default <T> T get(MarshalledValue<T, C> value) throws IOException {
+        return value.get(this.getMarshallingContext());
+    }
 }
\ No newline at end of file
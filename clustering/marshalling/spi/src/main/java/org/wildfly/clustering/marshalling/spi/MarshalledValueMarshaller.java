@@ -37,7 +37,7 @@ public class MarshalledValueMarshaller<V, C> implements Marshaller<V, Marshalled
     @Override
     public V read(MarshalledValue<V, C> value) throws IOException {
         if (value == null) return null;
-        return value.get(this.factory.getMarshallingContext());
+        return this.factory.get(value);
     }
 
     @Override
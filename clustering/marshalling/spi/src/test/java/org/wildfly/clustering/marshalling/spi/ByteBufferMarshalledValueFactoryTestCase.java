@@ -30,8 +30,13 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
@@ -72,6 +77,196 @@ public class ByteBufferMarshalledValueFactoryTestCase {
         assertNull(mv.get(JavaByteBufferMarshaller.INSTANCE));
     }
 
+    @Test
+    public void getBuffer() throws Exception {
+        UUID uuid = UUID.randomUUID();
+        ByteBufferMarshalledValue<UUID> mv = this.factory.createMarshalledValue(uuid);
+
+        // Serialized form of a potentially mutable object should never be retained
+        ByteBuffer buffer = mv.getBuffer();
+        assertNotNull(buffer);
+        assertNotSame(buffer.array(), mv.getBuffer().array());
+        assertEquals(buffer, mv.getBuffer());
+
+        // Serialized form of an unaccessed value should be retained across writes
+        ByteBufferMarshalledValue<UUID> copy = replicate(mv);
+        assertSame(copy.getBuffer().array(), copy.getBuffer().array());
+
+        // ... but discarded upon access of a potentially mutable object
+        assertEquals(uuid, copy.get(JavaByteBufferMarshaller.INSTANCE));
+        buffer = copy.getBuffer();
+        assertNotSame(buffer.array(), copy.getBuffer().array());
+        assertEquals(buffer, copy.getBuffer());
+
+        // Serialized form of an immutable object should be retained, even upon access
+        ByteBufferMarshalledValueFactory factory = new ByteBufferMarshalledValueFactory(JavaByteBufferMarshaller.INSTANCE, UUID.class::isInstance);
+        mv = factory.createMarshalledValue(uuid);
+        buffer = mv.getBuffer();
+        assertSame(buffer.array(), mv.getBuffer().array());
+        assertSame(uuid, mv.get(JavaByteBufferMarshaller.INSTANCE));
+        assertSame(buffer.array(), mv.getBuffer().array());
+    }
+
+    @Test
+    public void getBufferOfReplicatedImmutable() throws Exception {
+        UUID uuid = UUID.randomUUID();
+        ByteBufferMarshalledValueFactory factory = new ByteBufferMarshalledValueFactory(JavaByteBufferMarshaller.INSTANCE, UUID.class::isInstance);
+        ByteBufferMarshalledValue<UUID> copy = replicate(factory.createMarshalledValue(uuid));
+
+        // Immutability of a replicated value is re-applied upon access via its factory, thus its serialized form is retained
+        ByteBuffer buffer = copy.getBuffer();
+        assertEquals(uuid, factory.get(copy));
+        assertSame(buffer.array(), copy.getBuffer().array());
+
+        // ... but a mutable object of the same replicated value must not retain its serialized form
+        ByteBufferMarshalledValue<AtomicInteger> mutable = replicate(factory.createMarshalledValue(new AtomicInteger()));
+        buffer = mutable.getBuffer();
+        assertEquals(0, factory.get(mutable).get());
+        assertNotSame(buffer.array(), mutable.getBuffer().array());
+    }
+
+    @Test
+    public void mutateAfterGetBuffer() throws Exception {
+        AtomicInteger value = new AtomicInteger();
+        ByteBufferMarshalledValue<AtomicInteger> mv = this.factory.createMarshalledValue(value);
+
+        // Write of a mutable object, e.g. via replication or state transfer, followed by a mutation
+        ByteBuffer buffer = mv.getBuffer();
+        value.incrementAndGet();
+
+        // Subsequent writes must reflect the mutation
+        assertFalse(buffer.equals(mv.getBuffer()));
+        assertEquals(1, replicate(mv).get(JavaByteBufferMarshaller.INSTANCE).get());
+    }
+
+    @Test
+    public void getBufferOfPremarshalled() throws Exception {
+        AtomicInteger value = new AtomicInteger();
+        ByteBuffer buffer = JavaByteBufferMarshaller.INSTANCE.write(value);
+        ByteBufferMarshalledValue<AtomicInteger> mv = this.factory.createMarshalledValue(value, buffer);
+
+        // Serialized form of a mutable object computed in advance should be reused by the next write only
+        assertSame(buffer.array(), mv.getBuffer().array());
+        value.incrementAndGet();
+        assertFalse(buffer.equals(mv.getBuffer()));
+        assertTrue(mv.isModified());
+        assertEquals(1, replicate(mv).get(JavaByteBufferMarshaller.INSTANCE).get());
+
+        // ... and discarded upon access
+        value = new AtomicInteger();
+        buffer = JavaByteBufferMarshaller.INSTANCE.write(value);
+        mv = this.factory.createMarshalledValue(value, buffer);
+        assertSame(value, mv.get(JavaByteBufferMarshaller.INSTANCE));
+        value.incrementAndGet();
+        assertFalse(buffer.equals(mv.getBuffer()));
+        assertEquals(1, replicate(mv).get(JavaByteBufferMarshaller.INSTANCE).get());
+
+        // Serialized form of an immutable object computed in advance should be retained
+        UUID uuid = UUID.randomUUID();
+        buffer = JavaByteBufferMarshaller.INSTANCE.write(uuid);
+        ByteBufferMarshalledValue<UUID> immutable = new ByteBufferMarshalledValueFactory(JavaByteBufferMarshaller.INSTANCE, UUID.class::isInstance).createMarshalledValue(uuid, buffer);
+        assertSame(uuid, immutable.get(JavaByteBufferMarshaller.INSTANCE));
+        assertSame(buffer.array(), immutable.getBuffer().array());
+        assertSame(buffer.array(), immutable.getBuffer().array());
+    }
+
+    @Test
+    public void isModified() throws Exception {
+        AtomicInteger value = new AtomicInteger();
+        ByteBufferMarshalledValue<AtomicInteger> mv = this.factory.createMarshalledValue(value);
+
+        // Never read from its serialized form, thus not comparable
+        mv.getBuffer();
+        assertTrue(mv.isModified());
+        // Serialized form reported as modified becomes the new snapshot once written
+        mv.getBuffer();
+        assertFalse(mv.isModified());
+
+        // Mutated since last written
+        mv.get(JavaByteBufferMarshaller.INSTANCE).incrementAndGet();
+        assertTrue(mv.isModified());
+        mv.getBuffer();
+        assertFalse(mv.isModified());
+
+        // Accessed, but not mutated following replication
+        ByteBufferMarshalledValue<AtomicInteger> copy = replicate(mv);
+        assertFalse(copy.isModified());
+        assertEquals(1, copy.get(JavaByteBufferMarshaller.INSTANCE).get());
+        assertFalse(copy.isModified());
+        assertFalse(copy.isModified());
+
+        // Accessed and mutated following replication
+        copy.get(JavaByteBufferMarshaller.INSTANCE).incrementAndGet();
+        assertTrue(copy.isModified());
+        assertEquals(2, replicate(copy).get(JavaByteBufferMarshaller.INSTANCE).get());
+        assertFalse(copy.isModified());
+    }
+
+    @Test
+    public void isModifiedWithoutWrite() throws Exception {
+        ByteBufferMarshalledValue<AtomicInteger> copy = replicate(this.factory.createMarshalledValue(new AtomicInteger()));
+        copy.get(JavaByteBufferMarshaller.INSTANCE).incrementAndGet();
+
+        assertTrue(copy.isModified());
+        // Modification was never written, e.g. due to a transaction rollback
+        assertTrue(copy.isModified());
+        assertEquals(1, replicate(copy).get(JavaByteBufferMarshaller.INSTANCE).get());
+        assertFalse(copy.isModified());
+    }
+
+    @Test
+    public void isModifiedReusesBuffer() throws Exception {
+        AtomicInteger writes = new AtomicInteger();
+        ByteBufferMarshaller marshaller = new ByteBufferMarshaller() {
+            @Override
+            public boolean isMarshallable(Object object) {
+                return JavaByteBufferMarshaller.INSTANCE.isMarshallable(object);
+            }
+
+            @Override
+            public Object readFrom(InputStream input) throws IOException {
+                return JavaByteBufferMarshaller.INSTANCE.readFrom(input);
+            }
+
+            @Override
+            public void writeTo(OutputStream output, Object object) throws IOException {
+                writes.incrementAndGet();
+                JavaByteBufferMarshaller.INSTANCE.writeTo(output, object);
+            }
+        };
+        ByteBufferMarshalledValue<AtomicInteger> mv = new ByteBufferMarshalledValueFactory(marshaller).createMarshalledValue(new AtomicInteger());
+
+        assertTrue(mv.isModified());
+        assertEquals(1, writes.get());
+        // Write should reuse serialized form computed by isModified()
+        assertNotNull(mv.getBuffer());
+        assertEquals(1, writes.get());
+        // ... but only once
+        assertNotNull(mv.getBuffer());
+        assertEquals(2, writes.get());
+    }
+
+    @Test
+    public void isModifiedAfterGetBuffer() throws Exception {
+        Map<String, AtomicInteger> beans = new HashMap<>();
+        beans.put("bean", new AtomicInteger());
+        ByteBufferMarshalledValue<Map<String, AtomicInteger>> copy = replicate(this.factory.createMarshalledValue(beans));
+
+        // Bean accessed by an invocation
+        AtomicInteger bean = copy.get(JavaByteBufferMarshaller.INSTANCE).get("bean");
+
+        // Concurrent write, e.g. via state transfer, before the bean is mutated
+        ByteBuffer buffer = copy.getBuffer();
+        assertFalse(copy.isModified());
+
+        bean.incrementAndGet();
+
+        assertTrue(copy.isModified());
+        assertFalse(buffer.equals(copy.getBuffer()));
+        assertFalse(copy.isModified());
+        assertFalse(buffer.equals(copy.getBuffer()));
+    }
+
     @Test
     public void equals() throws Exception {
         UUID uuid = UUID.randomUUID();
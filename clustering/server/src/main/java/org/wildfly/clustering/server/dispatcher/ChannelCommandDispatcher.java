@@ -24,9 +24,12 @@ package org.wildfly.clustering.server.dispatcher;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
@@ -115,28 +118,51 @@ public class ChannelCommandDispatcher<CC, MC> implements CommandDispatcher<CC> {
     public <R> Map<Node, CompletionStage<R>> executeOnGroup(Command<R, ? super CC> command, Node... excludedMembers) throws CommandDispatcherException {
         Set<Node> excluded = (excludedMembers != null) ? new HashSet<>(Arrays.asList(excludedMembers)) : Collections.emptySet();
         Map<Node, CompletionStage<R>> results = new ConcurrentHashMap<>();
-        Buffer buffer = this.createBuffer(command);
+        Map<Address, Node> targets = new HashMap<>();
+        Node localMember = null;
         for (Node member : this.group.getMembership().getMembers()) {
             if (!excluded.contains(member)) {
                 Address address = this.group.getAddress(member);
                 if (this.localAddress.equals(address)) {
-                    results.put(member, this.localDispatcher.executeOnMember(command, member));
+                    localMember = member;
                 } else {
-                    try {
-                        ServiceRequest<R, MC> request = new ServiceRequest<>(this.dispatcher.getCorrelator(), this.group.getAddress(member), this.options, this.context);
-                        CompletionStage<R> future = request.send(buffer);
-                        results.put(member, future);
-                        future.whenComplete(new PruneCancellationTask<>(results, member));
-                    } catch (CommandDispatcherException e) {
-                        // Cancel previously dispatched messages
-                        for (CompletionStage<R> result : results.values()) {
-                            result.toCompletableFuture().cancel(true);
-                        }
-                        throw e;
+                    targets.put(address, member);
+                }
+            }
+        }
+        if (!targets.isEmpty()) {
+            Buffer buffer = this.createBuffer(command);
+            if (targets.size() == 1) {
+                Map.Entry<Address, Node> target = targets.entrySet().iterator().next();
+                ServiceRequest<R, MC> request = new ServiceRequest<>(this.dispatcher.getCorrelator(), target.getKey(), this.options, this.context);
+                CompletionStage<R> future = request.send(buffer);
+                results.put(target.getValue(), future);
+                future.whenComplete(new PruneCancellationTask<>(results, target.getValue()));
+            } else {
+                // Send a single multicast message, which reaches every member of the channel view.
+                // Thus exclude any view member that is not a target, e.g. excluded members, or members outside of this group.
+                RequestOptions options = new RequestOptions(this.options).transientFlags(Message.TransientFlag.DONT_LOOPBACK);
+                List<Address> exclusions = new ArrayList<>();
+                for (Address address : this.dispatcher.getChannel().getView().getMembers()) {
+                    if (!targets.containsKey(address) && !this.localAddress.equals(address)) {
+                        exclusions.add(address);
                     }
                 }
+                if (!exclusions.isEmpty()) {
+                    options.exclusionList(exclusions.toArray(new Address[exclusions.size()]));
+                }
+                ServiceGroupRequest<R, MC> request = new ServiceGroupRequest<>(this.dispatcher.getCorrelator(), targets.keySet(), options, this.context);
+                for (Map.Entry<Address, ? extends CompletionStage<R>> entry : request.send(buffer).entrySet()) {
+                    Node member = targets.get(entry.getKey());
+                    CompletionStage<R> future = entry.getValue();
+                    results.put(member, future);
+                    future.whenComplete(new PruneCancellationTask<>(results, member));
+                }
             }
         }
+        if (localMember != null) {
+            results.put(localMember, this.localDispatcher.executeOnMember(command, localMember));
+        }
         return results;
     }
 
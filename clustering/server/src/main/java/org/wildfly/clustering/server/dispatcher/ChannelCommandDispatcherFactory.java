@@ -81,7 +81,7 @@ import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
 import org.wildfly.clustering.server.group.AddressableNode;
 import org.wildfly.clustering.server.logging.ClusteringServerLogger;
 import org.wildfly.clustering.service.concurrent.ServiceExecutor;
-import org.wildfly.clustering.service.concurrent.StampedLockServiceExecutor;
+import org.wildfly.clustering.service.concurrent.StripedServiceExecutor;
 import org.wildfly.common.function.ExceptionSupplier;
 import org.wildfly.common.function.Functions;
 import org.wildfly.security.manager.WildFlySecurityManager;
@@ -118,7 +118,7 @@ public class ChannelCommandDispatcherFactory implements AutoCloseableCommandDisp
     private final ConcurrentMap<Address, Node> members = new ConcurrentHashMap<>();
     private final Map<Object, CommandDispatcherContext<?, ?>> contexts = new ConcurrentHashMap<>();
     private final ExecutorService executorService = Executors.newCachedThreadPool(new DefaultThreadFactory(this.getClass()));
-    private final ServiceExecutor executor = new StampedLockServiceExecutor();
+    private final ServiceExecutor executor = new StripedServiceExecutor();
     private final Map<GroupListener, ExecutorService> listeners = new ConcurrentHashMap<>();
     private final AtomicReference<View> view = new AtomicReference<>();
     private final ByteBufferMarshaller marshaller;
@@ -0,0 +1,174 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.server.dispatcher;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.jgroups.Address;
+import org.jgroups.SuspectedException;
+import org.jgroups.View;
+import org.jgroups.blocks.GroupRequest;
+import org.jgroups.blocks.RequestCorrelator;
+import org.jgroups.blocks.RequestOptions;
+import org.jgroups.util.Buffer;
+import org.wildfly.clustering.dispatcher.CommandDispatcherException;
+import org.wildfly.clustering.marshalling.spi.MarshalledValue;
+
+/**
+ * Sends a single multicast request to a set of target members, exposing the response of each member as a separate {@link CompletionStage}.
+ * Translates a {@link NoSuchService} response to a {@link CancellationException}.
+ * @author Paul Ferraro
+ */
+public class ServiceGroupRequest<T, C> extends GroupRequest<Object> {
+
+    private final C context;
+    private final Map<Address, ServiceResponse<T>> responses;
+
+    public ServiceGroupRequest(RequestCorrelator correlator, Collection<Address> targets, RequestOptions options, C context) {
+        super(correlator, targets, options);
+        this.context = context;
+        Map<Address, ServiceResponse<T>> responses = new HashMap<>();
+        for (Address target : targets) {
+            ServiceResponse<T> response = new ServiceResponse<>(options.timeout());
+            // Release this request from the correlator once every response is done, e.g. following a timeout
+            response.whenComplete((result, exception) -> this.responseCompleted());
+            responses.put(target, response);
+        }
+        this.responses = Collections.unmodifiableMap(responses);
+    }
+
+    /**
+     * Sends the specified data to all target members via a single message.
+     * @param data the request payload
+     * @return the response of each target member, keyed by address
+     * @throws CommandDispatcherException if the request could not be sent
+     */
+    public Map<Address, ? extends CompletionStage<T>> send(Buffer data) throws CommandDispatcherException {
+        try {
+            this.sendRequest(data);
+            return this.responses;
+        } catch (Exception e) {
+            throw new CommandDispatcherException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void receiveResponse(Object value, Address sender, boolean exceptional) {
+        ServiceResponse<T> response = this.responses.get(sender);
+        if ((response != null) && !response.isDone()) {
+            if (exceptional) {
+                response.completeExceptionally((Throwable) value);
+            } else if (value instanceof NoSuchService) {
+                response.completeExceptionally(new CancellationException());
+            } else {
+                MarshalledValue<T, C> marshalledValue = (MarshalledValue<T, C>) value;
+                try {
+                    response.complete(marshalledValue.get(this.context));
+                } catch (IOException e) {
+                    response.completeExceptionally(e);
+                }
+            }
+        }
+        super.receiveResponse(value, sender, exceptional);
+    }
+
+    @Override
+    public void viewChange(View view) {
+        // Cancel responses from members that have left the view
+        for (Map.Entry<Address, ServiceResponse<T>> entry : this.responses.entrySet()) {
+            if (!view.containsMember(entry.getKey())) {
+                entry.getValue().completeExceptionally(new CancellationException());
+            }
+        }
+        super.viewChange(view);
+    }
+
+    @Override
+    public void transportClosed() {
+        for (ServiceResponse<T> response : this.responses.values()) {
+            response.completeExceptionally(new CancellationException());
+        }
+        super.transportClosed();
+    }
+
+    private void responseCompleted() {
+        if (this.isDone()) return;
+        for (ServiceResponse<T> response : this.responses.values()) {
+            if (!response.isDone()) return;
+        }
+        this.cancel(false);
+    }
+
+    /**
+     * The response of a single member, whose blocking methods wait at most for the request timeout.
+     */
+    private static class ServiceResponse<T> extends CompletableFuture<T> {
+        private final long timeout;
+
+        ServiceResponse(long timeout) {
+            this.timeout = timeout;
+        }
+
+        @Override
+        public boolean completeExceptionally(Throwable exception) {
+            return super.completeExceptionally((exception instanceof SuspectedException) ? new CancellationException() : exception);
+        }
+
+        @Override
+        public T get() throws InterruptedException, ExecutionException {
+            try {
+                // Wait at most for the configured timeout
+                // If the message was dropped by the receiver, this would otherwise block forever
+                return super.get(this.timeout, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Auto-cancel on timeout
+                this.cancel(true);
+                throw new CancellationException(e.getLocalizedMessage());
+            }
+        }
+
+        @Override
+        public T join() {
+            try {
+                return this.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            } catch (ExecutionException e) {
+                throw new CompletionException(e.getCause());
+            }
+        }
+    }
+}
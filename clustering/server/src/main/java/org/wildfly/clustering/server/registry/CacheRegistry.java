@@ -40,6 +40,7 @@ import java.util.function.Function;
 
 import org.infinispan.Cache;
 import org.infinispan.commons.CacheException;
+import org.infinispan.configuration.cache.CacheMode;
 import org.infinispan.context.Flag;
 import org.infinispan.distribution.ch.ConsistentHash;
 import org.infinispan.metadata.Metadata;
@@ -91,6 +92,12 @@ public class CacheRegistry<K, V> implements Registry<K, V>, CacheEventFilter<Obj
     private final Runnable closeTask;
     private final Map.Entry<K, V> entry;
     private final Invoker invoker;
+    // Indicates whether reads are served from a local snapshot, which requires that every member receives every cache event
+    private final boolean snapshotting;
+    // Immutable local snapshot of the registry cache, maintained by cache events
+    private volatile Map<Address, Map.Entry<K, V>> snapshot = Collections.emptyMap();
+    // Incremented on every event-driven snapshot update, guarded by this
+    private long snapshotVersion = 0;
 
     public CacheRegistry(CacheRegistryConfiguration<K, V> config, Map.Entry<K, V> entry, Runnable closeTask) {
         this.cache = config.getCache();
@@ -99,8 +106,14 @@ public class CacheRegistry<K, V> implements Registry<K, V>, CacheEventFilter<Obj
         this.closeTask = closeTask;
         this.entry = new AbstractMap.SimpleImmutableEntry<>(entry);
         this.invoker = new RetryingInvoker(this.cache);
+        // Members of a non-replicated cache are not notified of events for entries they do not own
+        CacheMode mode = this.cache.getCacheConfiguration().clustering().cacheMode();
+        this.snapshotting = mode.isReplicated() || !mode.isClustered();
         this.invoker.invoke(this);
         this.cache.addListener(this, CacheRegistryFilter.INSTANCE, null);
+        if (this.snapshotting) {
+            this.refresh();
+        }
     }
 
     @Override
@@ -169,8 +182,10 @@ public class CacheRegistry<K, V> implements Registry<K, V>, CacheEventFilter<Obj
         for (Node member : this.group.getMembership().getMembers()) {
             addresses.add(this.group.getAddress(member));
         }
+        Map<Address, Map.Entry<K, V>> entries = this.snapshotting ? this.snapshot : this.cache.getAdvancedCache().getAll(addresses);
         Map<K, V> result = new HashMap<>();
-        for (Map.Entry<K, V> entry : this.cache.getAdvancedCache().getAll(addresses).values()) {
+        for (Address address : addresses) {
+            Map.Entry<K, V> entry = entries.get(address);
             if (entry != null) {
                 result.put(entry.getKey(), entry.getValue());
             }
@@ -181,7 +196,48 @@ public class CacheRegistry<K, V> implements Registry<K, V>, CacheEventFilter<Obj
     @Override
     public Map.Entry<K, V> getEntry(Node node) {
         Address address = this.group.getAddress(node);
-        return this.cache.get(address);
+        return this.snapshotting ? this.snapshot.get(address) : this.cache.get(address);
+    }
+
+    /**
+     * Rebuilds the local snapshot from the registry entries of the current members.
+     */
+    private void refresh() {
+        while (true) {
+            long version;
+            synchronized (this) {
+                version = this.snapshotVersion;
+            }
+            Set<Address> addresses = new TreeSet<>();
+            for (Node member : this.group.getMembership().getMembers()) {
+                addresses.add(this.group.getAddress(member));
+            }
+            Map<Address, Map.Entry<K, V>> entries = new HashMap<>();
+            for (Map.Entry<Address, Map.Entry<K, V>> entry : this.cache.getAdvancedCache().getAll(addresses).entrySet()) {
+                if (entry.getValue() != null) {
+                    entries.put(entry.getKey(), entry.getValue());
+                }
+            }
+            synchronized (this) {
+                // Retry if a concurrent event may have been overwritten
+                if (version == this.snapshotVersion) {
+                    this.snapshot = Collections.unmodifiableMap(entries);
+                    return;
+                }
+            }
+        }
+    }
+
+    private synchronized void updateSnapshot(Address address, Map.Entry<K, V> entry) {
+        if (!this.snapshotting) return;
+        Map<Address, Map.Entry<K, V>> snapshot = new HashMap<>(this.snapshot);
+        if (entry != null) {
+            snapshot.put(address, entry);
+        } else {
+            snapshot.remove(address);
+        }
+        this.snapshot = Collections.unmodifiableMap(snapshot);
+        this.snapshotVersion += 1;
     }
 
     @DataRehashed
@@ -199,6 +255,14 @@ public class CacheRegistry<K, V> implements Registry<K, V>, CacheEventFilter<Obj
 
             try {
                 this.topologyChangeExecutor.submit(() -> {
+                    // Rebuild local snapshot, since entries may have been missed while ownership changed
+                    if (this.snapshotting) {
+                        try {
+                            this.refresh();
+                        } catch (CacheException e) {
+                            ClusteringLogger.ROOT_LOGGER.warn(e.getLocalizedMessage(), e);
+                        }
+                    }
                     if (!leftMembers.isEmpty()) {
                         Locality locality = new ConsistentHashLocality(event.getCache(), hash);
                         // We're only interested in the entries for which we are the primary owner
@@ -251,10 +315,13 @@ public class CacheRegistry<K, V> implements Registry<K, V>, CacheEventFilter<Obj
     @CacheEntryCreated
     @CacheEntryModified
     public CompletionStage<Void> event(CacheEntryEvent<Address, Map.Entry<K, V>> event) {
-        if (!event.isOriginLocal() && !event.isPre()) {
+        if (!event.isPre()) {
             Map.Entry<K, V> entry = event.getValue();
             if (entry != null) {
-                this.notifyListeners(event.getType(), entry);
+                this.updateSnapshot(event.getKey(), entry);
+                if (!event.isOriginLocal()) {
+                    this.notifyListeners(event.getType(), entry);
+                }
             }
         }
         return CompletableFutures.completedNull();
@@ -262,10 +329,11 @@ public class CacheRegistry<K, V> implements Registry<K, V>, CacheEventFilter<Obj
 
     @CacheEntryRemoved
     public CompletionStage<Void> removed(CacheEntryRemovedEvent<Address, Map.Entry<K, V>> event) {
-        if (!event.isOriginLocal() && !event.isPre()) {
+        if (!event.isPre()) {
+            this.updateSnapshot(event.getKey(), null);
             Map.Entry<K, V> entry = event.getOldValue();
             // WFLY-4938 For some reason, the old value can be null
-            if (entry != null) {
+            if ((entry != null) && !event.isOriginLocal()) {
                 this.notifyListeners(event.getType(), entry);
             }
         }
@@ -26,6 +26,7 @@ import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletionException;
@@ -71,6 +72,8 @@ public abstract class AbstractDistributedSingletonService<C extends SingletonCon
     private final AtomicBoolean primary = new AtomicBoolean(false);
 
     private volatile Lifecycle primaryLifecycle;
+    // Primary provider according to the most recent election, or null if unknown
+    private volatile Optional<Node> electedProvider = null;
     private volatile CommandDispatcher<C> dispatcher;
     private volatile ServiceProviderRegistration<ServiceName> registration;
 
@@ -171,13 +174,17 @@ public abstract class AbstractDistributedSingletonService<C extends SingletonCon
                     }
                 }
 
-                if (this.electionListener != null) {
-                    for (CompletionStage<Void> stage : this.dispatcher.executeOnGroup(new SingletonElectionCommand(candidates, elected)).values()) {
-                        try {
-                            stage.toCompletableFuture().join();
-                        } catch (CancellationException e) {
-                            // Ignore
-                        }
+                // Notify every member of the election result, so that each can track the primary provider locally
+                for (Map.Entry<Node, CompletionStage<Void>> entry : this.dispatcher.executeOnGroup(new SingletonElectionCommand(candidates, elected)).entrySet()) {
+                    try {
+                        entry.getValue().toCompletableFuture().join();
+                    } catch (CancellationException e) {
+                        // Ignore
+                    } catch (CompletionException e) {
+                        // A member running a previous version fails to execute this command if no election listener is configured
+                        // Without a listener, this only prevents that member from tracking the election result locally
+                        if (this.electionListener != null) throw e;
+                        ClusteringServerLogger.ROOT_LOGGER.debugf(e, "Singleton service %s could not track its election result on %s", this.name.getCanonicalName(), entry.getKey().getName());
                     }
                 }
             } catch (CommandDispatcherException e) {
@@ -196,6 +203,8 @@ public abstract class AbstractDistributedSingletonService<C extends SingletonCon
 
     @Override
     public synchronized void stop() {
+        // An election is in progress, so the previous result is no longer reliable
+        this.electedProvider = null;
         // If we were the previous the primary node
         if (this.primary.compareAndSet(true, false)) {
             this.primaryLifecycle.stop();
@@ -204,10 +213,13 @@ public abstract class AbstractDistributedSingletonService<C extends SingletonCon
 
     @Override
     public void elected(List<Node> candidates, Node elected) {
-        try {
-            this.electionListener.elected(candidates, elected);
-        } catch (Throwable e) {
-            ClusteringServerLogger.ROOT_LOGGER.warn(e.getLocalizedMessage(), e);
+        this.electedProvider = Optional.ofNullable(elected);
+        if (this.electionListener != null) {
+            try {
+                this.electionListener.elected(candidates, elected);
+            } catch (Throwable e) {
+                ClusteringServerLogger.ROOT_LOGGER.warn(e.getLocalizedMessage(), e);
+            }
         }
     }
 
@@ -220,6 +232,10 @@ public abstract class AbstractDistributedSingletonService<C extends SingletonCon
     public Node getPrimaryProvider() {
         if (this.isPrimary()) return this.registry.get().getGroup().getLocalMember();
 
+        Optional<Node> elected = this.electedProvider;
+        if (elected != null) return elected.orElse(null);
+
+        // Election result is unknown, e.g. elected by a member that does not broadcast its result, so ask the group
         List<Node> primaryMembers = new LinkedList<>();
         try {
             for (Map.Entry<Node, CompletionStage<Boolean>> entry : this.dispatcher.executeOnGroup(new PrimaryProviderCommand()).entrySet()) {
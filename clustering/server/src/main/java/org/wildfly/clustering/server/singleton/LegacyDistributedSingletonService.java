@@ -22,6 +22,7 @@
 
 package org.wildfly.clustering.server.singleton;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -36,6 +37,7 @@ import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
 import org.wildfly.clustering.dispatcher.CommandDispatcher;
+import org.wildfly.clustering.group.Node;
 import org.wildfly.clustering.server.logging.ClusteringServerLogger;
 import org.wildfly.clustering.singleton.SingletonService;
 
@@ -48,6 +50,7 @@ import org.wildfly.clustering.singleton.SingletonService;
 public class LegacyDistributedSingletonService<T> extends AbstractDistributedSingletonService<LegacySingletonContext<T>> implements SingletonService<T>, LegacySingletonContext<T>, PrimaryProxyContext<T> {
 
     private final ServiceName name;
+    private final PrimaryProxyService<T> proxyService;
 
     private volatile boolean started = false;
     private volatile ServiceController<T> primaryController;
@@ -58,9 +61,14 @@ public class LegacyDistributedSingletonService<T> extends AbstractDistributedSin
     }
 
     private LegacyDistributedSingletonService(DistributedSingletonServiceContext context, Service<T> primaryService, Service<T> backupService, LazySupplier<PrimaryProxyContext<T>> contextFactory) {
-        super(context, new ServiceLifecycleFactory<>(context.getServiceName(), primaryService, (backupService != null) ? backupService : new PrimaryProxyService<>(contextFactory)));
+        this(context, primaryService, backupService, contextFactory, (backupService == null) ? new PrimaryProxyService<>(contextFactory) : null);
+    }
+
+    private LegacyDistributedSingletonService(DistributedSingletonServiceContext context, Service<T> primaryService, Service<T> backupService, LazySupplier<PrimaryProxyContext<T>> contextFactory, PrimaryProxyService<T> proxyService) {
+        super(context, new ServiceLifecycleFactory<>(context.getServiceName(), primaryService, (proxyService != null) ? proxyService : backupService));
         contextFactory.accept(this);
         this.name = context.getServiceName();
+        this.proxyService = proxyService;
     }
 
     @Override
@@ -109,6 +117,24 @@ public class LegacyDistributedSingletonService<T> extends AbstractDistributedSin
         throw ClusteringServerLogger.ROOT_LOGGER.notStarted(this.getServiceName().getCanonicalName());
     }
 
+    @Override
+    public synchronized void stop() {
+        super.stop();
+        this.invalidateProxyValue();
+    }
+
+    @Override
+    public void elected(List<Node> candidates, Node elected) {
+        super.elected(candidates, elected);
+        this.invalidateProxyValue();
+    }
+
+    private void invalidateProxyValue() {
+        if (this.proxyService != null) {
+            this.proxyService.invalidate();
+        }
+    }
+
     @Override
     public CommandDispatcher<LegacySingletonContext<T>> getCommandDispatcher() {
         return super.getCommandDispatcher();
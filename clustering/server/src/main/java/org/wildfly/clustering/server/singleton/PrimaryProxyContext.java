@@ -23,6 +23,7 @@
 package org.wildfly.clustering.server.singleton;
 
 import org.wildfly.clustering.dispatcher.CommandDispatcher;
+import org.wildfly.clustering.group.Node;
 import org.wildfly.clustering.service.ServiceNameProvider;
 
 /**
@@ -30,4 +31,10 @@ import org.wildfly.clustering.service.ServiceNameProvider;
  */
 public interface PrimaryProxyContext<T> extends ServiceNameProvider {
     CommandDispatcher<LegacySingletonContext<T>> getCommandDispatcher();
+
+    /**
+     * Returns the primary provider of this singleton, as determined by the most recent election.
+     * @return the primary provider, or null if there is none
+     */
+    Node getPrimaryProvider();
 }
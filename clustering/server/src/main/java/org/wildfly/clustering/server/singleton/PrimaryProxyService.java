@@ -22,14 +22,11 @@
 
 package org.wildfly.clustering.server.singleton;
 
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.Map;
 import java.util.Optional;
-import java.util.function.Supplier;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletionException;
-import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.StartContext;
@@ -40,6 +37,7 @@ import org.wildfly.clustering.server.logging.ClusteringServerLogger;
 
 /**
  * Service that proxies the value from the primary node.
+ * The value is requested from the primary provider only, and cached until invalidated by a subsequent election.
  * @author Paul Ferraro
  */
 @Deprecated
@@ -47,6 +45,8 @@ public class PrimaryProxyService<T> implements Service<T> {
 
     private final Supplier<PrimaryProxyContext<T>> contextFactory;
 
+    // Replaced on invalidation, such that a value fetched from a previous primary provider is never cached
+    private volatile AtomicReference<Optional<T>> value = new AtomicReference<>();
     private volatile boolean started = false;
 
     public PrimaryProxyService(Supplier<PrimaryProxyContext<T>> contextFactory) {
@@ -59,39 +59,40 @@ public class PrimaryProxyService<T> implements Service<T> {
         if (!this.started) {
             throw ClusteringServerLogger.ROOT_LOGGER.notStarted(context.getServiceName().getCanonicalName());
         }
+        AtomicReference<Optional<T>> value = this.value;
+        Optional<T> cached = value.get();
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+        Node primary = context.getPrimaryProvider();
+        if (primary == null) {
+            throw ClusteringServerLogger.ROOT_LOGGER.noResponseFromMaster(context.getServiceName().getCanonicalName());
+        }
         try {
-            Map<Node, CompletionStage<Optional<T>>> responses = context.getCommandDispatcher().executeOnGroup(new SingletonValueCommand<>());
-            // Prune non-primary (i.e. null) results
-            Map<Node, Optional<T>> results = new HashMap<>();
-            try {
-                for (Map.Entry<Node, CompletionStage<Optional<T>>> entry : responses.entrySet()) {
-                    try {
-                        Optional<T> response = entry.getValue().toCompletableFuture().join();
-                        if (response != null) {
-                            results.put(entry.getKey(), response);
-                        }
-                    } catch (CancellationException e) {
-                        // Ignore
-                    }
-                }
-            } catch (CompletionException e) {
-                throw new IllegalArgumentException(e);
-            }
-            // We expect only 1 result
-            if (results.size() > 1) {
-                // This would mean there are multiple primary nodes!
-                throw ClusteringServerLogger.ROOT_LOGGER.multiplePrimaryProvidersDetected(context.getServiceName().getCanonicalName(), results.keySet());
-            }
-            Iterator<Optional<T>> values = results.values().iterator();
-            if (!values.hasNext()) {
+            // A null response indicates that the requested member is no longer (or not yet) the primary provider
+            Optional<T> result = context.getCommandDispatcher().executeOnMember(new SingletonValueCommand<>(), primary).toCompletableFuture().join();
+            if (result == null) {
                 throw ClusteringServerLogger.ROOT_LOGGER.noResponseFromMaster(context.getServiceName().getCanonicalName());
             }
-            return values.next().orElse(null);
+            value.compareAndSet(null, result);
+            return result.orElse(null);
+        } catch (CancellationException e) {
+            // Primary provider left the cluster
+            throw ClusteringServerLogger.ROOT_LOGGER.noResponseFromMaster(context.getServiceName().getCanonicalName());
+        } catch (CompletionException e) {
+            throw new IllegalArgumentException(e);
         } catch (CommandDispatcherException e) {
             throw new IllegalArgumentException(e);
         }
     }
 
+    /**
+     * Discards any cached value, e.g. following a change in primary provider.
+     */
+    void invalidate() {
+        this.value = new AtomicReference<>();
+    }
+
     @Override
     public void start(StartContext context) {
         this.started = true;
@@ -100,5 +101,6 @@ public class PrimaryProxyService<T> implements Service<T> {
     @Override
     public void stop(StopContext context) {
         this.started = false;
+        this.invalidate();
     }
 }
@@ -0,0 +1,108 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.wildfly.clustering.server.singleton;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.StartContext;
+import org.junit.Assert;
+import org.junit.Test;
+import org.wildfly.clustering.dispatcher.CommandDispatcher;
+import org.wildfly.clustering.dispatcher.CommandDispatcherException;
+import org.wildfly.clustering.group.Node;
+
+/**
+ * Unit test for {@link PrimaryProxyService}.
+ * @author Paul Ferraro
+ */
+@Deprecated
+public class PrimaryProxyServiceTestCase {
+
+    private final PrimaryProxyContext<Object> context = mock(PrimaryProxyContext.class);
+    private final CommandDispatcher<LegacySingletonContext<Object>> dispatcher = mock(CommandDispatcher.class);
+    private final PrimaryProxyService<Object> service = new PrimaryProxyService<>(() -> this.context);
+
+    @Test
+    public void getValue() throws CommandDispatcherException {
+        Node primary = mock(Node.class);
+        Object value = new Object();
+
+        when(this.context.getServiceName()).thenReturn(ServiceName.JBOSS.append("service"));
+        when(this.context.getCommandDispatcher()).thenReturn(this.dispatcher);
+
+        try {
+            this.service.getValue();
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+
+        this.service.start(mock(StartContext.class));
+
+        // No primary provider
+        try {
+            this.service.getValue();
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+
+        when(this.context.getPrimaryProvider()).thenReturn(primary);
+        when(this.dispatcher.executeOnMember(any(SingletonValueCommand.class), same(primary))).thenReturn(CompletableFuture.completedFuture(Optional.of(value)));
+
+        Assert.assertSame(value, this.service.getValue());
+        // Subsequent invocations should use cached value
+        Assert.assertSame(value, this.service.getValue());
+
+        verify(this.dispatcher).executeOnMember(any(SingletonValueCommand.class), same(primary));
+        verify(this.dispatcher, never()).executeOnGroup(any());
+
+        // Following invalidation, value should be requested from primary provider again
+        this.service.invalidate();
+
+        Object newValue = new Object();
+        when(this.dispatcher.executeOnMember(any(SingletonValueCommand.class), same(primary))).thenReturn(CompletableFuture.completedFuture(Optional.of(newValue)));
+
+        Assert.assertSame(newValue, this.service.getValue());
+
+        verify(this.dispatcher, times(2)).executeOnMember(any(SingletonValueCommand.class), same(primary));
+
+        // Elected member is not yet primary
+        this.service.invalidate();
+
+        when(this.dispatcher.executeOnMember(any(SingletonValueCommand.class), same(primary))).thenReturn(CompletableFuture.completedFuture(null));
+
+        try {
+            this.service.getValue();
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.service.concurrent;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A gate that admits any number of concurrent entrants until closed, where closing waits for admitted entrants to exit.
+ * Unlike the read lock of a {@link java.util.concurrent.locks.StampedLock}, whose reader count is a single contended variable,
+ * entrants are counted via cache-line padded counters, striped by thread, such that concurrent entrants do not contend with each other.
+ * An entrant may exit the gate from a thread other than the one from which it entered.
+ * @author Paul Ferraro
+ */
+public class StripedGate {
+
+    // Number of longs per stripe, i.e. the number of longs per 64-byte cache line
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray counters;
+    private final int mask;
+
+    private volatile boolean closed = false;
+    private volatile Thread closer = null;
+
+    /**
+     * Creates a gate using a stripe per available processor.
+     */
+    public StripedGate() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a gate using at least the specified number of stripes.
+     * @param concurrency the expected number of concurrent entrants
+     */
+    public StripedGate(int concurrency) {
+        int stripes = (concurrency > 1) ? Integer.highestOneBit(concurrency - 1) << 1 : 1;
+        this.mask = stripes - 1;
+        // Leave an unused stripe at either end to avoid false sharing with adjacent objects
+        this.counters = new AtomicLongArray((stripes + 2) * PADDING);
+    }
+
+    /**
+     * Attempts to enter this gate.
+     * If successful, the caller must subsequently {@link #exit()} this gate.
+     * @return true, if this gate was entered, false if this gate is closed.
+     */
+    public boolean tryEnter() {
+        int index = this.index();
+        this.counters.incrementAndGet(index);
+        // Re-check after incrementing, since close() sets its flag before summing counters
+        if (this.closed) {
+            this.exit(index);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Exits this gate, previously entered via {@link #tryEnter()}.
+     */
+    public void exit() {
+        this.exit(this.index());
+    }
+
+    private void exit(int index) {
+        this.counters.decrementAndGet(index);
+        if (this.closed) {
+            Thread closer = this.closer;
+            if (closer != null) {
+                LockSupport.unpark(closer);
+            }
+        }
+    }
+
+    /**
+     * Indicates whether this gate is closed.
+     * @return true, if this gate is closed, false otherwise
+     */
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+    /**
+     * Closes this gate to new entrants, waiting uninterruptibly for current entrants to exit.
+     */
+    public synchronized void close() {
+        boolean interrupted = false;
+        this.closer = Thread.currentThread();
+        this.closed = true;
+        try {
+            while (this.isOccupied()) {
+                LockSupport.park(this);
+                // Clear interrupt status, otherwise subsequent parks would return immediately
+                interrupted |= Thread.interrupted();
+            }
+        } finally {
+            this.closer = null;
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Closes this gate to new entrants, waiting up to the specified duration for current entrants to exit.
+     * If current entrants do not exit in time, this gate is reopened.
+     * @param timeout the maximum duration to wait
+     * @param unit the unit of the timeout
+     * @return true, if this gate was closed, false if current entrants did not exit in time.
+     * @throws InterruptedException if interrupted while waiting for current entrants to exit, in which case this gate is reopened.
+     */
+    public synchronized boolean close(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        boolean drained = false;
+        this.closer = Thread.currentThread();
+        this.closed = true;
+        try {
+            drained = !this.isOccupied();
+            while (!drained) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0L) return false;
+                LockSupport.parkNanos(this, remaining);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                drained = !this.isOccupied();
+            }
+            return true;
+        } finally {
+            this.closer = null;
+            if (!drained) {
+                this.closed = false;
+            }
+        }
+    }
+
+    /**
+     * Reopens this gate to new entrants.
+     */
+    public synchronized void open() {
+        this.closed = false;
+    }
+
+    private boolean isOccupied() {
+        // A stripe may be negative if an entrant exited from a different thread, but the sum of all stripes never undercounts current entrants.
+        // Entrants admitted prior to closing incremented their stripe before the closed flag was set, and entrants that increment afterwards back out via the same stripe.
+        long count = 0L;
+        for (int i = 1; i <= this.mask + 1; ++i) {
+            count += this.counters.get(i * PADDING);
+        }
+        return count > 0L;
+    }
+
+    private int index() {
+        return (((int) Thread.currentThread().getId() & this.mask) + 1) * PADDING;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.service.concurrent;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.wildfly.common.function.ExceptionRunnable;
+import org.wildfly.common.function.ExceptionSupplier;
+
+/**
+ * {@link ServiceExecutor} implemented via a {@link StripedGate}.
+ * Unlike {@link StampedLockServiceExecutor}, concurrent executions do not contend with each other.
+ * @author Paul Ferraro
+ */
+public class StripedServiceExecutor implements ServiceExecutor {
+
+    private final StripedGate gate = new StripedGate();
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    @Override
+    public void execute(Runnable executeTask) {
+        if (this.gate.tryEnter()) {
+            try {
+                executeTask.run();
+            } finally {
+                this.gate.exit();
+            }
+        }
+    }
+
+    @Override
+    public <E extends Exception> void execute(ExceptionRunnable<E> executeTask) throws E {
+        if (this.gate.tryEnter()) {
+            try {
+                executeTask.run();
+            } finally {
+                this.gate.exit();
+            }
+        }
+    }
+
+    @Override
+    public <R> Optional<R> execute(Supplier<R> executeTask) {
+        if (this.gate.tryEnter()) {
+            try {
+                return Optional.of(executeTask.get());
+            } finally {
+                this.gate.exit();
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public <R, E extends Exception> Optional<R> execute(ExceptionSupplier<R, E> executeTask) throws E {
+        if (this.gate.tryEnter()) {
+            try {
+                return Optional.of(executeTask.get());
+            } finally {
+                this.gate.exit();
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public void close(Runnable closeTask) {
+        // Allow only one thread to close
+        if (this.closed.compareAndSet(false, true)) {
+            this.gate.close();
+            closeTask.run();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.service.concurrent;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link StripedGate}.
+ * @author Paul Ferraro
+ */
+public class StripedGateTestCase {
+
+    @Test
+    public void close() throws InterruptedException, ExecutionException, TimeoutException {
+        StripedGate gate = new StripedGate(4);
+
+        assertFalse(gate.isClosed());
+        assertTrue(gate.tryEnter());
+        assertTrue(gate.tryEnter());
+
+        ExecutorService service = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> closeFuture = service.submit(() -> gate.close());
+
+            // Verify that close is blocked by current entrants
+            try {
+                closeFuture.get(100, TimeUnit.MILLISECONDS);
+                fail("Close should wait for current entrants");
+            } catch (TimeoutException e) {
+                // Expected
+            }
+            assertTrue(gate.isClosed());
+            assertFalse(gate.tryEnter());
+
+            gate.exit();
+            // Entrants may exit from a different thread
+            service.submit(() -> gate.exit()).get();
+
+            closeFuture.get(10, TimeUnit.SECONDS);
+        } finally {
+            service.shutdownNow();
+        }
+
+        assertFalse(gate.tryEnter());
+
+        gate.open();
+
+        assertFalse(gate.isClosed());
+        assertTrue(gate.tryEnter());
+        gate.exit();
+    }
+
+    @Test
+    public void timedClose() throws InterruptedException {
+        StripedGate gate = new StripedGate();
+
+        assertTrue(gate.close(0, TimeUnit.SECONDS));
+        assertFalse(gate.tryEnter());
+
+        gate.open();
+
+        assertTrue(gate.tryEnter());
+
+        // Gate should reopen if current entrants do not exit in time
+        assertFalse(gate.close(10, TimeUnit.MILLISECONDS));
+        assertFalse(gate.isClosed());
+        assertTrue(gate.tryEnter());
+
+        gate.exit();
+        gate.exit();
+
+        assertTrue(gate.close(0, TimeUnit.SECONDS));
+        assertFalse(gate.tryEnter());
+    }
+}
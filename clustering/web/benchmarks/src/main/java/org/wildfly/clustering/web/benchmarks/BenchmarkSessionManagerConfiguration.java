@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.benchmarks;
+
+import java.util.UUID;
+
+import org.wildfly.clustering.ee.Recordable;
+import org.wildfly.clustering.web.IdentifierFactory;
+import org.wildfly.clustering.web.session.ImmutableSession;
+import org.wildfly.clustering.web.session.SessionExpirationListener;
+import org.wildfly.clustering.web.session.SessionManagerConfiguration;
+
+/**
+ * Session manager configuration of the benchmarked deployment.
+ * @author Paul Ferraro
+ */
+public enum BenchmarkSessionManagerConfiguration implements SessionManagerConfiguration<Void>, IdentifierFactory<String>, SessionExpirationListener {
+    INSTANCE;
+
+    @Override
+    public Void getServletContext() {
+        return null;
+    }
+
+    @Override
+    public IdentifierFactory<String> getIdentifierFactory() {
+        return this;
+    }
+
+    @Override
+    public SessionExpirationListener getExpirationListener() {
+        return this;
+    }
+
+    @Override
+    public Recordable<ImmutableSession> getInactiveSessionRecorder() {
+        return null;
+    }
+
+    @Override
+    public String createIdentifier() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Override
+    public void start() {
+        // Do nothing
+    }
+
+    @Override
+    public void stop() {
+        // Do nothing
+    }
+
+    @Override
+    public void sessionExpired(ImmutableSession session) {
+        // Do nothing
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.benchmarks;
+
+import java.util.EnumSet;
+
+import org.wildfly.clustering.ee.Immutability;
+import org.wildfly.clustering.ee.immutable.CompositeImmutability;
+import org.wildfly.clustering.ee.immutable.DefaultImmutability;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamByteBufferMarshaller;
+import org.wildfly.clustering.marshalling.protostream.SerializationContextBuilder;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValueFactory;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+import org.wildfly.clustering.marshalling.spi.MarshalledValueFactory;
+import org.wildfly.clustering.web.LocalContextFactory;
+import org.wildfly.clustering.web.benchmarks.BenchmarkSpecificationProvider.SessionActivationListener;
+import org.wildfly.clustering.web.session.DistributableSessionManagementConfiguration;
+import org.wildfly.clustering.web.session.ImmutableSession;
+import org.wildfly.clustering.web.session.SessionAttributePersistenceStrategy;
+import org.wildfly.clustering.web.session.SessionManagerFactoryConfiguration;
+import org.wildfly.clustering.web.session.SpecificationProvider;
+
+/**
+ * Session manager factory configuration of the benchmarked deployment, common to all topologies.
+ * Session attributes are marshalled via ProtoStream, the only marshaller supported by every topology.
+ * @author Paul Ferraro
+ */
+public class BenchmarkSessionManagerFactoryConfiguration implements SessionManagerFactoryConfiguration<ImmutableSession, Void, SessionActivationListener, ByteBufferMarshaller, Void>, DistributableSessionManagementConfiguration, LocalContextFactory<Void> {
+
+    static final String SERVER_NAME = "benchmark";
+    static final String DEPLOYMENT_NAME = "benchmark.war";
+
+    private final SessionAttributePersistenceStrategy strategy;
+    private final Immutability immutability = new CompositeImmutability(EnumSet.allOf(DefaultImmutability.class));
+    private final MarshalledValueFactory<ByteBufferMarshaller> factory;
+
+    public BenchmarkSessionManagerFactoryConfiguration(SessionAttributePersistenceStrategy strategy) {
+        this.strategy = strategy;
+        ClassLoader loader = BenchmarkSessionManagerFactoryConfiguration.class.getClassLoader();
+        this.factory = new ByteBufferMarshalledValueFactory(new ProtoStreamByteBufferMarshaller(new SerializationContextBuilder().register(loader).build()), this.immutability);
+    }
+
+    @Override
+    public SessionAttributePersistenceStrategy getAttributePersistenceStrategy() {
+        return this.strategy;
+    }
+
+    @Override
+    public String getServerName() {
+        return SERVER_NAME;
+    }
+
+    @Override
+    public String getDeploymentName() {
+        return DEPLOYMENT_NAME;
+    }
+
+    @Override
+    public Integer getMaxActiveSessions() {
+        return null;
+    }
+
+    @Override
+    public MarshalledValueFactory<ByteBufferMarshaller> getMarshalledValueFactory() {
+        return this.factory;
+    }
+
+    @Override
+    public LocalContextFactory<Void> getLocalContextFactory() {
+        return this;
+    }
+
+    @Override
+    public Void createLocalContext() {
+        return null;
+    }
+
+    @Override
+    public Immutability getImmutability() {
+        return this.immutability;
+    }
+
+    @Override
+    public SpecificationProvider<ImmutableSession, Void, SessionActivationListener> getSpecificationProvider() {
+        return BenchmarkSpecificationProvider.INSTANCE;
+    }
+}
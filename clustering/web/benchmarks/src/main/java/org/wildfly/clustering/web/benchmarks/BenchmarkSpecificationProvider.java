@@ -0,0 +1,81 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.benchmarks;
+
+import java.util.function.Consumer;
+
+import org.wildfly.clustering.web.benchmarks.BenchmarkSpecificationProvider.SessionActivationListener;
+import org.wildfly.clustering.web.session.ImmutableSession;
+import org.wildfly.clustering.web.session.SpecificationProvider;
+
+/**
+ * Servlet-free {@link SpecificationProvider} that exposes the session itself as the specification session.
+ * @author Paul Ferraro
+ */
+public enum BenchmarkSpecificationProvider implements SpecificationProvider<ImmutableSession, Void, SessionActivationListener> {
+    INSTANCE;
+
+    /**
+     * Analogue of an HttpSessionActivationListener.
+     */
+    public interface SessionActivationListener {
+        void sessionWillPassivate(ImmutableSession session);
+
+        void sessionDidActivate(ImmutableSession session);
+    }
+
+    @Override
+    public ImmutableSession createHttpSession(ImmutableSession session, Void context) {
+        return session;
+    }
+
+    @Override
+    public Class<SessionActivationListener> getHttpSessionActivationListenerClass() {
+        return SessionActivationListener.class;
+    }
+
+    @Override
+    public Consumer<ImmutableSession> prePassivateNotifier(SessionActivationListener listener) {
+        return listener::sessionWillPassivate;
+    }
+
+    @Override
+    public Consumer<ImmutableSession> postActivateNotifier(SessionActivationListener listener) {
+        return listener::sessionDidActivate;
+    }
+
+    @Override
+    public SessionActivationListener createListener(Consumer<ImmutableSession> prePassivate, Consumer<ImmutableSession> postActivate) {
+        return new SessionActivationListener() {
+            @Override
+            public void sessionWillPassivate(ImmutableSession session) {
+                prePassivate.accept(session);
+            }
+
+            @Override
+            public void sessionDidActivate(ImmutableSession session) {
+                postActivate.accept(session);
+            }
+        };
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.infinispan.client.hotrod.configuration.NearCacheMode;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.configuration.global.ShutdownHookBehavior;
+import org.infinispan.manager.DefaultCacheManager;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.server.hotrod.HotRodServer;
+import org.infinispan.server.hotrod.configuration.HotRodServerConfigurationBuilder;
+import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
+import org.wildfly.clustering.infinispan.marshalling.protostream.ProtoStreamMarshaller;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+import org.wildfly.clustering.web.benchmarks.BenchmarkSpecificationProvider.SessionActivationListener;
+import org.wildfly.clustering.web.hotrod.session.HotRodSessionManagerFactory;
+import org.wildfly.clustering.web.hotrod.session.HotRodSessionManagerFactoryConfiguration;
+import org.wildfly.clustering.web.session.ImmutableSession;
+import org.wildfly.clustering.web.session.SessionAttributePersistenceStrategy;
+import org.wildfly.clustering.web.session.SessionManager;
+import org.wildfly.clustering.web.session.SessionManagerFactory;
+
+/**
+ * Session manager backed by a HotRod client of a HotRod server running within this JVM, listening on the loopback interface.
+ * The remote cache is configured like a deployment's remote cache, i.e. non-transactional, with an invalidated near cache, without forced return values.
+ * @author Paul Ferraro
+ */
+public class HotRodSessionManagerEnvironment implements SessionManagerEnvironment {
+
+    // Large enough to retain the meta data and attributes of all benchmarked sessions
+    private static final int NEAR_CACHE_MAX_ENTRIES = 100_000;
+
+    private final EmbeddedCacheManager serverManager;
+    private final HotRodServer server = new HotRodServer();
+    private final RemoteCacheManager clientManager;
+    private final SessionManagerFactory<Void, Void, TransactionBatch> factory;
+    private final SessionManager<Void, TransactionBatch> manager;
+
+    public HotRodSessionManagerEnvironment(SessionAttributePersistenceStrategy strategy) {
+        ClassLoader loader = HotRodSessionManagerEnvironment.class.getClassLoader();
+        InetAddress address = InetAddress.getLoopbackAddress();
+        int port = findAvailablePort(address);
+
+        GlobalConfigurationBuilder global = new GlobalConfigurationBuilder();
+        global.shutdown().hookBehavior(ShutdownHookBehavior.DONT_REGISTER);
+        this.serverManager = new DefaultCacheManager(global.build());
+        this.serverManager.defineConfiguration(BenchmarkSessionManagerFactoryConfiguration.DEPLOYMENT_NAME, new org.infinispan.configuration.cache.ConfigurationBuilder().build());
+        this.server.start(new HotRodServerConfigurationBuilder().host(address.getHostAddress()).port(port).build(), this.serverManager);
+
+        ConfigurationBuilder builder = new ConfigurationBuilder();
+        builder.addServer().host(address.getHostAddress()).port(port);
+        builder.marshaller(new ProtoStreamMarshaller(loader));
+        builder.remoteCache(BenchmarkSessionManagerFactoryConfiguration.DEPLOYMENT_NAME).forceReturnValues(false).nearCacheMode(NearCacheMode.INVALIDATED).nearCacheMaxEntries(NEAR_CACHE_MAX_ENTRIES);
+        this.clientManager = new RemoteCacheManager(builder.build());
+
+        RemoteCache<?, ?> cache = this.clientManager.getCache(BenchmarkSessionManagerFactoryConfiguration.DEPLOYMENT_NAME);
+        this.factory = new HotRodSessionManagerFactory<>(new HotRodBenchmarkSessionManagerFactoryConfiguration(strategy, cache));
+        this.manager = this.factory.createSessionManager(BenchmarkSessionManagerConfiguration.INSTANCE);
+        this.manager.start();
+    }
+
+    private static int findAvailablePort(InetAddress address) {
+        try (ServerSocket socket = new ServerSocket(0, 0, address)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public SessionManager<Void, TransactionBatch> getSessionManager() {
+        return this.manager;
+    }
+
+    @Override
+    public void close() {
+        this.manager.stop();
+        this.factory.close();
+        this.clientManager.stop();
+        this.server.stop();
+        this.serverManager.stop();
+    }
+
+    private static class HotRodBenchmarkSessionManagerFactoryConfiguration extends BenchmarkSessionManagerFactoryConfiguration implements HotRodSessionManagerFactoryConfiguration<ImmutableSession, Void, SessionActivationListener, ByteBufferMarshaller, Void> {
+        private final RemoteCache<?, ?> cache;
+
+        HotRodBenchmarkSessionManagerFactoryConfiguration(SessionAttributePersistenceStrategy strategy, RemoteCache<?, ?> cache) {
+            super(strategy);
+            this.cache = cache;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <CK, CV> RemoteCache<CK, CV> getCache() {
+            return (RemoteCache<CK, CV>) this.cache;
+        }
+    }
+}
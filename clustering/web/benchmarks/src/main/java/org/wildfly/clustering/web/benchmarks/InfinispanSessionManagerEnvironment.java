@@ -0,0 +1,173 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+import org.infinispan.Cache;
+import org.infinispan.commons.dataconversion.MediaType;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.GroupsConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.configuration.global.ShutdownHookBehavior;
+import org.infinispan.distribution.group.Grouper;
+import org.infinispan.manager.DefaultCacheManager;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.remoting.transport.jgroups.JGroupsTransport;
+import org.infinispan.transaction.LockingMode;
+import org.infinispan.transaction.TransactionMode;
+import org.infinispan.transaction.lookup.EmbeddedTransactionManagerLookup;
+import org.infinispan.util.concurrent.IsolationLevel;
+import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
+import org.wildfly.clustering.infinispan.marshalling.protostream.IOSerializationContextInitializer;
+import org.wildfly.clustering.infinispan.marshalling.protostream.ProtoStreamMarshaller;
+import org.wildfly.clustering.infinispan.spi.affinity.KeyAffinityServiceFactory;
+import org.wildfly.clustering.infinispan.spi.affinity.SegmentKeyAffinityService;
+import org.wildfly.clustering.infinispan.spi.metadata.MetadataSerializationContextInitializer;
+import org.wildfly.clustering.marshalling.protostream.SerializationContextBuilder;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+import org.wildfly.clustering.server.dispatcher.LocalCommandDispatcherFactory;
+import org.wildfly.clustering.server.group.LocalCacheGroup;
+import org.wildfly.clustering.spi.NodeFactory;
+import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
+import org.wildfly.clustering.web.benchmarks.BenchmarkSpecificationProvider.SessionActivationListener;
+import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagerFactory;
+import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagerFactoryConfiguration;
+import org.wildfly.clustering.web.session.ImmutableSession;
+import org.wildfly.clustering.web.session.SessionAttributePersistenceStrategy;
+import org.wildfly.clustering.web.session.SessionManager;
+import org.wildfly.clustering.web.session.SessionManagerFactory;
+
+/**
+ * Session manager backed by an embedded cache, configured like the default "web" cache container, i.e. a pessimistic, batching, repeatable-read cache.
+ * Clustered cache modes form a two member cluster within this JVM, communicating via TCP on the loopback interface, so that remote operations incur real marshalling and network costs.
+ * Expiration scheduling is always local to the benchmarking member.
+ * @author Paul Ferraro
+ */
+public class InfinispanSessionManagerEnvironment implements SessionManagerEnvironment {
+
+    private static final String CLUSTER_NAME = "benchmark";
+    private static final String JGROUPS_CONFIGURATION = "benchmark-jgroups.xml";
+
+    private final List<EmbeddedCacheManager> managers = new ArrayList<>(2);
+    private final SessionManagerFactory<Void, Void, TransactionBatch> factory;
+    private final SessionManager<Void, TransactionBatch> manager;
+
+    public InfinispanSessionManagerEnvironment(CacheMode mode, SessionAttributePersistenceStrategy strategy) {
+        ClassLoader loader = InfinispanSessionManagerEnvironment.class.getClassLoader();
+        int members = mode.isClustered() ? 2 : 1;
+        for (int i = 0; i < members; ++i) {
+            GlobalConfigurationBuilder global = new GlobalConfigurationBuilder();
+            global.cacheManagerName("node" + i);
+            if (mode.isClustered()) {
+                global.transport().defaultTransport().clusterName(CLUSTER_NAME).nodeName("node" + i).addProperty(JGroupsTransport.CONFIGURATION_FILE, JGROUPS_CONFIGURATION);
+            }
+            global.serialization().marshaller(new ProtoStreamMarshaller(new SerializationContextBuilder().register(new MetadataSerializationContextInitializer(), new IOSerializationContextInitializer()).register(loader).build()));
+            global.classLoader(loader);
+            global.shutdown().hookBehavior(ShutdownHookBehavior.DONT_REGISTER);
+
+            ConfigurationBuilder builder = new ConfigurationBuilder();
+            builder.clustering().cacheMode(mode);
+            builder.locking().isolationLevel(IsolationLevel.REPEATABLE_READ);
+            builder.transaction().transactionMode(TransactionMode.TRANSACTIONAL).lockingMode(LockingMode.PESSIMISTIC).transactionManagerLookup(new EmbeddedTransactionManagerLookup());
+            builder.encoding().mediaType(MediaType.APPLICATION_OBJECT_TYPE);
+            GroupsConfigurationBuilder groups = builder.clustering().hash().groups().enabled();
+            for (Grouper<?> grouper : ServiceLoader.load(Grouper.class, loader)) {
+                groups.addGrouper(grouper);
+            }
+
+            EmbeddedCacheManager manager = new DefaultCacheManager(global.build(), false);
+            manager.defineConfiguration(BenchmarkSessionManagerFactoryConfiguration.DEPLOYMENT_NAME, builder.build());
+            this.managers.add(manager);
+        }
+        // Start cache managers concurrently, since each blocks until the cluster forms
+        this.managers.parallelStream().forEach(manager -> {
+            manager.start();
+            manager.getCache(BenchmarkSessionManagerFactoryConfiguration.DEPLOYMENT_NAME);
+        });
+
+        Cache<?, ?> cache = this.managers.get(0).getCache(BenchmarkSessionManagerFactoryConfiguration.DEPLOYMENT_NAME);
+        LocalCacheGroup group = new LocalCacheGroup(cache.getCacheManager().getCacheManagerConfiguration().cacheManagerName());
+        CommandDispatcherFactory dispatcherFactory = new LocalCommandDispatcherFactory(group);
+        KeyAffinityServiceFactory affinityFactory = SegmentKeyAffinityService::new;
+
+        InfinispanSessionManagerFactoryConfiguration<ImmutableSession, Void, SessionActivationListener, ByteBufferMarshaller, Void> configuration = new InfinispanBenchmarkSessionManagerFactoryConfiguration(strategy, cache, affinityFactory, dispatcherFactory, group);
+        this.factory = new InfinispanSessionManagerFactory<>(configuration);
+        this.manager = this.factory.createSessionManager(BenchmarkSessionManagerConfiguration.INSTANCE);
+        this.manager.start();
+    }
+
+    @Override
+    public SessionManager<Void, TransactionBatch> getSessionManager() {
+        return this.manager;
+    }
+
+    @Override
+    public void close() {
+        this.manager.stop();
+        this.factory.close();
+        for (EmbeddedCacheManager manager : this.managers) {
+            manager.stop();
+        }
+    }
+
+    private static class InfinispanBenchmarkSessionManagerFactoryConfiguration extends BenchmarkSessionManagerFactoryConfiguration implements InfinispanSessionManagerFactoryConfiguration<ImmutableSession, Void, SessionActivationListener, ByteBufferMarshaller, Void> {
+        private final Cache<?, ?> cache;
+        private final KeyAffinityServiceFactory affinityFactory;
+        private final CommandDispatcherFactory dispatcherFactory;
+        private final NodeFactory<Address> memberFactory;
+
+        InfinispanBenchmarkSessionManagerFactoryConfiguration(SessionAttributePersistenceStrategy strategy, Cache<?, ?> cache, KeyAffinityServiceFactory affinityFactory, CommandDispatcherFactory dispatcherFactory, NodeFactory<Address> memberFactory) {
+            super(strategy);
+            this.cache = cache;
+            this.affinityFactory = affinityFactory;
+            this.dispatcherFactory = dispatcherFactory;
+            this.memberFactory = memberFactory;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <K, V> Cache<K, V> getCache() {
+            return (Cache<K, V>) this.cache;
+        }
+
+        @Override
+        public KeyAffinityServiceFactory getKeyAffinityServiceFactory() {
+            return this.affinityFactory;
+        }
+
+        @Override
+        public CommandDispatcherFactory getCommandDispatcherFactory() {
+            return this.dispatcherFactory;
+        }
+
+        @Override
+        public NodeFactory<Address> getMemberFactory() {
+            return this.memberFactory;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.benchmarks;
+
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wildfly.clustering.ee.Batcher;
+import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
+import org.wildfly.clustering.web.session.Session;
+import org.wildfly.clustering.web.session.SessionAttributePersistenceStrategy;
+import org.wildfly.clustering.web.session.SessionManager;
+
+/**
+ * Measures the latency distribution of the requests made by a web container against a distributable session manager.
+ * Each benchmark method corresponds to a single request, i.e. a batch enclosing the lookup, use, and close of a session.
+ * Latency percentiles are reported via sample time mode; allocation per request is reported when run with the gc profiler, i.e. <code>-prof gc</code>.
+ * @author Paul Ferraro
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class SessionManagerBenchmark {
+
+    private static final String ATTRIBUTE_NAME = "attribute-";
+
+    @Param
+    private Topology topology;
+
+    @Param
+    private SessionAttributePersistenceStrategy strategy;
+
+    // Number of pre-existing sessions
+    @Param("1000")
+    private int sessions;
+
+    // Number of attributes per session
+    @Param("10")
+    private int attributes;
+
+    private SessionManagerEnvironment environment;
+    private SessionManager<Void, TransactionBatch> manager;
+    private Batcher<TransactionBatch> batcher;
+    private String[] ids;
+
+    @Setup
+    public void setup() {
+        this.environment = this.topology.apply(this.strategy);
+        this.manager = this.environment.getSessionManager();
+        this.batcher = this.manager.getBatcher();
+        this.ids = new String[this.sessions];
+        for (int i = 0; i < this.sessions; ++i) {
+            this.ids[i] = this.createSession();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.environment.close();
+    }
+
+    /**
+     * Tracks the sessions created by a given thread, so that they can be invalidated between iterations.
+     */
+    @State(Scope.Thread)
+    public static class CreatedSessions {
+        final Queue<String> ids = new LinkedList<>();
+
+        @TearDown(Level.Iteration)
+        public void tearDown(SessionManagerBenchmark benchmark) {
+            String id = this.ids.poll();
+            while (id != null) {
+                benchmark.invalidateSession(id);
+                id = this.ids.poll();
+            }
+        }
+    }
+
+    /**
+     * Request that creates and populates a new session.
+     */
+    @Benchmark
+    public String createSession(CreatedSessions sessions) {
+        String id = this.createSession();
+        sessions.ids.add(id);
+        return id;
+    }
+
+    /**
+     * Request that reads a single attribute of an existing session.
+     */
+    @Benchmark
+    public Object getAttribute() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try (TransactionBatch batch = this.batcher.createBatch()) {
+            Session<Void> session = this.manager.findSession(this.ids[random.nextInt(this.sessions)]);
+            try {
+                return session.getAttributes().getAttribute(ATTRIBUTE_NAME + random.nextInt(this.attributes));
+            } finally {
+                session.close();
+            }
+        }
+    }
+
+    /**
+     * Request that replaces a single attribute of an existing session.
+     */
+    @Benchmark
+    public Object setAttribute() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try (TransactionBatch batch = this.batcher.createBatch()) {
+            Session<Void> session = this.manager.findSession(this.ids[random.nextInt(this.sessions)]);
+            try {
+                return session.getAttributes().setAttribute(ATTRIBUTE_NAME + random.nextInt(this.attributes), Long.toString(random.nextLong()));
+            } finally {
+                session.close();
+            }
+        }
+    }
+
+    private String createSession() {
+        String id = this.manager.createIdentifier();
+        try (TransactionBatch batch = this.batcher.createBatch()) {
+            Session<Void> session = this.manager.createSession(id);
+            try {
+                for (int i = 0; i < this.attributes; ++i) {
+                    session.getAttributes().setAttribute(ATTRIBUTE_NAME + i, Integer.toString(i));
+                }
+            } finally {
+                session.close();
+            }
+        }
+        return id;
+    }
+
+    void invalidateSession(String id) {
+        try (TransactionBatch batch = this.batcher.createBatch()) {
+            Session<Void> session = this.manager.findSession(id);
+            if (session != null) {
+                session.invalidate();
+            }
+        }
+    }
+}
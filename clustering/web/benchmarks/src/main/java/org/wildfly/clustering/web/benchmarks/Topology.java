@@ -0,0 +1,56 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.benchmarks;
+
+import java.util.function.Function;
+
+import org.infinispan.configuration.cache.CacheMode;
+import org.wildfly.clustering.web.session.SessionAttributePersistenceStrategy;
+
+/**
+ * Enumerates the benchmarked cache topologies backing a session manager.
+ * @author Paul Ferraro
+ */
+public enum Topology implements Function<SessionAttributePersistenceStrategy, SessionManagerEnvironment> {
+
+    LOCAL(CacheMode.LOCAL),
+    REPLICATED(CacheMode.REPL_SYNC),
+    DISTRIBUTED(CacheMode.DIST_SYNC),
+    HOTROD(null) {
+        @Override
+        public SessionManagerEnvironment apply(SessionAttributePersistenceStrategy strategy) {
+            return new HotRodSessionManagerEnvironment(strategy);
+        }
+    },
+    ;
+    private final CacheMode mode;
+
+    Topology(CacheMode mode) {
+        this.mode = mode;
+    }
+
+    @Override
+    public SessionManagerEnvironment apply(SessionAttributePersistenceStrategy strategy) {
+        return new InfinispanSessionManagerEnvironment(this.mode, strategy);
+    }
+}
@@ -22,7 +22,11 @@
 
 package org.wildfly.clustering.web.cache.logging;
 
+import static org.jboss.logging.Logger.Level.WARN;
+
 import org.jboss.logging.BasicLogger;
+import org.jboss.logging.annotations.Cause;
+import org.jboss.logging.annotations.LogMessage;
 import org.jboss.logging.annotations.Message;
 import org.jboss.logging.annotations.MessageLogger;
 
@@ -37,4 +41,8 @@ public interface Logger extends BasicLogger {
 
     @Message(id = 1, value = "Session %s is not valid")
     IllegalStateException invalidSession(String sessionId);
+
+    @LogMessage(level = WARN)
+    @Message(id = 2, value = "Failed to activate attribute %2$s of session %1$s")
+    void failedToActivateSessionAttribute(@Cause Throwable cause, String sessionId, String attribute);
 }
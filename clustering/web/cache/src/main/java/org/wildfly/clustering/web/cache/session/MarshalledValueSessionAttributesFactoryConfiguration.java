@@ -22,13 +22,19 @@
 
 package org.wildfly.clustering.web.cache.session;
 
+import java.nio.ByteBuffer;
+import java.util.function.BiFunction;
+
 import org.wildfly.clustering.ee.Immutability;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValueFactory;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
 import org.wildfly.clustering.marshalling.spi.MarshalledValue;
 import org.wildfly.clustering.marshalling.spi.MarshalledValueFactory;
 import org.wildfly.clustering.marshalling.spi.MarshalledValueMarshaller;
 import org.wildfly.clustering.marshalling.spi.Marshaller;
 import org.wildfly.clustering.web.session.HttpSessionActivationListenerProvider;
 import org.wildfly.clustering.web.session.SessionManagerFactoryConfiguration;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Configuration for a factory for creating {@link SessionAttributes} objects, based on marshalled values.
@@ -41,15 +47,39 @@ import org.wildfly.clustering.web.session.SessionManagerFactoryConfiguration;
  * @param <LC> the local context type
  */
 public abstract class MarshalledValueSessionAttributesFactoryConfiguration<S, SC, AL, V, MC, LC> implements SessionAttributesFactoryConfiguration<S, SC, AL, V, MarshalledValue<V, MC>> {
+    public static final String LAZY_ATTRIBUTE_ACTIVATION_PROPERTY = "jboss.clustering.web.session.lazy-attribute-activation";
+    /**
+     * System property that enables detection of whether a mutable session attribute, i.e. one that is not known to be immutable, was actually modified by a request that accessed it.
+     * When "true", the serialized form of a mutable session attribute (for fine granularity), or of all session attributes (for coarse granularity), is captured when first accessed and compared to its serialized form when the request completes; the session attributes are only written if these differ.
+     * This trades an additional marshalling of each accessed mutable attribute for fewer cache writes, and is only supported by a marshaller operating on byte buffers, e.g. jboss or protostream; otherwise, this property is ignored.
+     * Defaults to "false", in which case any access of a mutable session attribute triggers a cache write.
+     */
+    public static final String MUTATION_DETECTION_PROPERTY = "jboss.clustering.web.session.attribute-mutation-detection";
+
     private final Immutability immutability;
     private final Marshaller<V, MarshalledValue<V, MC>> marshaller;
     private final HttpSessionActivationListenerProvider<S, SC, AL> provider;
+    private final boolean lazy;
+    private final Marshaller<Object, ByteBuffer> mutationDetectionMarshaller;
+    private final BiFunction<V, ByteBuffer, MarshalledValue<V, MC>> mutationDetectionWriter;
 
     protected MarshalledValueSessionAttributesFactoryConfiguration(SessionManagerFactoryConfiguration<S, SC, AL, MC, LC> configuration) {
         MarshalledValueFactory<MC> factory = configuration.getMarshalledValueFactory();
         this.immutability = configuration.getImmutability();
         this.marshaller = new MarshalledValueMarshaller<>(factory);
         this.provider = configuration.getSpecificationProvider();
+        this.lazy = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(LAZY_ATTRIBUTE_ACTIVATION_PROPERTY, Boolean.FALSE.toString()));
+        MC context = factory.getMarshallingContext();
+        // Mutation detection requires access to the serialized form of an attribute
+        boolean mutationDetection = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(MUTATION_DETECTION_PROPERTY, Boolean.FALSE.toString()));
+        this.mutationDetectionMarshaller = (mutationDetection && (context instanceof ByteBufferMarshaller)) ? (ByteBufferMarshaller) context : null;
+        // Reuse the serialized form of a modified attribute as the written value, if produced by the same marshaller
+        this.mutationDetectionWriter = ((this.mutationDetectionMarshaller != null) && (factory instanceof ByteBufferMarshalledValueFactory)) ? createMutationDetectionWriter((ByteBufferMarshalledValueFactory) factory) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V, MC> BiFunction<V, ByteBuffer, MarshalledValue<V, MC>> createMutationDetectionWriter(ByteBufferMarshalledValueFactory factory) {
+        return (value, buffer) -> (MarshalledValue<V, MC>) (MarshalledValue<V, ?>) factory.createMarshalledValue(value, buffer);
     }
 
     @Override
@@ -66,4 +96,19 @@ public abstract class MarshalledValueSessionAttributesFactoryConfiguration<S, SC
     public HttpSessionActivationListenerProvider<S, SC, AL> getHttpSessionActivationListenerProvider() {
         return this.provider;
     }
+
+    @Override
+    public boolean isLazyAttributeActivation() {
+        return this.lazy;
+    }
+
+    @Override
+    public Marshaller<Object, ByteBuffer> getMutationDetectionMarshaller() {
+        return this.mutationDetectionMarshaller;
+    }
+
+    @Override
+    public BiFunction<V, ByteBuffer, MarshalledValue<V, MC>> getMutationDetectionWriter() {
+        return this.mutationDetectionWriter;
+    }
 }
\ No newline at end of file
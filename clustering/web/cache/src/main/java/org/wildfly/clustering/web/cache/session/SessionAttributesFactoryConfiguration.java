@@ -22,6 +22,9 @@
 
 package org.wildfly.clustering.web.cache.session;
 
+import java.nio.ByteBuffer;
+import java.util.function.BiFunction;
+
 import org.wildfly.clustering.ee.Immutability;
 import org.wildfly.clustering.ee.cache.CacheProperties;
 import org.wildfly.clustering.marshalling.spi.Marshaller;
@@ -41,4 +44,28 @@ public interface SessionAttributesFactoryConfiguration<S, C, L, V, SV> {
     CacheProperties getCacheProperties();
     Immutability getImmutability();
     HttpSessionActivationListenerProvider<S, C, L> getHttpSessionActivationListenerProvider();
+
+    /**
+     * Indicates whether session attributes should be read lazily, i.e. upon {@link org.wildfly.clustering.web.session.ImmutableSessionAttributes#getAttribute(String)}, rather than validated when the session is found.
+     * @return true, if session attributes should be read lazily, false otherwise
+     */
+    default boolean isLazyAttributeActivation() {
+        return false;
+    }
+
+    /**
+     * Returns a marshaller used to detect whether a mutable session attribute was actually modified, by comparing its serialized form when accessed with its serialized form when the session is closed.
+     * @return a marshaller, or null, if every accessed mutable session attribute should be considered modified
+     */
+    default Marshaller<Object, ByteBuffer> getMutationDetectionMarshaller() {
+        return null;
+    }
+
+    /**
+     * Returns a function that creates the serialized form of a modified session attribute from the serialized form already computed by the {@link #getMutationDetectionMarshaller()}, such that it need not be marshalled again when written.
+     * @return a function, or null, if a modified session attribute should be marshalled again when written
+     */
+    default BiFunction<V, ByteBuffer, SV> getMutationDetectionWriter() {
+        return null;
+    }
 }
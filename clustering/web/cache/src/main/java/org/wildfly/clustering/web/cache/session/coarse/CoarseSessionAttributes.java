@@ -21,14 +21,18 @@
  */
 package org.wildfly.clustering.web.cache.session.coarse;
 
+import java.io.IOException;
 import java.io.NotSerializableException;
+import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 import org.wildfly.clustering.ee.Immutability;
 import org.wildfly.clustering.ee.Mutator;
 import org.wildfly.clustering.ee.cache.CacheProperties;
 import org.wildfly.clustering.marshalling.spi.Marshallability;
+import org.wildfly.clustering.marshalling.spi.Marshaller;
 import org.wildfly.clustering.web.cache.session.SessionActivationNotifier;
 import org.wildfly.clustering.web.cache.session.SessionAttributes;
 
@@ -43,9 +47,28 @@ public class CoarseSessionAttributes extends CoarseImmutableSessionAttributes im
     private final Immutability immutability;
     private final CacheProperties properties;
     private final SessionActivationNotifier notifier;
+    private final Marshaller<Object, ByteBuffer> mutationDetectionMarshaller;
+    private final Function<ByteBuffer, Mutator> mutationDetectionMutatorFactory;
     private final AtomicBoolean dirty = new AtomicBoolean(false);
+    // Serialized form of the attributes prior to the first access of a mutable attribute
+    private volatile ByteBuffer snapshot;
 
     public CoarseSessionAttributes(Map<String, Object> attributes, Mutator mutator, Marshallability marshallability, Immutability immutability, CacheProperties properties, SessionActivationNotifier notifier) {
+        this(attributes, mutator, marshallability, immutability, properties, notifier, null, null);
+    }
+
+    /**
+     * Creates session attributes that detect whether an accessed mutable attribute was actually modified, by comparing the serialized form of the attributes.
+     * @param attributes the session attributes
+     * @param mutator a mutator that writes the session attributes
+     * @param marshallability determines whether an attribute is marshallable
+     * @param immutability determines whether an attribute is immutable
+     * @param properties the cache properties
+     * @param notifier a session activation notifier, or null
+     * @param mutationDetectionMarshaller a marshaller of the session attributes used to detect mutations, or null, if any access of a mutable attribute should trigger a mutation
+     * @param mutationDetectionMutatorFactory a factory of a mutator that writes the specified serialized form of the modified session attributes, or null, if the specified mutator should be used
+     */
+    public CoarseSessionAttributes(Map<String, Object> attributes, Mutator mutator, Marshallability marshallability, Immutability immutability, CacheProperties properties, SessionActivationNotifier notifier, Marshaller<Object, ByteBuffer> mutationDetectionMarshaller, Function<ByteBuffer, Mutator> mutationDetectionMutatorFactory) {
         super(attributes);
         this.attributes = attributes;
         this.mutator = mutator;
@@ -53,6 +76,8 @@ public class CoarseSessionAttributes extends CoarseImmutableSessionAttributes im
         this.immutability = immutability;
         this.properties = properties;
         this.notifier = notifier;
+        this.mutationDetectionMarshaller = mutationDetectionMarshaller;
+        this.mutationDetectionMutatorFactory = mutationDetectionMutatorFactory;
         if (this.notifier != null) {
             this.notifier.postActivate();
         }
@@ -85,7 +110,10 @@ public class CoarseSessionAttributes extends CoarseImmutableSessionAttributes im
     public Object getAttribute(String name) {
         Object value = this.attributes.get(name);
         if (!this.immutability.test(value)) {
-            this.dirty.set(true);
+            // If we can detect mutations, capture serialized form before returning the first mutable attribute
+            if ((this.mutationDetectionMarshaller == null) || !this.snapshot()) {
+                this.dirty.set(true);
+            }
         }
         return value;
     }
@@ -97,6 +125,37 @@ public class CoarseSessionAttributes extends CoarseImmutableSessionAttributes im
         }
         if (this.dirty.compareAndSet(true, false)) {
             this.mutator.mutate();
+        } else {
+            this.mutateIfModified();
+        }
+        this.snapshot = null;
+    }
+
+    private synchronized boolean snapshot() {
+        if (this.snapshot == null) {
+            this.snapshot = this.serialize();
+        }
+        return this.snapshot != null;
+    }
+
+    private synchronized void mutateIfModified() {
+        ByteBuffer snapshot = this.snapshot;
+        if (snapshot != null) {
+            ByteBuffer current = this.serialize();
+            if (!snapshot.equals(current)) {
+                // Write the serialized form we just computed, rather than marshalling the attributes again
+                Mutator mutator = ((current != null) && (this.mutationDetectionMutatorFactory != null)) ? this.mutationDetectionMutatorFactory.apply(current) : this.mutator;
+                mutator.mutate();
+            }
+        }
+    }
+
+    private ByteBuffer serialize() {
+        try {
+            return this.mutationDetectionMarshaller.write(this.attributes);
+        } catch (IOException e) {
+            // Treat as mutated
+            return null;
         }
     }
 }
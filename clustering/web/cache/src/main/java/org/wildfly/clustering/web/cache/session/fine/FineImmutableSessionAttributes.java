@@ -29,6 +29,7 @@ import java.util.UUID;
 import java.util.function.Function;
 
 import org.wildfly.clustering.marshalling.spi.Marshaller;
+import org.wildfly.clustering.web.cache.logging.Logger;
 import org.wildfly.clustering.web.session.ImmutableSessionAttributes;
 
 /**
@@ -36,16 +37,20 @@ import org.wildfly.clustering.web.session.ImmutableSessionAttributes;
  * @author Paul Ferraro
  */
 public class FineImmutableSessionAttributes<K, V> implements ImmutableSessionAttributes {
+    private final String id;
     private final Map<String, UUID> names;
     private final Function<UUID, K> keyFactory;
     private final Map<K, V> attributeCache;
     private final Marshaller<Object, V> marshaller;
+    private final boolean lazy;
 
-    public FineImmutableSessionAttributes(Map<String, UUID> names, Function<UUID, K> keyFactory, Map<K, V> attributeCache, Marshaller<Object, V> marshaller) {
+    public FineImmutableSessionAttributes(String id, Map<String, UUID> names, Function<UUID, K> keyFactory, Map<K, V> attributeCache, Marshaller<Object, V> marshaller, boolean lazy) {
+        this.id = id;
         this.names = Collections.unmodifiableMap(names);
         this.keyFactory = keyFactory;
         this.attributeCache = attributeCache;
         this.marshaller = marshaller;
+        this.lazy = lazy;
     }
 
     @Override
@@ -58,14 +63,15 @@ public class FineImmutableSessionAttributes<K, V> implements ImmutableSessionAtt
         UUID attributeId = this.names.get(name);
         if (attributeId == null) return null;
         K key = this.keyFactory.apply(attributeId);
-        return this.read(this.attributeCache.get(key));
-    }
-
-    private Object read(V value) {
         try {
-            return this.marshaller.read(value);
+            return this.marshaller.read(this.attributeCache.get(key));
         } catch (IOException e) {
-            // This should not happen here, since attributes were pre-activated when session was constructed
+            // Attributes of lazily activated sessions are not validated in advance, thus may fail to unmarshal on demand
+            if (this.lazy) {
+                Logger.ROOT_LOGGER.failedToActivateSessionAttribute(e, this.id, name);
+                return null;
+            }
+            // Otherwise, this should not happen here, since attributes were pre-activated when session was constructed
             throw new IllegalStateException(e);
         }
     }
@@ -23,6 +23,7 @@ package org.wildfly.clustering.web.cache.session.fine;
 
 import java.io.IOException;
 import java.io.NotSerializableException;
+import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -30,6 +31,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import org.wildfly.clustering.ee.Immutability;
@@ -40,6 +42,7 @@ import org.wildfly.clustering.ee.cache.function.ConcurrentMapRemoveFunction;
 import org.wildfly.clustering.ee.cache.function.CopyOnWriteMapPutFunction;
 import org.wildfly.clustering.ee.cache.function.CopyOnWriteMapRemoveFunction;
 import org.wildfly.clustering.marshalling.spi.Marshaller;
+import org.wildfly.clustering.web.cache.logging.Logger;
 import org.wildfly.clustering.web.cache.session.SessionAttributeActivationNotifier;
 import org.wildfly.clustering.web.cache.session.SessionAttributes;
 
@@ -48,20 +51,27 @@ import org.wildfly.clustering.web.cache.session.SessionAttributes;
  * @author Paul Ferraro
  */
 public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
+    private final String id;
     private final NK key;
     private final Map<NK, Map<String, UUID>> namesCache;
     private final Function<UUID, K> keyFactory;
     private final Map<K, V> attributeCache;
     private final Map<K, Optional<Object>> mutations = new HashMap<>();
+    // Serialized form of mutable attributes when first accessed
+    private final Map<K, ByteBuffer> snapshots = new HashMap<>();
     private final Marshaller<Object, V> marshaller;
     private final MutatorFactory<K, V> mutatorFactory;
     private final Immutability immutability;
     private final CacheProperties properties;
     private final SessionAttributeActivationNotifier notifier;
+    private final Marshaller<Object, ByteBuffer> mutationDetectionMarshaller;
+    private final BiFunction<Object, ByteBuffer, V> mutationDetectionWriter;
+    private final boolean lazy;
 
     private volatile Map<String, UUID> names;
 
-    public FineSessionAttributes(NK key, Map<String, UUID> names, Map<NK, Map<String, UUID>> namesCache, Function<UUID, K> keyFactory, Map<K, V> attributeCache, Marshaller<Object, V> marshaller, MutatorFactory<K, V> mutatorFactory, Immutability immutability, CacheProperties properties, SessionAttributeActivationNotifier notifier) {
+    public FineSessionAttributes(String id, NK key, Map<String, UUID> names, Map<NK, Map<String, UUID>> namesCache, Function<UUID, K> keyFactory, Map<K, V> attributeCache, Marshaller<Object, V> marshaller, MutatorFactory<K, V> mutatorFactory, Immutability immutability, CacheProperties properties, SessionAttributeActivationNotifier notifier, Marshaller<Object, ByteBuffer> mutationDetectionMarshaller, BiFunction<Object, ByteBuffer, V> mutationDetectionWriter, boolean lazy) {
+        this.id = id;
         this.key = key;
         this.setNames(names);
         this.namesCache = namesCache;
@@ -72,6 +82,9 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
         this.immutability = immutability;
         this.properties = properties;
         this.notifier = notifier;
+        this.mutationDetectionMarshaller = mutationDetectionMarshaller;
+        this.mutationDetectionWriter = mutationDetectionWriter;
+        this.lazy = lazy;
     }
 
     @Override
@@ -84,13 +97,12 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
 
             K key = this.keyFactory.apply(attributeId);
 
-            Object result = this.read(this.attributeCache.remove(key));
-            if (result != null) {
-                this.mutations.remove(key);
+            Object result = this.read(name, this.attributeCache.remove(key));
+            this.mutations.remove(key);
+            this.snapshots.remove(key);
 
-                if (this.properties.isPersistent()) {
-                    this.notifier.postActivate(result);
-                }
+            if ((result != null) && this.properties.isPersistent()) {
+                this.notifier.postActivate(result);
             }
             return result;
         }
@@ -121,7 +133,8 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
                 this.notifier.prePassivate(attribute);
             }
 
-            Object result = this.read(this.attributeCache.put(key, value));
+            Object result = this.read(name, this.attributeCache.put(key, value));
+            this.snapshots.remove(key);
 
             if (this.properties.isTransactional()) {
                 // Add an empty value to prevent any subsequent mutable getAttribute(...) from triggering a redundant mutation on close.
@@ -138,7 +151,7 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
             if (this.properties.isPersistent()) {
                 this.notifier.postActivate(attribute);
 
-                if (result != attribute) {
+                if ((result != null) && (result != attribute)) {
                     this.notifier.postActivate(result);
                 }
             }
@@ -161,7 +174,16 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
                 return mutableValue.get();
             }
 
-            Object result = this.read(this.attributeCache.get(key));
+            V value = this.attributeCache.get(key);
+            Object result = this.read(name, value);
+            if ((result == null) && (value != null)) {
+                // Discard lazily activated attribute that can no longer be read
+                this.setNames(this.namesCache.compute(this.key, this.properties.isTransactional() ? new CopyOnWriteMapRemoveFunction<>(name) : new ConcurrentMapRemoveFunction<>(name)));
+                this.attributeCache.remove(key);
+                this.mutations.remove(key);
+                this.snapshots.remove(key);
+                return null;
+            }
             if (result != null) {
                 if (this.properties.isPersistent()) {
                     this.notifier.postActivate(result);
@@ -169,7 +191,13 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
 
                 // If the object is mutable, we need to trigger a mutation on close
                 if (!this.immutability.test(result)) {
-                    this.mutations.putIfAbsent(key, Optional.of(result));
+                    if ((this.mutations.putIfAbsent(key, Optional.of(result)) == null) && (this.mutationDetectionMarshaller != null)) {
+                        // Capture serialized form, so we can determine whether this attribute was actually mutated on close
+                        ByteBuffer snapshot = this.serialize(result);
+                        if (snapshot != null) {
+                            this.snapshots.put(key, snapshot);
+                        }
+                    }
                 }
             }
             return result;
@@ -189,11 +217,19 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
                 Optional<Object> optional = entry.getValue();
                 if (optional.isPresent()) {
                     K key = entry.getKey();
-                    V value = this.write(optional.get());
-                    this.mutatorFactory.createMutator(key, value).mutate();
+                    Object attribute = optional.get();
+                    ByteBuffer snapshot = this.snapshots.get(key);
+                    ByteBuffer current = (snapshot != null) ? this.serialize(attribute) : null;
+                    // Skip mutation if serialized form is unchanged
+                    if ((snapshot == null) || !snapshot.equals(current)) {
+                        // Write the serialized form we just computed, if any, rather than marshalling the attribute again
+                        V value = ((current != null) && (this.mutationDetectionWriter != null)) ? this.mutationDetectionWriter.apply(attribute, current) : this.write(attribute);
+                        this.mutatorFactory.createMutator(key, value).mutate();
+                    }
                 }
             }
             this.mutations.clear();
+            this.snapshots.clear();
         }
     }
 
@@ -209,11 +245,25 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
         }
     }
 
-    private Object read(V value) {
+    private ByteBuffer serialize(Object value) {
+        try {
+            return this.mutationDetectionMarshaller.write(value);
+        } catch (IOException e) {
+            // Treat as mutated
+            return null;
+        }
+    }
+
+    private Object read(String name, V value) {
         try {
             return this.marshaller.read(value);
         } catch (IOException e) {
-            // This should not happen here, since attributes were pre-activated during session construction
+            // Attributes of lazily activated sessions are not validated in advance, thus may fail to unmarshal on demand
+            if (this.lazy) {
+                Logger.ROOT_LOGGER.failedToActivateSessionAttribute(e, this.id, name);
+                return null;
+            }
+            // Otherwise, this should not happen here, since attributes were pre-activated during session construction
             throw new IllegalStateException(e);
         }
     }
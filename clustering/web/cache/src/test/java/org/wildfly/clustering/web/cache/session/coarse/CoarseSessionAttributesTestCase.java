@@ -0,0 +1,136 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.cache.session.coarse;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.wildfly.clustering.ee.Immutability;
+import org.wildfly.clustering.ee.Mutator;
+import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.marshalling.spi.Marshallability;
+import org.wildfly.clustering.marshalling.spi.Marshaller;
+
+/**
+ * Unit test for {@link CoarseSessionAttributes}.
+ * @author Paul Ferraro
+ */
+public class CoarseSessionAttributesTestCase {
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+    private final Mutator mutator = mock(Mutator.class);
+    private final Marshallability marshallability = mock(Marshallability.class);
+    private final Immutability immutability = mock(Immutability.class);
+    private final CacheProperties properties = mock(CacheProperties.class);
+    private final Marshaller<Object, ByteBuffer> mutationDetectionMarshaller = mock(Marshaller.class);
+    private final Function<ByteBuffer, Mutator> mutationDetectionMutatorFactory = mock(Function.class);
+
+    private CoarseSessionAttributes createSessionAttributes() {
+        return new CoarseSessionAttributes(this.attributes, this.mutator, this.marshallability, this.immutability, this.properties, null, this.mutationDetectionMarshaller, this.mutationDetectionMutatorFactory);
+    }
+
+    @Test
+    public void unmutated() throws IOException {
+        Object attribute = new Object();
+        this.attributes.put("a", attribute);
+        ByteBuffer snapshot = ByteBuffer.wrap(new byte[] { 0 });
+
+        when(this.mutationDetectionMarshaller.write(this.attributes)).thenReturn(snapshot, snapshot.duplicate());
+
+        CoarseSessionAttributes attributes = this.createSessionAttributes();
+
+        assertSame(attribute, attributes.getAttribute("a"));
+
+        attributes.close();
+
+        verifyZeroInteractions(this.mutator);
+        verifyZeroInteractions(this.mutationDetectionMutatorFactory);
+    }
+
+    @Test
+    public void mutated() throws IOException {
+        Object attribute = new Object();
+        this.attributes.put("a", attribute);
+        ByteBuffer snapshot = ByteBuffer.wrap(new byte[] { 0 });
+        ByteBuffer current = ByteBuffer.wrap(new byte[] { 1 });
+        Mutator mutator = mock(Mutator.class);
+
+        when(this.mutationDetectionMarshaller.write(this.attributes)).thenReturn(snapshot, current);
+        when(this.mutationDetectionMutatorFactory.apply(current)).thenReturn(mutator);
+
+        CoarseSessionAttributes attributes = this.createSessionAttributes();
+
+        assertSame(attribute, attributes.getAttribute("a"));
+
+        attributes.close();
+
+        // Mutation should write the serialized form computed on close
+        verify(mutator).mutate();
+        verifyZeroInteractions(this.mutator);
+    }
+
+    @Test
+    public void unserializable() throws IOException {
+        Object attribute = new Object();
+        this.attributes.put("a", attribute);
+        ByteBuffer snapshot = ByteBuffer.wrap(new byte[] { 0 });
+
+        when(this.mutationDetectionMarshaller.write(this.attributes)).thenReturn(snapshot).thenThrow(new IOException());
+
+        CoarseSessionAttributes attributes = this.createSessionAttributes();
+
+        assertSame(attribute, attributes.getAttribute("a"));
+
+        attributes.close();
+
+        // Failure to serialize should be treated as a mutation
+        verify(this.mutator).mutate();
+        verifyZeroInteractions(this.mutationDetectionMutatorFactory);
+    }
+
+    @Test
+    public void setAttribute() throws IOException {
+        Object attribute = new Object();
+
+        when(this.marshallability.isMarshallable(attribute)).thenReturn(true);
+
+        CoarseSessionAttributes attributes = this.createSessionAttributes();
+
+        attributes.setAttribute("a", attribute);
+
+        attributes.close();
+
+        verify(this.mutator).mutate();
+        verifyZeroInteractions(this.mutationDetectionMarshaller);
+        verifyZeroInteractions(this.mutationDetectionMutatorFactory);
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.wildfly.clustering.web.cache.session.fine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.wildfly.clustering.ee.Immutability;
+import org.wildfly.clustering.ee.Mutator;
+import org.wildfly.clustering.ee.MutatorFactory;
+import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.marshalling.spi.Marshaller;
+import org.wildfly.clustering.web.cache.session.SessionAttributeActivationNotifier;
+
+/**
+ * Unit test for {@link FineSessionAttributes} and {@link FineImmutableSessionAttributes}.
+ * @author Paul Ferraro
+ */
+public class FineSessionAttributesTestCase {
+    private static final String SESSION_ID = "session";
+
+    private final Map<String, Map<String, UUID>> namesCache = new ConcurrentHashMap<>();
+    private final Map<String, Object> attributeCache = new ConcurrentHashMap<>();
+    private final Function<UUID, String> keyFactory = UUID::toString;
+    private final Marshaller<Object, Object> marshaller = mock(Marshaller.class);
+    private final MutatorFactory<String, Object> mutatorFactory = mock(MutatorFactory.class);
+    private final Immutability immutability = mock(Immutability.class);
+    private final CacheProperties properties = mock(CacheProperties.class);
+    private final SessionAttributeActivationNotifier notifier = mock(SessionAttributeActivationNotifier.class);
+
+    private Map<String, UUID> createUnreadableAttributes(String... names) throws IOException {
+        Map<String, UUID> attributes = new ConcurrentHashMap<>();
+        for (String name : names) {
+            UUID attributeId = UUID.randomUUID();
+            attributes.put(name, attributeId);
+            Object value = new Object();
+            this.attributeCache.put(this.keyFactory.apply(attributeId), value);
+            when(this.marshaller.read(value)).thenThrow(new IOException(name));
+        }
+        this.namesCache.put(SESSION_ID, attributes);
+        return attributes;
+    }
+
+    private Map<String, UUID> createReadableAttributes(Map<String, Object> values) throws IOException {
+        Map<String, UUID> attributes = new ConcurrentHashMap<>();
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            UUID attributeId = UUID.randomUUID();
+            attributes.put(entry.getKey(), attributeId);
+            Object value = new Object();
+            this.attributeCache.put(this.keyFactory.apply(attributeId), value);
+            when(this.marshaller.read(value)).thenReturn(entry.getValue());
+        }
+        this.namesCache.put(SESSION_ID, attributes);
+        return attributes;
+    }
+
+    private FineSessionAttributes<String, String, Object> createSessionAttributes(Map<String, UUID> names, Marshaller<Object, ByteBuffer> mutationDetectionMarshaller, boolean lazy) {
+        return this.createSessionAttributes(names, mutationDetectionMarshaller, null, lazy);
+    }
+
+    private FineSessionAttributes<String, String, Object> createSessionAttributes(Map<String, UUID> names, Marshaller<Object, ByteBuffer> mutationDetectionMarshaller, BiFunction<Object, ByteBuffer, Object> mutationDetectionWriter, boolean lazy) {
+        return new FineSessionAttributes<>(SESSION_ID, SESSION_ID, names, this.namesCache, this.keyFactory, this.attributeCache, this.marshaller, this.mutatorFactory, this.immutability, this.properties, this.notifier, mutationDetectionMarshaller, mutationDetectionWriter, lazy);
+    }
+
+    @Test
+    public void lazyGetAttribute() throws IOException {
+        Map<String, UUID> names = this.createUnreadableAttributes("a", "b");
+        String key = this.keyFactory.apply(names.get("a"));
+
+        FineSessionAttributes<String, String, Object> attributes = this.createSessionAttributes(names, null, true);
+
+        assertNull(attributes.getAttribute("a"));
+
+        // Unreadable attribute should be discarded
+        assertFalse(attributes.getAttributeNames().contains("a"));
+        assertFalse(this.namesCache.get(SESSION_ID).containsKey("a"));
+        assertFalse(this.attributeCache.containsKey(key));
+    }
+
+    @Test
+    public void lazyRemoveAttribute() throws IOException {
+        Map<String, UUID> names = this.createUnreadableAttributes("a");
+        String key = this.keyFactory.apply(names.get("a"));
+
+        FineSessionAttributes<String, String, Object> attributes = this.createSessionAttributes(names, null, true);
+
+        assertNull(attributes.removeAttribute("a"));
+
+        assertFalse(attributes.getAttributeNames().contains("a"));
+        assertFalse(this.attributeCache.containsKey(key));
+    }
+
+    @Test
+    public void lazySetAttribute() throws IOException {
+        Map<String, UUID> names = this.createUnreadableAttributes("a");
+        String key = this.keyFactory.apply(names.get("a"));
+        Object attribute = new Object();
+        Object value = new Object();
+
+        when(this.immutability.test(attribute)).thenReturn(true);
+        when(this.marshaller.write(attribute)).thenReturn(value);
+
+        FineSessionAttributes<String, String, Object> attributes = this.createSessionAttributes(names, null, true);
+
+        // Unreadable previous value should not fail the write
+        assertNull(attributes.setAttribute("a", attribute));
+
+        assertTrue(attributes.getAttributeNames().contains("a"));
+        assertEquals(value, this.attributeCache.get(key));
+    }
+
+    @Test
+    public void eager() throws IOException {
+        Map<String, UUID> names = this.createUnreadableAttributes("a");
+
+        FineSessionAttributes<String, String, Object> attributes = this.createSessionAttributes(names, null, false);
+
+        // Attributes of eagerly activated sessions were already validated, so a read failure is unexpected
+        try {
+            attributes.getAttribute("a");
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+        assertTrue(attributes.getAttributeNames().contains("a"));
+    }
+
+    @Test
+    public void mutationDetection() throws IOException {
+        Object unmutated = new Object();
+        Object mutated = new Object();
+        Map<String, Object> values = new HashMap<>();
+        values.put("unmutated", unmutated);
+        values.put("mutated", mutated);
+        Map<String, UUID> names = this.createReadableAttributes(values);
+        String mutatedKey = this.keyFactory.apply(names.get("mutated"));
+        Marshaller<Object, ByteBuffer> mutationDetectionMarshaller = mock(Marshaller.class);
+        BiFunction<Object, ByteBuffer, Object> mutationDetectionWriter = mock(BiFunction.class);
+        Mutator mutator = mock(Mutator.class);
+        ByteBuffer snapshot = ByteBuffer.wrap(new byte[] { 0 });
+        ByteBuffer current = ByteBuffer.wrap(new byte[] { 1 });
+        Object value = new Object();
+
+        when(mutationDetectionMarshaller.write(unmutated)).thenReturn(snapshot, snapshot.duplicate());
+        when(mutationDetectionMarshaller.write(mutated)).thenReturn(snapshot, current);
+        when(mutationDetectionWriter.apply(mutated, current)).thenReturn(value);
+        when(this.mutatorFactory.createMutator(mutatedKey, value)).thenReturn(mutator);
+
+        FineSessionAttributes<String, String, Object> attributes = this.createSessionAttributes(names, mutationDetectionMarshaller, mutationDetectionWriter, false);
+
+        assertSame(unmutated, attributes.getAttribute("unmutated"));
+        assertSame(mutated, attributes.getAttribute("mutated"));
+
+        attributes.close();
+
+        // Only the mutated attribute should be written, using its serialized form computed on close
+        verify(mutator).mutate();
+        verify(this.mutatorFactory).createMutator(mutatedKey, value);
+        verifyNoMoreInteractions(this.mutatorFactory);
+        verify(this.marshaller, never()).write(any());
+    }
+
+    @Test
+    public void immutable() throws IOException {
+        Map<String, UUID> names = this.createUnreadableAttributes("a");
+
+        assertNull(new FineImmutableSessionAttributes<>(SESSION_ID, names, this.keyFactory, this.attributeCache, this.marshaller, true).getAttribute("a"));
+
+        try {
+            new FineImmutableSessionAttributes<>(SESSION_ID, names, this.keyFactory, this.attributeCache, this.marshaller, false).getAttribute("a");
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+    }
+}
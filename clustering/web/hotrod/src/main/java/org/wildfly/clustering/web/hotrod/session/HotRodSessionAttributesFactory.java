@@ -0,0 +1,58 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.wildfly.clustering.web.hotrod.session;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.wildfly.clustering.web.cache.session.SessionAttributesFactory;
+
+/**
+ * {@link SessionAttributesFactory} whose remote read can be pipelined with the retrieval of the session meta data.
+ * @author Paul Ferraro
+ * @param <C> the ServletContext specification type
+ * @param <V> the session attributes value type
+ * @param <R> the type of the remote read
+ */
+public interface HotRodSessionAttributesFactory<C, V, R> extends SessionAttributesFactory<C, V> {
+
+    /**
+     * Initiates the remote read of the attributes of the specified session.
+     * @param id a session identifier
+     * @return a future result of the remote read
+     */
+    CompletableFuture<R> readValue(String id);
+
+    /**
+     * Locates the attributes of the specified session from the specified remote read.
+     * @param id a session identifier
+     * @param read a remote read initiated via {@link #readValue(String)}
+     * @return the session attributes value, or null if the attributes were invalid
+     */
+    V findValue(String id, CompletableFuture<R> read);
+
+    @Override
+    default V findValue(String id) {
+        return this.findValue(id, this.readValue(id));
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.wildfly.clustering.web.hotrod.session;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.wildfly.clustering.web.LocalContextFactory;
+import org.wildfly.clustering.web.cache.session.CompositeSessionFactory;
+import org.wildfly.clustering.web.cache.session.CompositeSessionMetaDataEntry;
+import org.wildfly.clustering.web.cache.session.SessionMetaDataFactory;
+
+/**
+ * {@link CompositeSessionFactory} that pipelines the remote read of the session attributes with the retrieval of the session meta data.
+ * @author Paul Ferraro
+ * @param <C> the ServletContext specification type
+ * @param <V> the session attributes value type
+ * @param <L> the local context type
+ * @param <R> the type of the remote read of the session attributes
+ */
+public class HotRodSessionFactory<C, V, L, R> extends CompositeSessionFactory<C, V, L> {
+
+    private final SessionMetaDataFactory<CompositeSessionMetaDataEntry<L>> metaDataFactory;
+    private final HotRodSessionAttributesFactory<C, V, R> attributesFactory;
+
+    public HotRodSessionFactory(SessionMetaDataFactory<CompositeSessionMetaDataEntry<L>> metaDataFactory, HotRodSessionAttributesFactory<C, V, R> attributesFactory, LocalContextFactory<L> localContextFactory) {
+        super(metaDataFactory, attributesFactory, localContextFactory);
+        this.metaDataFactory = metaDataFactory;
+        this.attributesFactory = attributesFactory;
+    }
+
+    @Override
+    public Map.Entry<CompositeSessionMetaDataEntry<L>, V> findValue(String id) {
+        CompletableFuture<R> read = this.attributesFactory.readValue(id);
+        CompositeSessionMetaDataEntry<L> metaDataValue = this.metaDataFactory.findValue(id);
+        if (metaDataValue == null) {
+            // Session does not exist, so its attributes are not needed
+            read.cancel(true);
+            return null;
+        }
+        V attributesValue = this.attributesFactory.findValue(id, read);
+        if (attributesValue != null) {
+            return new SimpleImmutableEntry<>(metaDataValue, attributesValue);
+        }
+        // Purge obsolete meta data
+        this.metaDataFactory.purge(id);
+        return null;
+    }
+}
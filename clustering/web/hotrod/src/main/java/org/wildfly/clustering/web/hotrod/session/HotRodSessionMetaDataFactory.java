@@ -22,6 +22,8 @@
 
 package org.wildfly.clustering.web.hotrod.session;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.infinispan.client.hotrod.Flag;
 import org.infinispan.client.hotrod.MetadataValue;
 import org.infinispan.client.hotrod.RemoteCache;
@@ -75,15 +77,20 @@ public class HotRodSessionMetaDataFactory<L> implements SessionMetaDataFactory<C
     @Override
     public CompositeSessionMetaDataEntry<L> findValue(String id) {
         SessionCreationMetaDataKey key = new SessionCreationMetaDataKey(id);
+        // Pipeline retrieval of access meta data with retrieval of creation meta data
+        CompletableFuture<SessionAccessMetaData> accessMetaDataFuture = this.accessMetaDataCache.getAsync(new SessionAccessMetaDataKey(id));
         MetadataValue<SessionCreationMetaDataEntry<L>> value = this.creationMetaDataCache.getWithMetadata(key);
-        SessionCreationMetaDataEntry<L> creationMetaDataEntry = this.creationMetaDataCache.get(key);
-        if (creationMetaDataEntry != null) {
-            SessionAccessMetaData accessMetaData = this.accessMetaDataCache.get(new SessionAccessMetaDataKey(id));
-            if (accessMetaData != null) {
-                return new CompositeSessionMetaDataEntry<>(creationMetaDataEntry.getMetaData(), accessMetaData, creationMetaDataEntry.getLocalContext());
-            }
-            this.creationMetaDataCache.removeWithVersion(key, value.getVersion());
+        if (value == null) {
+            // Session does not exist, so its access meta data is not needed
+            accessMetaDataFuture.cancel(true);
+            return null;
+        }
+        SessionCreationMetaDataEntry<L> creationMetaDataEntry = value.getValue();
+        SessionAccessMetaData accessMetaData = accessMetaDataFuture.join();
+        if (accessMetaData != null) {
+            return new CompositeSessionMetaDataEntry<>(creationMetaDataEntry.getMetaData(), accessMetaData, creationMetaDataEntry.getLocalContext());
         }
+        this.creationMetaDataCache.removeWithVersion(key, value.getVersion());
         return null;
     }
 
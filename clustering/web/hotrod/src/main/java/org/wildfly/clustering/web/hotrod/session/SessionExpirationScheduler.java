@@ -29,8 +29,8 @@ import org.wildfly.clustering.ee.Batch;
 import org.wildfly.clustering.ee.Batcher;
 import org.wildfly.clustering.ee.Remover;
 import org.wildfly.clustering.ee.Scheduler;
+import org.wildfly.clustering.ee.cache.scheduler.ExpirationScheduledEntriesFactory;
 import org.wildfly.clustering.ee.cache.scheduler.LocalScheduler;
-import org.wildfly.clustering.ee.cache.scheduler.SortedScheduledEntries;
 import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
 import org.wildfly.clustering.web.hotrod.logging.Logger;
 import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
@@ -47,7 +47,7 @@ public class SessionExpirationScheduler implements Scheduler<String, ImmutableSe
     private final Remover<String> remover;
 
     public SessionExpirationScheduler(Batcher<TransactionBatch> batcher, Remover<String> remover, Duration closeTimeout) {
-        this.scheduler = new LocalScheduler<>(new SortedScheduledEntries<>(), this, closeTimeout);
+        this.scheduler = new LocalScheduler<>(new ExpirationScheduledEntriesFactory<String>().get(), this, closeTimeout);
         this.batcher = batcher;
         this.remover = remover;
     }
@@ -23,8 +23,12 @@
 package org.wildfly.clustering.web.hotrod.session.coarse;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import org.infinispan.client.hotrod.RemoteCache;
 import org.wildfly.clustering.ee.Immutability;
@@ -37,10 +41,10 @@ import org.wildfly.clustering.web.cache.session.CompositeImmutableSession;
 import org.wildfly.clustering.web.cache.session.ImmutableSessionActivationNotifier;
 import org.wildfly.clustering.web.cache.session.SessionActivationNotifier;
 import org.wildfly.clustering.web.cache.session.SessionAttributes;
-import org.wildfly.clustering.web.cache.session.SessionAttributesFactory;
 import org.wildfly.clustering.web.cache.session.coarse.CoarseImmutableSessionAttributes;
 import org.wildfly.clustering.web.cache.session.coarse.CoarseSessionAttributes;
 import org.wildfly.clustering.web.hotrod.logging.Logger;
+import org.wildfly.clustering.web.hotrod.session.HotRodSessionAttributesFactory;
 import org.wildfly.clustering.web.hotrod.session.HotRodSessionAttributesFactoryConfiguration;
 import org.wildfly.clustering.web.session.HttpSessionActivationListenerProvider;
 import org.wildfly.clustering.web.session.ImmutableSessionAttributes;
@@ -49,7 +53,7 @@ import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
 /**
  * @author Paul Ferraro
  */
-public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttributesFactory<C, Map<String, Object>> {
+public class CoarseSessionAttributesFactory<S, C, L, V> implements HotRodSessionAttributesFactory<C, Map<String, Object>, V> {
 
     private final RemoteCache<SessionAttributesKey, V> cache;
     private final Marshaller<Map<String, Object>, V> marshaller;
@@ -57,6 +61,8 @@ public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttrib
     private final CacheProperties properties;
     private final MutatorFactory<SessionAttributesKey, V> mutatorFactory;
     private final HttpSessionActivationListenerProvider<S, C, L> provider;
+    private final Marshaller<Object, ByteBuffer> mutationDetectionMarshaller;
+    private final BiFunction<Map<String, Object>, ByteBuffer, V> mutationDetectionWriter;
 
     public CoarseSessionAttributesFactory(HotRodSessionAttributesFactoryConfiguration<S, C, L, Map<String, Object>, V> configuration) {
         this.cache = configuration.getCache();
@@ -65,6 +71,8 @@ public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttrib
         this.properties = configuration.getCacheProperties();
         this.mutatorFactory = new RemoteCacheMutatorFactory<>(this.cache);
         this.provider = configuration.getHttpSessionActivationListenerProvider();
+        this.mutationDetectionMarshaller = configuration.getMutationDetectionMarshaller();
+        this.mutationDetectionWriter = configuration.getMutationDetectionWriter();
     }
 
     @Override
@@ -80,8 +88,13 @@ public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttrib
     }
 
     @Override
-    public Map<String, Object> findValue(String id) {
-        V value = this.cache.get(new SessionAttributesKey(id));
+    public CompletableFuture<V> readValue(String id) {
+        return this.cache.getAsync(new SessionAttributesKey(id));
+    }
+
+    @Override
+    public Map<String, Object> findValue(String id, CompletableFuture<V> read) {
+        V value = read.join();
         if (value != null) {
             try {
                 return this.marshaller.read(value);
@@ -96,9 +109,11 @@ public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttrib
     @Override
     public SessionAttributes createSessionAttributes(String id, Map<String, Object> attributes, ImmutableSessionMetaData metaData, C context) {
         try {
-            Mutator mutator = this.mutatorFactory.createMutator(new SessionAttributesKey(id), this.marshaller.write(attributes));
+            SessionAttributesKey key = new SessionAttributesKey(id);
+            Mutator mutator = this.mutatorFactory.createMutator(key, this.marshaller.write(attributes));
+            Function<ByteBuffer, Mutator> mutationDetectionMutatorFactory = (this.mutationDetectionWriter != null) ? buffer -> this.mutatorFactory.createMutator(key, this.mutationDetectionWriter.apply(attributes, buffer)) : null;
             SessionActivationNotifier notifier = this.properties.isPersistent() ? new ImmutableSessionActivationNotifier<>(this.provider, new CompositeImmutableSession(id, metaData, this.createImmutableSessionAttributes(id, attributes)), context) : null;
-            return new CoarseSessionAttributes(attributes, mutator, this.marshaller, this.immutability, this.properties, notifier);
+            return new CoarseSessionAttributes(attributes, mutator, this.marshaller, this.immutability, this.properties, notifier, this.mutationDetectionMarshaller, mutationDetectionMutatorFactory);
         } catch (IOException e) {
             throw new IllegalStateException(e);
         }
@@ -23,9 +23,13 @@
 package org.wildfly.clustering.web.hotrod.session.fine;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import org.infinispan.client.hotrod.Flag;
@@ -39,22 +43,22 @@ import org.wildfly.clustering.web.cache.session.CompositeImmutableSession;
 import org.wildfly.clustering.web.cache.session.ImmutableSessionAttributeActivationNotifier;
 import org.wildfly.clustering.web.cache.session.SessionAttributeActivationNotifier;
 import org.wildfly.clustering.web.cache.session.SessionAttributes;
-import org.wildfly.clustering.web.cache.session.SessionAttributesFactory;
 import org.wildfly.clustering.web.cache.session.fine.FineImmutableSessionAttributes;
 import org.wildfly.clustering.web.cache.session.fine.FineSessionAttributes;
 import org.wildfly.clustering.web.hotrod.logging.Logger;
+import org.wildfly.clustering.web.hotrod.session.HotRodSessionAttributesFactory;
 import org.wildfly.clustering.web.hotrod.session.HotRodSessionAttributesFactoryConfiguration;
 import org.wildfly.clustering.web.session.HttpSessionActivationListenerProvider;
 import org.wildfly.clustering.web.session.ImmutableSessionAttributes;
 import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
 
 /**
- * {@link SessionAttributesFactory} for fine granularity sessions.
+ * {@link HotRodSessionAttributesFactory} for fine granularity sessions.
  * A given session's attributes are mapped to N+1 co-located cache entries, where N is the number of session attributes.
  * A separate cache entry stores the activate attribute names for the session.
  * @author Paul Ferraro
  */
-public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttributesFactory<C, Map<String, UUID>> {
+public class FineSessionAttributesFactory<S, C, L, V> implements HotRodSessionAttributesFactory<C, Map<String, UUID>, Map<String, UUID>> {
 
     private final RemoteCache<SessionAttributeNamesKey, Map<String, UUID>> namesCache;
     private final RemoteCache<SessionAttributeKey, V> attributeCache;
@@ -63,6 +67,9 @@ public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttribut
     private final CacheProperties properties;
     private final MutatorFactory<SessionAttributeKey, V> mutatorFactory;
     private final HttpSessionActivationListenerProvider<S, C, L> provider;
+    private final Marshaller<Object, ByteBuffer> mutationDetectionMarshaller;
+    private final BiFunction<Object, ByteBuffer, V> mutationDetectionWriter;
+    private final boolean lazy;
 
     public FineSessionAttributesFactory(HotRodSessionAttributesFactoryConfiguration<S, C, L, Object, V> configuration) {
         this.namesCache = configuration.getCache();
@@ -72,6 +79,9 @@ public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttribut
         this.properties = configuration.getCacheProperties();
         this.mutatorFactory = new RemoteCacheMutatorFactory<>(this.attributeCache);
         this.provider = configuration.getHttpSessionActivationListenerProvider();
+        this.mutationDetectionMarshaller = configuration.getMutationDetectionMarshaller();
+        this.mutationDetectionWriter = configuration.getMutationDetectionWriter();
+        this.lazy = configuration.isLazyAttributeActivation();
     }
 
     @Override
@@ -80,20 +90,33 @@ public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttribut
     }
 
     @Override
-    public Map<String, UUID> findValue(String id) {
-        Map<String, UUID> names = this.namesCache.get(new SessionAttributeNamesKey(id));
+    public CompletableFuture<Map<String, UUID>> readValue(String id) {
+        return this.namesCache.getAsync(new SessionAttributeNamesKey(id));
+    }
+
+    @Override
+    public Map<String, UUID> findValue(String id, CompletableFuture<Map<String, UUID>> read) {
+        Map<String, UUID> names = read.join();
         if (names != null) {
+            // Attributes of lazily activated sessions are read on demand
+            if (names.isEmpty() || this.lazy) return names;
+            Map<SessionAttributeKey, String> keys = new HashMap<>();
             for (Map.Entry<String, UUID> nameEntry : names.entrySet()) {
-                V value = this.attributeCache.get(new SessionAttributeKey(id, nameEntry.getValue()));
+                keys.put(new SessionAttributeKey(id, nameEntry.getValue()), nameEntry.getKey());
+            }
+            // Retrieve all attributes via a single remote invocation
+            Map<SessionAttributeKey, V> values = this.attributeCache.getAll(keys.keySet());
+            for (Map.Entry<SessionAttributeKey, String> entry : keys.entrySet()) {
+                V value = values.get(entry.getKey());
                 if (value != null) {
                     try {
                         this.marshaller.read(value);
                         continue;
                     } catch (IOException e) {
-                        Logger.ROOT_LOGGER.failedToActivateSessionAttribute(e, id, nameEntry.getKey());
+                        Logger.ROOT_LOGGER.failedToActivateSessionAttribute(e, id, entry.getValue());
                     }
                 } else {
-                    Logger.ROOT_LOGGER.missingSessionAttributeCacheEntry(id, nameEntry.getKey());
+                    Logger.ROOT_LOGGER.missingSessionAttributeCacheEntry(id, entry.getValue());
                 }
                 this.remove(id);
                 return null;
@@ -106,10 +129,14 @@ public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttribut
     @Override
     public boolean remove(String id) {
         Map<String, UUID> names = this.namesCache.withFlags(Flag.FORCE_RETURN_VALUE).remove(new SessionAttributeNamesKey(id));
-        if (names != null) {
+        if ((names != null) && !names.isEmpty()) {
+            // Pipeline removal of attributes
+            CompletableFuture<?>[] futures = new CompletableFuture<?>[names.size()];
+            int index = 0;
             for (UUID attributeId : names.values()) {
-                this.attributeCache.remove(new SessionAttributeKey(id, attributeId));
+                futures[index++] = this.attributeCache.removeAsync(new SessionAttributeKey(id, attributeId));
             }
+            CompletableFuture.allOf(futures).join();
         }
         return true;
     }
@@ -117,12 +144,12 @@ public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttribut
     @Override
     public SessionAttributes createSessionAttributes(String id, Map<String, UUID> names, ImmutableSessionMetaData metaData, C context) {
         SessionAttributeActivationNotifier notifier = new ImmutableSessionAttributeActivationNotifier<>(this.provider, new CompositeImmutableSession(id, metaData, this.createImmutableSessionAttributes(id, names)), context);
-        return new FineSessionAttributes<>(new SessionAttributeNamesKey(id), names, this.namesCache, getKeyFactory(id), this.attributeCache.withFlags(Flag.FORCE_RETURN_VALUE), this.marshaller, this.mutatorFactory, this.immutability, this.properties, notifier);
+        return new FineSessionAttributes<>(id, new SessionAttributeNamesKey(id), names, this.namesCache, getKeyFactory(id), this.attributeCache.withFlags(Flag.FORCE_RETURN_VALUE), this.marshaller, this.mutatorFactory, this.immutability, this.properties, notifier, this.mutationDetectionMarshaller, this.mutationDetectionWriter, this.lazy);
     }
 
     @Override
     public ImmutableSessionAttributes createImmutableSessionAttributes(String id, Map<String, UUID> names) {
-        return new FineImmutableSessionAttributes<>(names, getKeyFactory(id), this.attributeCache, this.marshaller);
+        return new FineImmutableSessionAttributes<>(id, names, getKeyFactory(id), this.attributeCache, this.marshaller, this.lazy);
     }
 
     private static Function<UUID, SessionAttributeKey> getKeyFactory(String id) {
@@ -22,36 +22,20 @@
 
 package org.wildfly.clustering.web.infinispan.routing;
 
-import java.util.Map;
-import java.util.function.Function;
-
-import org.wildfly.clustering.ee.infinispan.GroupedKey;
-import org.wildfly.clustering.ee.infinispan.PrimaryOwnerLocator;
-import org.wildfly.clustering.group.Node;
-import org.wildfly.clustering.registry.Registry;
-import org.wildfly.clustering.web.routing.RouteLocator;
+import org.infinispan.distribution.DistributionInfo;
 
 /**
+ * Route locator that returns the route of the primary owner of the segment of a session.
  * @author Paul Ferraro
  */
-public class PrimaryOwnerRouteLocator implements RouteLocator {
-
-    private final Function<GroupedKey<String>, Node> primaryOwnerLocator;
-    private final Registry<String, Void> registry;
-    private final boolean preferPrimary;
-    private final String localRoute;
+public class PrimaryOwnerRouteLocator extends SegmentRouteLocator {
 
     public PrimaryOwnerRouteLocator(PrimaryOwnerRouteLocatorConfiguration config) {
-        this.registry = config.getRegistry();
-        this.primaryOwnerLocator = new PrimaryOwnerLocator<>(config.getCache(), config.getMemberFactory(), this.registry.getGroup());
-        this.preferPrimary = config.getCache().getCacheConfiguration().clustering().cacheMode().isClustered();
-        this.localRoute = this.registry.getEntry(this.registry.getGroup().getLocalMember()).getKey();
+        super(config);
     }
 
     @Override
-    public String locate(String sessionId) {
-        Node primaryMember = this.preferPrimary ? this.primaryOwnerLocator.apply(new GroupedKey<>(sessionId)) : null;
-        Map.Entry<String, Void> entry = (primaryMember != null) ? this.registry.getEntry(primaryMember) : null;
-        return (entry != null) ? entry.getKey() : this.localRoute;
+    String createRoute(DistributionInfo info) {
+        return this.getRoute(info.primary());
     }
 }
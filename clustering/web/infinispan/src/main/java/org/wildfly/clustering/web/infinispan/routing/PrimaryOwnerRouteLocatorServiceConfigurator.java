@@ -29,6 +29,7 @@ import java.util.function.Supplier;
 import org.infinispan.Cache;
 import org.infinispan.remoting.transport.Address;
 import org.jboss.as.clustering.controller.CapabilityServiceConfigurator;
+import org.jboss.as.clustering.function.Consumers;
 import org.jboss.as.controller.capability.CapabilityServiceSupport;
 import org.jboss.msc.Service;
 import org.jboss.msc.service.ServiceBuilder;
@@ -49,13 +50,12 @@ import org.wildfly.clustering.spi.NodeFactory;
 import org.wildfly.clustering.web.WebDeploymentConfiguration;
 import org.wildfly.clustering.web.cache.routing.RouteLocatorServiceNameProvider;
 import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagementConfiguration;
-import org.wildfly.clustering.web.routing.RouteLocator;
 
 /**
  * Configures a service providing a primary owner route locator.
  * @author Paul Ferraro
  */
-public class PrimaryOwnerRouteLocatorServiceConfigurator extends RouteLocatorServiceNameProvider implements CapabilityServiceConfigurator, PrimaryOwnerRouteLocatorConfiguration, Supplier<RouteLocator> {
+public class PrimaryOwnerRouteLocatorServiceConfigurator extends RouteLocatorServiceNameProvider implements CapabilityServiceConfigurator, PrimaryOwnerRouteLocatorConfiguration, Supplier<SegmentRouteLocator> {
 
     private final InfinispanSessionManagementConfiguration managementConfiguration;
     private final WebDeploymentConfiguration deploymentConfiguration;
@@ -71,7 +71,7 @@ public class PrimaryOwnerRouteLocatorServiceConfigurator extends RouteLocatorSer
     }
 
     @Override
-    public RouteLocator get() {
+    public SegmentRouteLocator get() {
         return new PrimaryOwnerRouteLocator(this);
     }
 
@@ -79,8 +79,8 @@ public class PrimaryOwnerRouteLocatorServiceConfigurator extends RouteLocatorSer
     public ServiceBuilder<?> build(ServiceTarget target) {
         ServiceName name = this.getServiceName();
         ServiceBuilder<?> builder = new AsyncServiceConfigurator(name).build(target);
-        Consumer<RouteLocator> locator = new CompositeDependency(this.registry, this.cache, this.factory).register(builder).provides(name);
-        Service service = new FunctionalService<>(locator, Function.identity(), this);
+        Consumer<SegmentRouteLocator> locator = new CompositeDependency(this.registry, this.cache, this.factory).register(builder).provides(name);
+        Service service = new FunctionalService<>(locator, Function.identity(), this, Consumers.close());
         return builder.setInstance(service).setInitialMode(ServiceController.Mode.ON_DEMAND);
     }
 
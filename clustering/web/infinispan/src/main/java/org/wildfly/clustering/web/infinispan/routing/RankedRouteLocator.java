@@ -23,62 +23,41 @@
 package org.wildfly.clustering.web.infinispan.routing;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
-import org.infinispan.Cache;
 import org.infinispan.distribution.DistributionInfo;
 import org.infinispan.remoting.transport.Address;
-import org.wildfly.clustering.ee.infinispan.GroupedKey;
-import org.wildfly.clustering.group.Node;
-import org.wildfly.clustering.registry.Registry;
-import org.wildfly.clustering.spi.NodeFactory;
-import org.wildfly.clustering.web.routing.RouteLocator;
 
 /**
+ * Route locator that returns the ranked routes of the write owners of the segment of a session.
  * @author Paul Ferraro
  */
-public class RankedRouteLocator implements RouteLocator {
+public class RankedRouteLocator extends SegmentRouteLocator {
 
-    private final NodeFactory<Address> factory;
-    private final Registry<String, Void> registry;
-    private final Cache<GroupedKey<String>, ?> cache;
-    private final String localRoute;
-    private final boolean preferPrimary;
     private final String delimiter;
     private final int maxRoutes;
 
     public RankedRouteLocator(RankedRouteLocatorConfiguration config) {
-        this.cache = config.getCache();
-        this.registry = config.getRegistry();
-        this.factory = config.getMemberFactory();
-        this.localRoute = this.registry.getEntry(this.registry.getGroup().getLocalMember()).getKey();
-        this.preferPrimary = config.getCache().getCacheConfiguration().clustering().cacheMode().isClustered();
+        super(config);
         this.delimiter = config.getDelimiter();
         this.maxRoutes = config.getMaxRoutes();
     }
 
     @Override
-    public String locate(String sessionId) {
-        DistributionInfo info = this.preferPrimary ? this.cache.getAdvancedCache().getDistributionManager().getCacheTopology().getDistribution(new GroupedKey<>(sessionId)) : null;
-        List<Address> addresses = (info != null) ? info.writeOwners() : Collections.emptyList();
+    String createRoute(DistributionInfo info) {
+        List<Address> addresses = info.writeOwners();
         int size = Math.min(addresses.size(), this.maxRoutes);
-        boolean localOwner = (info == null) || info.isWriteOwner();
-        List<String> routes = !addresses.isEmpty() ? new ArrayList<>(localOwner ? size : size + 1) : Collections.emptyList();
+        boolean localOwner = info.isWriteOwner();
+        List<String> routes = new ArrayList<>(localOwner ? size : size + 1);
         for (Address address : addresses.subList(0, size)) {
-            Node member = this.factory.createNode(address);
-            Map.Entry<String, Void> entry = this.registry.getEntry(member);
-            if (entry != null) {
-                routes.add(entry.getKey());
+            String route = this.getRoute(address);
+            if (route != null) {
+                routes.add(route);
             }
         }
         if (!localOwner && (routes.size() < this.maxRoutes)) {
-            Map.Entry<String, Void> entry = this.registry.getEntry(this.registry.getGroup().getLocalMember());
-            if (entry != null) {
-                routes.add(entry.getKey());
-            }
+            routes.add(this.getLocalRoute());
         }
-        return !routes.isEmpty() ? String.join(this.delimiter, routes) : this.localRoute;
+        return !routes.isEmpty() ? String.join(this.delimiter, routes) : null;
     }
 }
@@ -0,0 +1,144 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.routing;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.Cache;
+import org.infinispan.distribution.DistributionInfo;
+import org.infinispan.distribution.DistributionManager;
+import org.infinispan.distribution.LocalizedCacheTopology;
+import org.infinispan.remoting.transport.Address;
+import org.wildfly.clustering.Registration;
+import org.wildfly.clustering.ee.infinispan.GroupedKey;
+import org.wildfly.clustering.group.Node;
+import org.wildfly.clustering.registry.Registry;
+import org.wildfly.clustering.registry.RegistryListener;
+import org.wildfly.clustering.spi.NodeFactory;
+import org.wildfly.clustering.web.routing.RouteLocator;
+
+/**
+ * Route locator that resolves routes via a table, indexed by segment, of precomputed routes.
+ * The table is rebuilt lazily following a change to the cache topology or the route registry.
+ * @author Paul Ferraro
+ */
+public abstract class SegmentRouteLocator implements RouteLocator, RegistryListener<String, Void>, Registration {
+
+    private final NodeFactory<Address> factory;
+    private final Registry<String, Void> registry;
+    private final DistributionManager distribution;
+    private final String localRoute;
+    private final Registration registration;
+    private final AtomicInteger registryVersion = new AtomicInteger();
+
+    private volatile RouteTable table = null;
+
+    protected SegmentRouteLocator(PrimaryOwnerRouteLocatorConfiguration config) {
+        Cache<GroupedKey<String>, ?> cache = config.getCache();
+        this.factory = config.getMemberFactory();
+        this.registry = config.getRegistry();
+        this.distribution = cache.getCacheConfiguration().clustering().cacheMode().isClustered() ? cache.getAdvancedCache().getDistributionManager() : null;
+        this.localRoute = this.registry.getEntry(this.registry.getGroup().getLocalMember()).getKey();
+        this.registration = (this.distribution != null) ? this.registry.register(this) : null;
+    }
+
+    @Override
+    public void close() {
+        if (this.registration != null) {
+            this.registration.close();
+        }
+    }
+
+    @Override
+    public String locate(String sessionId) {
+        if (this.distribution == null) return this.localRoute;
+        LocalizedCacheTopology topology = this.distribution.getCacheTopology();
+        RouteTable table = this.table;
+        if ((table == null) || (table.topology != topology) || (table.registryVersion != this.registryVersion.get())) {
+            table = this.createRouteTable(topology);
+            this.table = table;
+        }
+        return table.routes[topology.getSegment(new GroupedKey<>(sessionId))];
+    }
+
+    private RouteTable createRouteTable(LocalizedCacheTopology topology) {
+        // Read registry version before reading registry entries, so that a concurrent registry change invalidates this table
+        int version = this.registryVersion.get();
+        String[] routes = new String[topology.getNumSegments()];
+        for (int segment = 0; segment < routes.length; ++segment) {
+            String route = this.createRoute(topology.getSegmentDistribution(segment));
+            routes[segment] = (route != null) ? route : this.localRoute;
+        }
+        return new RouteTable(topology, version, routes);
+    }
+
+    /**
+     * Creates the route for the segment with the specified distribution.
+     * @param info the distribution of a segment
+     * @return a route, or null, if the local route should be used
+     */
+    abstract String createRoute(DistributionInfo info);
+
+    /**
+     * Returns the registered route of the specified cache member.
+     * @param address a cache member
+     * @return a route, or null, if the specified member has no registered route.
+     */
+    String getRoute(Address address) {
+        Node member = (address != null) ? this.factory.createNode(address) : null;
+        Map.Entry<String, Void> entry = (member != null) ? this.registry.getEntry(member) : null;
+        return (entry != null) ? entry.getKey() : null;
+    }
+
+    String getLocalRoute() {
+        return this.localRoute;
+    }
+
+    @Override
+    public void addedEntries(Map<String, Void> added) {
+        this.registryVersion.incrementAndGet();
+    }
+
+    @Override
+    public void updatedEntries(Map<String, Void> updated) {
+        this.registryVersion.incrementAndGet();
+    }
+
+    @Override
+    public void removedEntries(Map<String, Void> removed) {
+        this.registryVersion.incrementAndGet();
+    }
+
+    private static class RouteTable {
+        final LocalizedCacheTopology topology;
+        final int registryVersion;
+        final String[] routes;
+
+        RouteTable(LocalizedCacheTopology topology, int registryVersion, String[] routes) {
+            this.topology = topology;
+            this.registryVersion = registryVersion;
+            this.routes = routes;
+        }
+    }
+}
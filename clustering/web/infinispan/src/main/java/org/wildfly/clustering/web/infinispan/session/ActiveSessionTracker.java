@@ -0,0 +1,76 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.wildfly.clustering.web.infinispan.session;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Tracks the identifiers of active sessions, i.e. non-passivated sessions for which this member is the primary owner.
+ * Since session identifiers are tracked, rather than a count, the handling of cache events is idempotent,
+ * e.g. a session removed after it was passivated is not subtracted twice.
+ * @author Paul Ferraro
+ */
+class ActiveSessionTracker {
+
+    private final Set<String> sessions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Indicates that the specified session was created or activated.
+     * @param id a session identifier
+     */
+    void add(String id) {
+        this.sessions.add(id);
+    }
+
+    /**
+     * Indicates that the specified session was passivated or removed.
+     * @param id a session identifier
+     */
+    void remove(String id) {
+        this.sessions.remove(id);
+    }
+
+    /**
+     * Returns the number of active sessions.
+     * @return the number of active sessions
+     */
+    long count() {
+        return this.sessions.size();
+    }
+
+    /**
+     * Reconciles the tracked sessions with the specified sessions, e.g. following a change in primary ownership.
+     * Sessions are first added, then any tracked session that is no longer active is removed.
+     * Thus, a session passivated or removed concurrently with a scan of active sessions is not retained.
+     * @param sessions the identifiers of the active sessions, as of some point during this reconciliation
+     * @param active a predicate indicating whether a given session is still active
+     */
+    void reconcile(Collection<String> sessions, Predicate<String> active) {
+        this.sessions.addAll(sessions);
+        this.sessions.removeIf(active.negate());
+    }
+}
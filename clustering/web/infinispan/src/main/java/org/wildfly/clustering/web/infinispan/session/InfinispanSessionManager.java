@@ -29,6 +29,8 @@ import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -37,11 +39,15 @@ import org.infinispan.Cache;
 import org.infinispan.context.Flag;
 import org.infinispan.notifications.Listener;
 import org.infinispan.notifications.cachelistener.annotation.CacheEntryActivated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
 import org.infinispan.notifications.cachelistener.annotation.CacheEntryPassivated;
 import org.infinispan.notifications.cachelistener.annotation.CacheEntryRemoved;
+import org.infinispan.notifications.cachelistener.annotation.TopologyChanged;
 import org.infinispan.notifications.cachelistener.event.CacheEntryActivatedEvent;
+import org.infinispan.notifications.cachelistener.event.CacheEntryCreatedEvent;
 import org.infinispan.notifications.cachelistener.event.CacheEntryPassivatedEvent;
 import org.infinispan.notifications.cachelistener.event.CacheEntryRemovedEvent;
+import org.infinispan.notifications.cachelistener.event.TopologyChangedEvent;
 import org.infinispan.notifications.cachelistener.filter.CacheEventFilter;
 import org.infinispan.util.concurrent.CompletableFutures;
 import org.jboss.as.clustering.context.DefaultExecutorService;
@@ -98,6 +104,8 @@ public class InfinispanSessionManager<S, SC, AL, MV, AV, LC> implements SessionM
     private final SpecificationProvider<S, SC, AL> provider;
     private final Runnable startTask;
     private final Consumer<ImmutableSession> closeTask;
+    private final ActiveSessionTracker activeSessions = new ActiveSessionTracker();
+    private final AtomicReference<Future<?>> reconcileFuture = new AtomicReference<>();
 
     private volatile Duration defaultMaxInactiveInterval = Duration.ofMinutes(30L);
     private volatile Registration expirationRegistration;
@@ -139,6 +147,7 @@ public class InfinispanSessionManager<S, SC, AL, MV, AV, LC> implements SessionM
         this.cache.addListener(this.factory.getMetaDataFactory(), filter, null);
         this.cache.addListener(this.factory.getAttributesFactory(), filter, null);
         this.startTask.run();
+        this.reconcileActiveSessionCount();
     }
 
     @Override
@@ -236,11 +245,53 @@ public class InfinispanSessionManager<S, SC, AL, MV, AV, LC> implements SessionM
 
     @Override
     public long getActiveSessionCount() {
-        return this.getActiveSessions().size();
+        return this.activeSessions.count();
+    }
+
+    /**
+     * Reconciles the active sessions maintained via cache listener events with the set of local cache keys.
+     * Passivated sessions are not considered active.
+     * @return the number of active sessions
+     */
+    public long reconcileActiveSessionCount() {
+        Locality locality = new CacheLocality(this.cache);
+        Cache<Key<String>, ?> localCache = this.cache.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL, Flag.SKIP_CACHE_LOAD);
+        this.activeSessions.reconcile(this.getActiveSessions(), id -> {
+            Key<String> key = new SessionCreationMetaDataKey(id);
+            return locality.isLocal(key) && localCache.containsKey(key);
+        });
+        return this.activeSessions.count();
+    }
+
+    @CacheEntryCreated
+    public void created(CacheEntryCreatedEvent<SessionCreationMetaDataKey, ?> event) {
+        if (!event.isPre()) {
+            this.activeSessions.add(event.getKey().getId());
+        }
+    }
+
+    @TopologyChanged
+    public CompletionStage<Void> topologyChanged(TopologyChangedEvent<SessionCreationMetaDataKey, ?> event) {
+        if (!event.isPre()) {
+            // Primary ownership of existing sessions may have changed
+            // Reconcile asynchronously, so as not to block the topology change
+            try {
+                Future<?> future = this.reconcileFuture.getAndSet(this.executor.submit(this::reconcileActiveSessionCount));
+                if (future != null) {
+                    future.cancel(true);
+                }
+            } catch (RejectedExecutionException e) {
+                // Session manager is stopped
+            }
+        }
+        return CompletableFutures.completedNull();
     }
 
     @CacheEntryActivated
     public CompletionStage<Void> activated(CacheEntryActivatedEvent<SessionCreationMetaDataKey, ?> event) {
+        if (!event.isPre()) {
+            this.activeSessions.add(event.getKey().getId());
+        }
         if (!event.isPre() && !this.properties.isPersistent()) {
             String id = event.getKey().getId();
             InfinispanWebLogger.ROOT_LOGGER.tracef("Session %s was activated", id);
@@ -263,6 +314,9 @@ public class InfinispanSessionManager<S, SC, AL, MV, AV, LC> implements SessionM
 
     @CacheEntryPassivated
     public CompletionStage<Void> passivated(CacheEntryPassivatedEvent<SessionCreationMetaDataKey, ?> event) {
+        if (!event.isPre()) {
+            this.activeSessions.remove(event.getKey().getId());
+        }
         if (event.isPre() && !this.properties.isPersistent()) {
             String id = event.getKey().getId();
             InfinispanWebLogger.ROOT_LOGGER.tracef("Session %s will be passivated", id);
@@ -285,6 +339,9 @@ public class InfinispanSessionManager<S, SC, AL, MV, AV, LC> implements SessionM
 
     @CacheEntryRemoved
     public CompletionStage<Void> removed(CacheEntryRemovedEvent<SessionCreationMetaDataKey, ?> event) {
+        if (!event.isPre()) {
+            this.activeSessions.remove(event.getKey().getId());
+        }
         if (event.isPre()) {
             String id = event.getKey().getId();
             InfinispanWebLogger.ROOT_LOGGER.tracef("Session %s will be removed", id);
@@ -23,6 +23,9 @@
 package org.wildfly.clustering.web.infinispan.session;
 
 import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 import javax.transaction.SystemException;
 
@@ -58,7 +61,7 @@ public class InfinispanSessionMetaDataFactory<L> implements SessionMetaDataFacto
 
     private final Cache<SessionCreationMetaDataKey, SessionCreationMetaDataEntry<L>> creationMetaDataCache;
     private final MutatorFactory<SessionCreationMetaDataKey, SessionCreationMetaDataEntry<L>> creationMetaDataMutatorFactory;
-    private final Cache<SessionCreationMetaDataKey, SessionCreationMetaDataEntry<L>> findCreationMetaDataCache;
+    private final Cache<GroupedKey<String>, Object> findMetaDataCache;
     private final Cache<SessionAccessMetaDataKey, SessionAccessMetaData> accessMetaDataCache;
     private final MutatorFactory<SessionAccessMetaDataKey, SessionAccessMetaData> accessMetaDataMutatorFactory;
     private final CacheProperties properties;
@@ -67,7 +70,8 @@ public class InfinispanSessionMetaDataFactory<L> implements SessionMetaDataFacto
         this.properties = configuration.getCacheProperties();
         this.creationMetaDataCache = configuration.getCache();
         this.creationMetaDataMutatorFactory = new InfinispanMutatorFactory<>(this.creationMetaDataCache, this.properties);
-        this.findCreationMetaDataCache = this.properties.isLockOnRead() ? this.creationMetaDataCache.getAdvancedCache().withFlags(Flag.FORCE_WRITE_LOCK) : this.creationMetaDataCache;
+        Cache<GroupedKey<String>, Object> metaDataCache = configuration.getCache();
+        this.findMetaDataCache = this.properties.isLockOnRead() ? metaDataCache.getAdvancedCache().withFlags(Flag.FORCE_WRITE_LOCK) : metaDataCache;
         this.accessMetaDataCache = configuration.getCache();
         this.accessMetaDataMutatorFactory = new InfinispanMutatorFactory<>(this.accessMetaDataCache, this.properties);
     }
@@ -94,10 +98,17 @@ public class InfinispanSessionMetaDataFactory<L> implements SessionMetaDataFacto
     }
 
     private CompositeSessionMetaDataEntry<L> getValue(String id, Flag... flags) {
-        SessionCreationMetaDataKey key = new SessionCreationMetaDataKey(id);
-        SessionCreationMetaDataEntry<L> creationMetaDataEntry = this.findCreationMetaDataCache.getAdvancedCache().withFlags(flags).get(key);
+        SessionCreationMetaDataKey creationMetaDataKey = new SessionCreationMetaDataKey(id);
+        SessionAccessMetaDataKey accessMetaDataKey = new SessionAccessMetaDataKey(id);
+        Set<GroupedKey<String>> keys = new HashSet<>(4);
+        keys.add(creationMetaDataKey);
+        keys.add(accessMetaDataKey);
+        // Creation and access meta data are co-located, thus can be retrieved via a single remote invocation
+        Map<GroupedKey<String>, Object> entries = this.findMetaDataCache.getAdvancedCache().withFlags(flags).getAll(keys);
+        @SuppressWarnings("unchecked")
+        SessionCreationMetaDataEntry<L> creationMetaDataEntry = (SessionCreationMetaDataEntry<L>) entries.get(creationMetaDataKey);
         if (creationMetaDataEntry != null) {
-            SessionAccessMetaData accessMetaData = this.accessMetaDataCache.get(new SessionAccessMetaDataKey(id));
+            SessionAccessMetaData accessMetaData = (SessionAccessMetaData) entries.get(accessMetaDataKey);
             if (accessMetaData != null) {
                 return new CompositeSessionMetaDataEntry<>(creationMetaDataEntry.getMetaData(), accessMetaData, creationMetaDataEntry.getLocalContext());
             }
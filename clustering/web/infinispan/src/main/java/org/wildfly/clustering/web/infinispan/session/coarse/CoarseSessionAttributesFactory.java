@@ -23,10 +23,13 @@
 package org.wildfly.clustering.web.infinispan.session.coarse;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import org.infinispan.Cache;
 import org.infinispan.context.Flag;
@@ -67,6 +70,8 @@ public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttrib
     private final Immutability immutability;
     private final MutatorFactory<SessionAttributesKey, V> mutatorFactory;
     private final HttpSessionActivationListenerProvider<S, C, L> provider;
+    private final Marshaller<Object, ByteBuffer> mutationDetectionMarshaller;
+    private final BiFunction<Map<String, Object>, ByteBuffer, V> mutationDetectionWriter;
 
     public CoarseSessionAttributesFactory(InfinispanSessionAttributesFactoryConfiguration<S, C, L, Map<String, Object>, V> configuration) {
         this.cache = configuration.getCache();
@@ -75,6 +80,9 @@ public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttrib
         this.properties = configuration.getCacheProperties();
         this.mutatorFactory = new InfinispanMutatorFactory<>(this.cache, this.properties);
         this.provider = configuration.getHttpSessionActivationListenerProvider();
+        // Serialized form of an attribute is only meaningful to a marshalling cache
+        this.mutationDetectionMarshaller = this.properties.isMarshalling() ? configuration.getMutationDetectionMarshaller() : null;
+        this.mutationDetectionWriter = this.properties.isMarshalling() ? configuration.getMutationDetectionWriter() : null;
     }
 
     @Override
@@ -132,9 +140,12 @@ public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttrib
     @Override
     public SessionAttributes createSessionAttributes(String id, Map<String, Object> attributes, ImmutableSessionMetaData metaData, C context) {
         try {
-            Mutator mutator = (this.properties.isTransactional() && metaData.isNew()) ? Mutator.PASSIVE : this.mutatorFactory.createMutator(new SessionAttributesKey(id), this.marshaller.write(attributes));
+            SessionAttributesKey key = new SessionAttributesKey(id);
+            boolean passive = this.properties.isTransactional() && metaData.isNew();
+            Mutator mutator = passive ? Mutator.PASSIVE : this.mutatorFactory.createMutator(key, this.marshaller.write(attributes));
+            Function<ByteBuffer, Mutator> mutationDetectionMutatorFactory = (!passive && (this.mutationDetectionWriter != null)) ? buffer -> this.mutatorFactory.createMutator(key, this.mutationDetectionWriter.apply(attributes, buffer)) : null;
             SessionActivationNotifier notifier = this.properties.isPersistent() ? new ImmutableSessionActivationNotifier<>(this.provider, new CompositeImmutableSession(id, metaData, this.createImmutableSessionAttributes(id, attributes)), context) : null;
-            return new CoarseSessionAttributes(attributes, mutator, this.marshaller, this.immutability, this.properties, notifier);
+            return new CoarseSessionAttributes(attributes, mutator, this.marshaller, this.immutability, this.properties, notifier, this.mutationDetectionMarshaller, mutationDetectionMutatorFactory);
         } catch (IOException e) {
             throw new IllegalStateException(e);
         }
@@ -23,12 +23,15 @@
 package org.wildfly.clustering.web.infinispan.session.fine;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import org.infinispan.Cache;
@@ -72,6 +75,9 @@ public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttribut
     private final CacheProperties properties;
     private final MutatorFactory<SessionAttributeKey, V> mutatorFactory;
     private final HttpSessionActivationListenerProvider<S, C, L> provider;
+    private final Marshaller<Object, ByteBuffer> mutationDetectionMarshaller;
+    private final BiFunction<Object, ByteBuffer, V> mutationDetectionWriter;
+    private final boolean lazy;
 
     public FineSessionAttributesFactory(InfinispanSessionAttributesFactoryConfiguration<S, C, L, Object, V> configuration) {
         this.namesCache = configuration.getCache();
@@ -81,6 +87,10 @@ public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttribut
         this.properties = configuration.getCacheProperties();
         this.mutatorFactory = new InfinispanMutatorFactory<>(this.attributeCache, this.properties);
         this.provider = configuration.getHttpSessionActivationListenerProvider();
+        // Serialized form of an attribute is only meaningful to a marshalling cache
+        this.mutationDetectionMarshaller = this.properties.isMarshalling() ? configuration.getMutationDetectionMarshaller() : null;
+        this.mutationDetectionWriter = this.properties.isMarshalling() ? configuration.getMutationDetectionWriter() : null;
+        this.lazy = configuration.isLazyAttributeActivation();
     }
 
     @Override
@@ -101,17 +111,25 @@ public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttribut
     private Map<String, UUID> getValue(String id, boolean purgeIfInvalid) {
         Map<String, UUID> names = this.namesCache.get(new SessionAttributeNamesKey(id));
         if (names != null) {
+            // Attributes of lazily activated sessions are read on demand
+            if (names.isEmpty() || this.lazy) return names;
+            Map<SessionAttributeKey, String> keys = new HashMap<>();
             for (Map.Entry<String, UUID> nameEntry : names.entrySet()) {
-                V value = this.attributeCache.get(new SessionAttributeKey(id, nameEntry.getValue()));
+                keys.put(new SessionAttributeKey(id, nameEntry.getValue()), nameEntry.getKey());
+            }
+            // Attribute entries are co-located, thus can be retrieved via a single remote invocation
+            Map<SessionAttributeKey, V> values = this.attributeCache.getAll(keys.keySet());
+            for (Map.Entry<SessionAttributeKey, String> entry : keys.entrySet()) {
+                V value = values.get(entry.getKey());
                 if (value != null) {
                     try {
                         this.marshaller.read(value);
                         continue;
                     } catch (IOException e) {
-                        InfinispanWebLogger.ROOT_LOGGER.failedToActivateSessionAttribute(e, id, nameEntry.getKey());
+                        InfinispanWebLogger.ROOT_LOGGER.failedToActivateSessionAttribute(e, id, entry.getValue());
                     }
                 } else {
-                    InfinispanWebLogger.ROOT_LOGGER.missingSessionAttributeCacheEntry(id, nameEntry.getKey());
+                    InfinispanWebLogger.ROOT_LOGGER.missingSessionAttributeCacheEntry(id, entry.getValue());
                 }
                 if (purgeIfInvalid) {
                     this.purge(id);
@@ -146,12 +164,12 @@ public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttribut
     @Override
     public SessionAttributes createSessionAttributes(String id, Map<String, UUID> names, ImmutableSessionMetaData metaData, C context) {
         SessionAttributeActivationNotifier notifier = new ImmutableSessionAttributeActivationNotifier<>(this.provider, new CompositeImmutableSession(id, metaData, this.createImmutableSessionAttributes(id, names)), context);
-        return new FineSessionAttributes<>(new SessionAttributeNamesKey(id), names, this.namesCache, getKeyFactory(id), this.attributeCache.getAdvancedCache().withFlags(Flag.FORCE_SYNCHRONOUS), this.marshaller, this.mutatorFactory, this.immutability, this.properties, notifier);
+        return new FineSessionAttributes<>(id, new SessionAttributeNamesKey(id), names, this.namesCache, getKeyFactory(id), this.attributeCache.getAdvancedCache().withFlags(Flag.FORCE_SYNCHRONOUS), this.marshaller, this.mutatorFactory, this.immutability, this.properties, notifier, this.mutationDetectionMarshaller, this.mutationDetectionWriter, this.lazy);
     }
 
     @Override
     public ImmutableSessionAttributes createImmutableSessionAttributes(String id, Map<String, UUID> names) {
-        return new FineImmutableSessionAttributes<>(names, getKeyFactory(id), this.attributeCache, this.marshaller);
+        return new FineImmutableSessionAttributes<>(id, names, getKeyFactory(id), this.attributeCache, this.marshaller, this.lazy);
     }
 
     private static Function<UUID, SessionAttributeKey> getKeyFactory(String id) {
@@ -0,0 +1,108 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.wildfly.clustering.web.infinispan.session;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ActiveSessionTracker}.
+ * @author Paul Ferraro
+ */
+public class ActiveSessionTrackerTestCase {
+
+    private final ActiveSessionTracker tracker = new ActiveSessionTracker();
+
+    @Test
+    public void createRemove() {
+        this.tracker.add("a");
+        this.tracker.add("b");
+        assertEquals(2L, this.tracker.count());
+
+        this.tracker.remove("a");
+        assertEquals(1L, this.tracker.count());
+
+        this.tracker.remove("b");
+        assertEquals(0L, this.tracker.count());
+
+        // Removal of unknown session
+        this.tracker.remove("c");
+        assertEquals(0L, this.tracker.count());
+    }
+
+    @Test
+    public void passivateActivate() {
+        this.tracker.add("a");
+        this.tracker.add("b");
+
+        // Passivated sessions are not active
+        this.tracker.remove("a");
+        assertEquals(1L, this.tracker.count());
+
+        this.tracker.add("a");
+        assertEquals(2L, this.tracker.count());
+
+        // Removal of passivated session must not be subtracted twice
+        this.tracker.remove("b");
+        this.tracker.remove("b");
+        assertEquals(1L, this.tracker.count());
+    }
+
+    @Test
+    public void topologyChange() {
+        this.tracker.add("a");
+        this.tracker.add("b");
+
+        // Primary ownership of "b" was lost, and ownership of "c" was gained
+        Set<String> local = new HashSet<>(Arrays.asList("a", "c"));
+        this.tracker.reconcile(local, local::contains);
+        assertEquals(2L, this.tracker.count());
+
+        // Events received during reconciliation must not be overwritten
+        this.tracker.reconcile(local, id -> {
+            if (id.equals("a")) {
+                // Concurrently created session
+                this.tracker.add("d");
+                local.add("d");
+                // Concurrently removed session
+                this.tracker.remove("c");
+                local.remove("c");
+            }
+            return local.contains(id);
+        });
+        assertEquals(2L, this.tracker.count());
+
+        // Session removed after being scanned, but before its identifier was added
+        local.remove("a");
+        this.tracker.remove("a");
+        this.tracker.reconcile(Collections.singleton("a"), local::contains);
+        assertEquals(1L, this.tracker.count());
+    }
+}
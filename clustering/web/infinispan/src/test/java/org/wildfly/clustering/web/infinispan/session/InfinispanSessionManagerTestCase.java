@@ -0,0 +1,114 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.wildfly.clustering.web.infinispan.session;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.infinispan.notifications.cachelistener.event.CacheEntryActivatedEvent;
+import org.infinispan.notifications.cachelistener.event.CacheEntryCreatedEvent;
+import org.infinispan.notifications.cachelistener.event.CacheEntryPassivatedEvent;
+import org.infinispan.notifications.cachelistener.event.CacheEntryRemovedEvent;
+import org.junit.Test;
+import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.web.cache.session.SessionFactory;
+
+/**
+ * Unit test for the active session count maintained by {@link InfinispanSessionManager}.
+ * @author Paul Ferraro
+ */
+public class InfinispanSessionManagerTestCase {
+
+    private final SessionFactory<Object, Object, Object, Object> factory = mock(SessionFactory.class);
+    private final InfinispanSessionManagerConfiguration<Object, Object, Object> configuration = mock(InfinispanSessionManagerConfiguration.class);
+    private final CacheProperties properties = mock(CacheProperties.class);
+
+    private final InfinispanSessionManager<Object, Object, Object, Object, Object, Object> manager;
+
+    public InfinispanSessionManagerTestCase() {
+        when(this.configuration.getProperties()).thenReturn(this.properties);
+        // Avoid asynchronous activation notifications
+        when(this.properties.isPersistent()).thenReturn(true);
+        this.manager = new InfinispanSessionManager<>(this.factory, this.configuration);
+    }
+
+    @Test
+    public void activeSessionCount() {
+        SessionCreationMetaDataKey key1 = new SessionCreationMetaDataKey("session1");
+        SessionCreationMetaDataKey key2 = new SessionCreationMetaDataKey("session2");
+
+        assertEquals(0L, this.manager.getActiveSessionCount());
+
+        // Pre events should be ignored
+        this.manager.created(createdEvent(key1, true));
+        assertEquals(0L, this.manager.getActiveSessionCount());
+
+        this.manager.created(createdEvent(key1, false));
+        this.manager.created(createdEvent(key2, false));
+        assertEquals(2L, this.manager.getActiveSessionCount());
+
+        this.manager.passivated(passivatedEvent(key1, false));
+        assertEquals(1L, this.manager.getActiveSessionCount());
+
+        this.manager.activated(activatedEvent(key1, false));
+        assertEquals(2L, this.manager.getActiveSessionCount());
+
+        this.manager.removed(removedEvent(key1, false));
+        assertEquals(1L, this.manager.getActiveSessionCount());
+
+        // Removal of passivated session should not be subtracted twice
+        this.manager.passivated(passivatedEvent(key2, false));
+        this.manager.removed(removedEvent(key2, false));
+        assertEquals(0L, this.manager.getActiveSessionCount());
+    }
+
+    private static CacheEntryCreatedEvent<SessionCreationMetaDataKey, ?> createdEvent(SessionCreationMetaDataKey key, boolean pre) {
+        CacheEntryCreatedEvent<SessionCreationMetaDataKey, ?> event = mock(CacheEntryCreatedEvent.class);
+        when(event.getKey()).thenReturn(key);
+        when(event.isPre()).thenReturn(pre);
+        return event;
+    }
+
+    private static CacheEntryActivatedEvent<SessionCreationMetaDataKey, ?> activatedEvent(SessionCreationMetaDataKey key, boolean pre) {
+        CacheEntryActivatedEvent<SessionCreationMetaDataKey, ?> event = mock(CacheEntryActivatedEvent.class);
+        when(event.getKey()).thenReturn(key);
+        when(event.isPre()).thenReturn(pre);
+        return event;
+    }
+
+    private static CacheEntryPassivatedEvent<SessionCreationMetaDataKey, ?> passivatedEvent(SessionCreationMetaDataKey key, boolean pre) {
+        CacheEntryPassivatedEvent<SessionCreationMetaDataKey, ?> event = mock(CacheEntryPassivatedEvent.class);
+        when(event.getKey()).thenReturn(key);
+        when(event.isPre()).thenReturn(pre);
+        return event;
+    }
+
+    private static CacheEntryRemovedEvent<SessionCreationMetaDataKey, ?> removedEvent(SessionCreationMetaDataKey key, boolean pre) {
+        CacheEntryRemovedEvent<SessionCreationMetaDataKey, ?> event = mock(CacheEntryRemovedEvent.class);
+        when(event.getKey()).thenReturn(key);
+        when(event.isPre()).thenReturn(pre);
+        return event;
+    }
+}
@@ -23,16 +23,14 @@ package org.wildfly.clustering.web.undertow.session;
 
 import java.time.Duration;
 import java.util.Collections;
-import java.util.OptionalLong;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.StampedLock;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
-import java.util.function.LongConsumer;
 
 import org.wildfly.clustering.ee.Batch;
 import org.wildfly.clustering.ee.Batcher;
+import org.wildfly.clustering.service.concurrent.StripedGate;
 import org.wildfly.clustering.web.IdentifierSerializer;
 import org.wildfly.clustering.web.session.ImmutableSession;
 import org.wildfly.clustering.web.session.Session;
@@ -52,7 +50,7 @@ import io.undertow.util.AttachmentKey;
  * Adapts a distributable {@link SessionManager} to an Undertow {@link io.undertow.server.session.SessionManager}.
  * @author Paul Ferraro
  */
-public class DistributableSessionManager implements UndertowSessionManager, Consumer<HttpServerExchange>, LongConsumer {
+public class DistributableSessionManager implements UndertowSessionManager, Consumer<HttpServerExchange> {
 
     private static final IdentifierSerializer IDENTIFIER_SERIALIZER = new UndertowIdentifierSerializerProvider().getSerializer();
 
@@ -61,10 +59,7 @@ public class DistributableSessionManager implements UndertowSessionManager, Cons
     private final SessionListeners listeners;
     private final SessionManager<LocalSessionContext, Batch> manager;
     private final RecordableSessionManagerStatistics statistics;
-    private final StampedLock lifecycleLock = new StampedLock();
-
-    // Guarded by this
-    private OptionalLong lifecycleStamp = OptionalLong.empty();
+    private final StripedGate lifecycleGate = new StripedGate();
 
     public DistributableSessionManager(String deploymentName, SessionManager<LocalSessionContext, Batch> manager, SessionListeners listeners, RecordableSessionManagerStatistics statistics) {
         this.deploymentName = deploymentName;
@@ -85,28 +80,19 @@ public class DistributableSessionManager implements UndertowSessionManager, Cons
 
     @Override
     public synchronized void start() {
-        this.lifecycleStamp.ifPresent(this);
+        this.lifecycleGate.open();
         this.manager.start();
         if (this.statistics != null) {
             this.statistics.reset();
         }
     }
 
-    @Override
-    public void accept(long stamp) {
-        this.lifecycleLock.unlock(stamp);
-        this.lifecycleStamp = OptionalLong.empty();
-    }
-
     @Override
     public synchronized void stop() {
-        if (!this.lifecycleStamp.isPresent()) {
+        if (!this.lifecycleGate.isClosed()) {
             Duration stopTimeout = this.manager.getStopTimeout();
             try {
-                long stamp = this.lifecycleLock.tryWriteLock(stopTimeout.getSeconds(), TimeUnit.SECONDS);
-                if (stamp != 0) {
-                    this.lifecycleStamp = OptionalLong.of(stamp);
-                }
+                this.lifecycleGate.close(stopTimeout.getSeconds(), TimeUnit.SECONDS);
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
             }
@@ -115,21 +101,19 @@ public class DistributableSessionManager implements UndertowSessionManager, Cons
     }
 
     private Consumer<HttpServerExchange> getSessionCloseTask() {
-        StampedLock lock = this.lifecycleLock;
-        long stamp = lock.tryReadLock();
-        if (stamp == 0L) {
+        StripedGate gate = this.lifecycleGate;
+        if (!gate.tryEnter()) {
             throw UndertowClusteringLogger.ROOT_LOGGER.sessionManagerStopped();
         }
         AttachmentKey<io.undertow.server.session.Session> key = this.key;
-        AtomicLong stampRef = new AtomicLong(stamp);
+        AtomicBoolean entered = new AtomicBoolean(true);
         return new Consumer<HttpServerExchange>() {
             @Override
             public void accept(HttpServerExchange exchange) {
                 try {
-                    // Ensure we only unlock once.
-                    long stamp = stampRef.getAndSet(0L);
-                    if (stamp != 0L) {
-                        lock.unlock(stamp);
+                    // Ensure we only exit once.
+                    if (entered.compareAndSet(true, false)) {
+                        gate.exit();
                     }
                 } finally {
                     if (exchange != null) {
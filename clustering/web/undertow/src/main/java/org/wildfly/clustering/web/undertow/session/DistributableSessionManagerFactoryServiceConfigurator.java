@@ -93,7 +93,7 @@ public class DistributableSessionManagerFactoryServiceConfigurator extends Simpl
         super(name);
         this.configuration = configuration;
         ByteBufferMarshaller marshaller = createMarshaller(configuration.getModule());
-        MarshalledValueFactory<ByteBufferMarshaller> factory = new ByteBufferMarshalledValueFactory(marshaller);
+        Function<Immutability, MarshalledValueFactory<ByteBufferMarshaller>> factory = sessionAttributeImmutability -> new ByteBufferMarshalledValueFactory(marshaller, sessionAttributeImmutability);
         this.configurator = provider.getSessionManagerFactoryServiceConfigurator(new SessionManagerFactoryConfigurationAdapter<>(configuration, factory, immutability));
     }
 
@@ -25,6 +25,7 @@ package org.wildfly.clustering.web.undertow.session;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.ServiceLoader;
+import java.util.function.Function;
 
 import javax.servlet.ServletContext;
 import javax.servlet.http.HttpSession;
@@ -50,12 +51,12 @@ public class SessionManagerFactoryConfigurationAdapter<C> extends WebDeploymentC
     private final LocalContextFactory<LocalSessionContext> localContextFactory = new LocalSessionContextFactory();
     private final Immutability immutability;
 
-    public SessionManagerFactoryConfigurationAdapter(SessionManagerFactoryConfiguration configuration, MarshalledValueFactory<C> marshalledValueFactory, Immutability immutability) {
+    public SessionManagerFactoryConfigurationAdapter(SessionManagerFactoryConfiguration configuration, Function<Immutability, MarshalledValueFactory<C>> marshalledValueFactoryProvider, Immutability immutability) {
         super(configuration);
         this.maxActiveSessions = configuration.getMaxActiveSessions();
-        this.marshalledValueFactory = marshalledValueFactory;
         ServiceLoader<Immutability> loadedImmutability = ServiceLoader.load(Immutability.class, Immutability.class.getClassLoader());
         this.immutability = new CompositeImmutability(new CompositeIterable<>(EnumSet.allOf(DefaultImmutability.class), EnumSet.allOf(SessionAttributeImmutability.class), EnumSet.allOf(UndertowSessionAttributeImmutability.class), loadedImmutability, Collections.singleton(immutability)));
+        this.marshalledValueFactory = marshalledValueFactoryProvider.apply(this.immutability);
     }
 
     @Override
@@ -48,7 +48,7 @@ import org.wildfly.clustering.group.GroupListener;
 import org.wildfly.clustering.group.Membership;
 import org.wildfly.clustering.group.Node;
 import org.wildfly.clustering.service.concurrent.ServiceExecutor;
-import org.wildfly.clustering.service.concurrent.StampedLockServiceExecutor;
+import org.wildfly.clustering.service.concurrent.StripedServiceExecutor;
 import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
 import org.wildfly.common.function.ExceptionRunnable;
 import org.wildfly.common.function.ExceptionSupplier;
@@ -61,7 +61,7 @@ import org.wildfly.security.manager.WildFlySecurityManager;
  */
 public class CommandDispatcherTransport extends AbstractRemoteTransport<Node> implements GroupListener {
 
-    private final ServiceExecutor executor = new StampedLockServiceExecutor();
+    private final ServiceExecutor executor = new StripedServiceExecutor();
     private final CommandDispatcherFactory dispatcherFactory;
     private final String name;
 
@@ -138,6 +138,7 @@ public interface EJB3SubsystemModel {
     String PARTITION  = "partition";
     String REFRESH_INTERVAL = "refresh-interval";
     String ALLOW_EXECUTION = "allow-execution";
+    String INFINISPAN_DATA_STORE = "infinispan-data-store";
 
     String STATIC_URLS = "static-urls";
 
@@ -149,6 +150,7 @@ public interface EJB3SubsystemModel {
     PathElement IIOP_PATH = PathElement.pathElement(SERVICE, IIOP);
     PathElement FILE_DATA_STORE_PATH = PathElement.pathElement(FILE_DATA_STORE);
     PathElement DATABASE_DATA_STORE_PATH = PathElement.pathElement(DATABASE_DATA_STORE);
+    PathElement INFINISPAN_DATA_STORE_PATH = PathElement.pathElement(INFINISPAN_DATA_STORE);
     PathElement MDB_DELIVERY_GROUP_PATH = PathElement.pathElement(MDB_DELIVERY_GROUP);
     PathElement STRICT_MAX_BEAN_INSTANCE_POOL_PATH = PathElement.pathElement(STRICT_MAX_BEAN_INSTANCE_POOL);
     PathElement REMOTING_PROFILE_PATH = PathElement.pathElement(REMOTING_PROFILE);
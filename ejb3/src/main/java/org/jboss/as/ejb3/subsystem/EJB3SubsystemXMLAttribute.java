@@ -37,6 +37,7 @@ public enum EJB3SubsystemXMLAttribute {
 
     BEAN_CACHE("bean-cache"),
 
+    CACHE("cache"),
     CACHE_CONTAINER("cache-container"),
     CACHE_REF("cache-ref"),
     CLIENT_MAPPINGS_CLUSTER_NAME("cluster"),
@@ -53,6 +53,7 @@ public enum EJB3SubsystemXMLElement {
     FILE_DATA_STORE("file-data-store"),
 
     IIOP("iiop"),
+    INFINISPAN_DATA_STORE("infinispan-data-store"),
     IN_VM_REMOTE_INTERFACE_INVOCATION("in-vm-remote-interface-invocation"),
 
     MDB("mdb"),
@@ -593,6 +593,7 @@ public class EJB3SubsystemXMLPersister implements XMLElementWriter<SubsystemMars
         writer.writeStartElement(EJB3SubsystemXMLElement.DATA_STORES.getLocalName());
         writeFileDataStores(writer, timerServiceModel);
         writeDatabaseDataStores(writer, timerServiceModel);
+        writeInfinispanDataStores(writer, timerServiceModel);
         writer.writeEndElement();
 
     }
@@ -614,6 +615,20 @@ public class EJB3SubsystemXMLPersister implements XMLElementWriter<SubsystemMars
         }
     }
 
+    private void writeInfinispanDataStores(final XMLExtendedStreamWriter writer, final ModelNode timerServiceModel) throws XMLStreamException {
+        if (timerServiceModel.hasDefined(EJB3SubsystemModel.INFINISPAN_DATA_STORE)) {
+            List<Property> stores = timerServiceModel.get(EJB3SubsystemModel.INFINISPAN_DATA_STORE).asPropertyList();
+            for (Property property : stores) {
+                writer.writeStartElement(EJB3SubsystemXMLElement.INFINISPAN_DATA_STORE.getLocalName());
+                ModelNode store = property.getValue();
+                writer.writeAttribute(EJB3SubsystemXMLAttribute.NAME.getLocalName(), property.getName());
+                InfinispanDataStoreResourceDefinition.CACHE_CONTAINER.marshallAsAttribute(store, writer);
+                InfinispanDataStoreResourceDefinition.CACHE.marshallAsAttribute(store, writer);
+                writer.writeEndElement();
+            }
+        }
+    }
+
     private void writeFileDataStores(final XMLExtendedStreamWriter writer, final ModelNode timerServiceModel) throws XMLStreamException {
         if (timerServiceModel.hasDefined(EJB3SubsystemModel.FILE_DATA_STORE)) {
             List<Property> stores = timerServiceModel.get(EJB3SubsystemModel.FILE_DATA_STORE).asPropertyList();
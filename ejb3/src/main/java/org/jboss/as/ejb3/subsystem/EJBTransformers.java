@@ -299,6 +299,10 @@ public class EJBTransformers implements ExtensionTransformerRegistration {
         // Reject ejb3/remoting-profile=xxx/remote-http-connection
         subsystemBuilder.addChildResource(EJB3SubsystemModel.REMOTING_PROFILE_PATH)
                 .rejectChildResource(PathElement.pathElement(EJB3SubsystemModel.REMOTE_HTTP_CONNECTION));
+
+        // Reject ejb3/service=timer-service/infinispan-data-store
+        subsystemBuilder.addChildResource(EJB3SubsystemModel.TIMER_SERVICE_PATH)
+                .rejectChildResource(EJB3SubsystemModel.INFINISPAN_DATA_STORE_PATH);
     }
 
 
@@ -0,0 +1,78 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.subsystem;
+
+import javax.transaction.TransactionSynchronizationRegistry;
+
+import org.infinispan.Cache;
+import org.jboss.as.controller.AbstractAddStepHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.CapabilityServiceBuilder;
+import org.jboss.as.controller.CapabilityServiceTarget;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.ejb3.timerservice.persistence.infinispan.InfinispanTimerPersistence;
+import org.jboss.as.server.Services;
+import org.jboss.dmr.ModelNode;
+import org.jboss.modules.ModuleLoader;
+import org.jboss.msc.inject.Injector;
+import org.wildfly.clustering.infinispan.spi.InfinispanCacheRequirement;
+import org.wildfly.clustering.infinispan.spi.InfinispanDefaultCacheRequirement;
+
+/**
+ * Adds the timer service Infinispan based data store
+ *
+ * @author Paul Ferraro
+ */
+public class InfinispanDataStoreAdd extends AbstractAddStepHandler {
+
+    private static final String TRANSACTION_SYNCHRONIZATION_REGISTRY_CAPABILITY_NAME = "org.wildfly.transactions.transaction-synchronization-registry";
+    private static final String TRANSACTION_GLOBAL_DEFAULT_LOCAL_PROVIDER_CAPABILITY_NAME = "org.wildfly.transactions.global-default-local-provider";
+
+    InfinispanDataStoreAdd(AttributeDefinition... attributes) {
+        super(attributes);
+    }
+
+    @Override
+    protected void performRuntime(OperationContext context, ModelNode operation, ModelNode model) throws OperationFailedException {
+        String containerName = InfinispanDataStoreResourceDefinition.CACHE_CONTAINER.resolveModelAttribute(context, model).asString();
+        ModelNode cacheNode = InfinispanDataStoreResourceDefinition.CACHE.resolveModelAttribute(context, model);
+
+        InfinispanTimerPersistence persistence = new InfinispanTimerPersistence();
+
+        // add the TimerPersistence instance
+        CapabilityServiceTarget serviceTarget = context.getCapabilityServiceTarget();
+        CapabilityServiceBuilder<InfinispanTimerPersistence> builder = serviceTarget.addCapability(InfinispanDataStoreResourceDefinition.TIMER_PERSISTENCE_CAPABILITY, persistence);
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        Injector<Cache> cacheInjector = (Injector<Cache>) (Injector<?>) persistence.getCache();
+        if (cacheNode.isDefined()) {
+            builder.addCapabilityRequirement(InfinispanCacheRequirement.CACHE.getName(), Cache.class, cacheInjector, containerName, cacheNode.asString());
+        } else {
+            builder.addCapabilityRequirement(InfinispanDefaultCacheRequirement.CACHE.getName(), Cache.class, cacheInjector, containerName);
+        }
+        builder.addDependency(Services.JBOSS_SERVICE_MODULE_LOADER, ModuleLoader.class, persistence.getModuleLoader());
+        builder.addCapabilityRequirement(TRANSACTION_GLOBAL_DEFAULT_LOCAL_PROVIDER_CAPABILITY_NAME, Void.class);
+        builder.addCapabilityRequirement(TRANSACTION_SYNCHRONIZATION_REGISTRY_CAPABILITY_NAME, TransactionSynchronizationRegistry.class, persistence.getTransactionSynchronizationRegistry());
+        builder.install();
+    }
+}
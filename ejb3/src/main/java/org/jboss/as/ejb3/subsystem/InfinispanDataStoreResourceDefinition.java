@@ -0,0 +1,80 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.subsystem;
+
+import org.jboss.as.clustering.controller.CapabilityReference;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
+import org.jboss.as.controller.ServiceRemoveStepHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence;
+import org.jboss.dmr.ModelType;
+import org.wildfly.clustering.infinispan.spi.InfinispanCacheRequirement;
+import org.wildfly.clustering.infinispan.spi.InfinispanRequirement;
+
+/**
+ * {@link org.jboss.as.controller.ResourceDefinition} for the Infinispan data store resource.
+ *
+ * @author Paul Ferraro
+ */
+public class InfinispanDataStoreResourceDefinition extends SimpleResourceDefinition {
+
+    public static final RuntimeCapability<Void> TIMER_PERSISTENCE_CAPABILITY = FileDataStoreResourceDefinition.TIMER_PERSISTENCE_CAPABILITY;
+
+    public static final SimpleAttributeDefinition CACHE_CONTAINER = new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.CACHE_CONTAINER, ModelType.STRING, false)
+            .setXmlName(EJB3SubsystemXMLAttribute.CACHE_CONTAINER.getLocalName())
+            .setAllowExpression(true)
+            .setFlags(AttributeAccess.Flag.RESTART_RESOURCE_SERVICES)
+            .setCapabilityReference(new CapabilityReference(() -> TIMER_PERSISTENCE_CAPABILITY, InfinispanRequirement.CONTAINER))
+            .build();
+
+    public static final SimpleAttributeDefinition CACHE = new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.CACHE, ModelType.STRING, true)
+            .setXmlName(EJB3SubsystemXMLAttribute.CACHE.getLocalName())
+            .setAllowExpression(true)
+            .setFlags(AttributeAccess.Flag.RESTART_RESOURCE_SERVICES)
+            .setCapabilityReference(new CapabilityReference(() -> TIMER_PERSISTENCE_CAPABILITY, InfinispanCacheRequirement.CACHE, () -> CACHE_CONTAINER))
+            .build();
+
+    private static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { CACHE_CONTAINER, CACHE };
+    private static final InfinispanDataStoreAdd ADD_HANDLER = new InfinispanDataStoreAdd(ATTRIBUTES);
+    public static final InfinispanDataStoreResourceDefinition INSTANCE = new InfinispanDataStoreResourceDefinition();
+
+    private InfinispanDataStoreResourceDefinition() {
+        super(new SimpleResourceDefinition.Parameters(EJB3SubsystemModel.INFINISPAN_DATA_STORE_PATH, EJB3Extension.getResourceDescriptionResolver(EJB3SubsystemModel.INFINISPAN_DATA_STORE))
+                .setAddHandler(ADD_HANDLER)
+                .setRemoveHandler(new ServiceRemoveStepHandler(TimerPersistence.SERVICE_NAME, ADD_HANDLER))
+                .setCapabilities(TIMER_PERSISTENCE_CAPABILITY));
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        for (AttributeDefinition attr : ATTRIBUTES) {
+            resourceRegistration.registerReadWriteAttribute(attr, null, new ReloadRequiredWriteAttributeHandler(attr));
+        }
+    }
+}
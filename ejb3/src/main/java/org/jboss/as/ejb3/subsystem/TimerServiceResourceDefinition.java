@@ -93,6 +93,7 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
     public void registerChildren(final ManagementResourceRegistration resourceRegistration) {
         resourceRegistration.registerSubModel(new FileDataStoreResourceDefinition(pathManager));
         resourceRegistration.registerSubModel(DatabaseDataStoreResourceDefinition.INSTANCE);
+        resourceRegistration.registerSubModel(InfinispanDataStoreResourceDefinition.INSTANCE);
     }
 
 }
@@ -42,7 +42,7 @@ import org.jboss.staxmapper.XMLExtendedStreamWriter;
  */
 public class EjbTimerXmlPersister implements XMLElementWriter<List<TimerImpl>> {
 
-    static final String TIMERS = "timers";
+    public static final String TIMERS = "timers";
     static final String TIMER = "timer";
     static final String CALENDAR_TIMER = "calendar-timer";
     static final String INFO = "info";
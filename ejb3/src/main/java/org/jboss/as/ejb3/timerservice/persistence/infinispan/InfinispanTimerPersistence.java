@@ -0,0 +1,487 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.timerservice.persistence.infinispan;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
+
+import java.io.Closeable;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.SystemException;
+import javax.transaction.TransactionManager;
+import javax.transaction.TransactionSynchronizationRegistry;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.infinispan.Cache;
+import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.context.Flag;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryRemoved;
+import org.infinispan.notifications.cachelistener.annotation.TopologyChanged;
+import org.infinispan.notifications.cachelistener.event.CacheEntryEvent;
+import org.infinispan.notifications.cachelistener.event.CacheEntryRemovedEvent;
+import org.infinispan.notifications.cachelistener.event.TopologyChangedEvent;
+import org.infinispan.util.concurrent.CompletableFutures;
+import org.jboss.as.clustering.context.DefaultExecutorService;
+import org.jboss.as.clustering.context.DefaultThreadFactory;
+import org.jboss.as.ejb3.component.stateful.CurrentSynchronizationCallback;
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.as.ejb3.timerservice.TimerState;
+import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence;
+import org.jboss.as.ejb3.timerservice.persistence.filestore.EjbTimerXmlParser_1_0;
+import org.jboss.as.ejb3.timerservice.persistence.filestore.EjbTimerXmlPersister;
+import org.jboss.marshalling.MarshallerFactory;
+import org.jboss.marshalling.MarshallingConfiguration;
+import org.jboss.marshalling.ModularClassResolver;
+import org.jboss.marshalling.river.RiverMarshallerFactory;
+import org.jboss.modules.ModuleLoader;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StopContext;
+import org.jboss.msc.value.InjectedValue;
+import org.jboss.staxmapper.XMLMapper;
+import org.wildfly.clustering.infinispan.spi.distribution.CacheLocality;
+import org.wildfly.clustering.infinispan.spi.distribution.ConsistentHashLocality;
+import org.wildfly.clustering.infinispan.spi.distribution.Locality;
+import org.wildfly.security.manager.WildFlySecurityManager;
+import org.wildfly.transaction.client.ContextTransactionManager;
+
+/**
+ * Timer persistence that stores timers in an Infinispan cache.
+ * Every member schedules every timer, but a timer only runs on the primary owner of its cache entry.
+ * Changes made by other members are propagated via a clustered cache listener, so no polling of the store is required.
+ * When primary ownership of a timer moves to this member, any timeout that the previous primary owner did not run is rescheduled.
+ * Timers are stored using the same XML representation as the file data store.
+ * <p>
+ * Since the timer service couples the registration of a timer with its scheduling, timers cannot be scheduled by their primary owner only.
+ * Loading the timers of a timed object iterates over the entire cache.
+ * Consequently, this data store is intended for a moderate number of timers.
+ *
+ * @author Paul Ferraro
+ */
+@Listener(clustered = true, sync = false)
+public class InfinispanTimerPersistence implements TimerPersistence, Service<InfinispanTimerPersistence> {
+
+    private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newInstance();
+    private static final char KEY_SEPARATOR = ' ';
+
+    private final InjectedValue<Cache<String, String>> cache = new InjectedValue<>();
+    private final InjectedValue<TransactionSynchronizationRegistry> transactionSynchronizationRegistry = new InjectedValue<>();
+    private final InjectedValue<ModuleLoader> moduleLoader = new InjectedValue<>();
+    private final ConcurrentMap<String, TimerChangeListener> listeners = new ConcurrentHashMap<>();
+    private final TransactionManager tm;
+
+    private volatile MarshallerFactory factory;
+    private volatile MarshallingConfiguration configuration;
+    private volatile PrimaryOwnerChangeListener primaryOwnerChangeListener;
+
+    static {
+        setIfSupported(INPUT_FACTORY, XMLInputFactory.IS_VALIDATING, Boolean.FALSE);
+        setIfSupported(INPUT_FACTORY, XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+    }
+
+    public InfinispanTimerPersistence() {
+        this(ContextTransactionManager.getInstance());
+    }
+
+    InfinispanTimerPersistence(TransactionManager tm) {
+        this.tm = tm;
+    }
+
+    @Override
+    public void start(StartContext context) {
+        MarshallingConfiguration configuration = new MarshallingConfiguration();
+        configuration.setClassResolver(ModularClassResolver.getInstance(this.moduleLoader.getValue()));
+        configuration.setVersion(3);
+        this.configuration = configuration;
+        this.factory = new RiverMarshallerFactory();
+        Cache<String, String> cache = this.cache.getValue();
+        cache.addListener(this);
+        // Topology changes are not supported by clustered listeners
+        this.primaryOwnerChangeListener = new PrimaryOwnerChangeListener(cache);
+    }
+
+    @Override
+    public void stop(StopContext context) {
+        this.primaryOwnerChangeListener.close();
+        this.cache.getValue().removeListener(this);
+        this.listeners.clear();
+        this.factory = null;
+        this.configuration = null;
+    }
+
+    @Override
+    public InfinispanTimerPersistence getValue() {
+        return this;
+    }
+
+    @Override
+    public void addTimer(TimerImpl timer) {
+        this.persistTimer(timer, true);
+    }
+
+    @Override
+    public void persistTimer(TimerImpl timer) {
+        this.persistTimer(timer, false);
+    }
+
+    /**
+     * A timer should only run on the primary owner of its cache entry, and only if it was not removed by another member.
+     */
+    @Override
+    public boolean shouldRun(TimerImpl timer, TransactionManager tm) {
+        String key = createKey(timer.getTimedObjectId(), timer.getId());
+        Cache<String, String> cache = this.cache.getValue();
+        return new CacheLocality(cache).isLocal(key) && cache.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL).containsKey(key);
+    }
+
+    @Override
+    public void timerUndeployed(String timedObjectId) {
+        this.listeners.remove(timedObjectId);
+    }
+
+    @Override
+    public List<TimerImpl> loadActiveTimers(String timedObjectId, TimerServiceImpl timerService) {
+        List<TimerImpl> timers = new ArrayList<>();
+        // Iterate without a remote filter, since the cache marshaller need not support marshalling of arbitrary predicates
+        try (CloseableIterator<Map.Entry<String, String>> entries = this.cache.getValue().entrySet().iterator()) {
+            while (entries.hasNext()) {
+                Map.Entry<String, String> entry = entries.next();
+                String key = entry.getKey();
+                if (timedObjectId.equals(parseTimedObjectId(key))) {
+                    try {
+                        timers.add(this.mostRecentEntityVersion(this.readTimer(timerService, entry.getValue())));
+                    } catch (XMLStreamException e) {
+                        EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, parseTimerId(key), e);
+                    }
+                }
+            }
+        }
+        return timers;
+    }
+
+    @Override
+    public Closeable registerChangeListener(String timedObjectId, TimerChangeListener listener) {
+        this.listeners.put(timedObjectId, listener);
+        return () -> this.listeners.remove(timedObjectId, listener);
+    }
+
+    @CacheEntryCreated
+    @CacheEntryModified
+    public void modified(CacheEntryEvent<String, String> event) {
+        // Local changes are already reflected by the timer service
+        if (event.isOriginLocal() || (event.getValue() == null)) return;
+        String key = event.getKey();
+        String timedObjectId = parseTimedObjectId(key);
+        TimerChangeListener listener = this.listeners.get(timedObjectId);
+        if (listener == null) return;
+        TimerServiceImpl timerService = listener.getTimerService();
+        try {
+            TimerImpl timer = this.readTimer(timerService, event.getValue());
+            TimerImpl existing = timerService.getTimer(timer.getId());
+            if (existing == null) {
+                listener.timerAdded(timer);
+            } else if (!Objects.equals(existing.getNextExpiration(), timer.getNextExpiration())) {
+                // Members that skip a timeout advance their next expiration independently, so only sync if it diverged
+                listener.timerSync(existing, timer);
+            }
+        } catch (XMLStreamException e) {
+            EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, parseTimerId(key), e);
+        }
+    }
+
+    @CacheEntryRemoved
+    public void removed(CacheEntryRemovedEvent<String, String> event) {
+        if (event.isOriginLocal()) return;
+        String key = event.getKey();
+        TimerChangeListener listener = this.listeners.get(parseTimedObjectId(key));
+        if (listener != null) {
+            listener.timerRemoved(parseTimerId(key));
+        }
+    }
+
+    /**
+     * Reschedules the locally stored timers whose primary ownership moved to this member.
+     * A timeout that came due while the previous primary owner was leaving was skipped by this member,
+     * in which case the persisted next expiration precedes the locally scheduled one.
+     * @param oldLocality the locality of the previous topology
+     * @param newLocality the locality of the current topology
+     */
+    void primaryOwnerChanged(Locality oldLocality, Locality newLocality) {
+        Cache<String, String> cache = this.cache.getValue().getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL, Flag.SKIP_CACHE_LOAD);
+        try (CloseableIterator<Map.Entry<String, String>> entries = cache.entrySet().iterator()) {
+            while (entries.hasNext()) {
+                if (Thread.currentThread().isInterrupted()) return;
+                Map.Entry<String, String> entry = entries.next();
+                String key = entry.getKey();
+                if (oldLocality.isLocal(key) || !newLocality.isLocal(key)) continue;
+                String timedObjectId = parseTimedObjectId(key);
+                TimerChangeListener listener = this.listeners.get(timedObjectId);
+                if (listener == null) continue;
+                TimerServiceImpl timerService = listener.getTimerService();
+                try {
+                    TimerImpl timer = this.readTimer(timerService, entry.getValue());
+                    TimerImpl existing = timerService.getTimer(timer.getId());
+                    if (existing == null) {
+                        listener.timerAdded(timer);
+                    } else {
+                        Date nextExpiration = timer.getNextExpiration();
+                        Date scheduledExpiration = existing.getNextExpiration();
+                        if ((nextExpiration != null) && (scheduledExpiration != null) && nextExpiration.before(scheduledExpiration)) {
+                            listener.timerSync(existing, timer);
+                        }
+                    }
+                } catch (XMLStreamException e) {
+                    EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, parseTimerId(key), e);
+                }
+            }
+        }
+    }
+
+    private void persistTimer(TimerImpl timer, boolean newTimer) {
+        try {
+            int status = this.tm.getStatus();
+            switch (status) {
+                case Status.STATUS_MARKED_ROLLBACK:
+                case Status.STATUS_ROLLEDBACK:
+                case Status.STATUS_ROLLING_BACK: {
+                    // No need to persist anyway
+                    return;
+                }
+                case Status.STATUS_NO_TRANSACTION:
+                case Status.STATUS_UNKNOWN:
+                case Status.STATUS_COMMITTED: {
+                    this.storeTimer(timer, newTimer);
+                    return;
+                }
+                default: {
+                    if (isBeforeCompletion()) {
+                        this.storeTimer(timer, newTimer);
+                        return;
+                    }
+                    TransactionSynchronizationRegistry registry = this.transactionSynchronizationRegistry.getValue();
+                    String key = timerTransactionKey(timer);
+                    // Register a single synchronization per timer, which persists the most recent version of the timer
+                    if (registry.getResource(key) == null) {
+                        registry.registerInterposedSynchronization(new PersistTransactionSynchronization(key, newTimer));
+                    }
+                    registry.putResource(key, timer);
+                }
+            }
+        } catch (SystemException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void storeTimer(TimerImpl timer, boolean newTimer) {
+        String key = createKey(timer.getTimedObjectId(), timer.getId());
+        Cache<String, String> cache = this.cache.getValue().getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES);
+        if (timer.getState() == TimerState.CANCELED || timer.getState() == TimerState.EXPIRED) {
+            cache.remove(key);
+            return;
+        }
+        String value = this.writeTimer(timer);
+        if (newTimer) {
+            cache.put(key, value);
+        } else {
+            // If an existing timer was removed, it was cancelled by another thread or member
+            cache.replace(key, value);
+        }
+    }
+
+    String writeTimer(TimerImpl timer) {
+        StringWriter result = new StringWriter();
+        try {
+            XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(result);
+            try {
+                this.createMapper(timer.getTimerService()).deparseDocument(new EjbTimerXmlPersister(this.factory, this.configuration), Collections.singletonList(timer), writer);
+                writer.flush();
+            } finally {
+                writer.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new RuntimeException(e);
+        }
+        return result.toString();
+    }
+
+    TimerImpl readTimer(TimerServiceImpl timerService, String value) throws XMLStreamException {
+        XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(new StringReader(value));
+        try {
+            List<TimerImpl> timers = new ArrayList<>(1);
+            this.createMapper(timerService).parseDocument(timers, reader);
+            return timers.get(0);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private XMLMapper createMapper(TimerServiceImpl timerService) {
+        XMLMapper mapper = XMLMapper.Factory.create();
+        mapper.registerRootElement(new QName(EjbTimerXmlParser_1_0.NAMESPACE, EjbTimerXmlPersister.TIMERS), new EjbTimerXmlParser_1_0(timerService, this.factory, this.configuration, timerService.getTimedObjectInvoker().getValue().getClassLoader()));
+        return mapper;
+    }
+
+    /**
+     * Returns either the loaded timer or the most recent version of the timer that has been persisted in this transaction.
+     */
+    private TimerImpl mostRecentEntityVersion(TimerImpl timer) {
+        try {
+            int status = this.tm.getStatus();
+            if (status == Status.STATUS_UNKNOWN || status == Status.STATUS_NO_TRANSACTION) {
+                return timer;
+            }
+            TimerImpl existing = (TimerImpl) this.transactionSynchronizationRegistry.getValue().getResource(timerTransactionKey(timer));
+            return (existing != null) ? existing : timer;
+        } catch (SystemException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public InjectedValue<Cache<String, String>> getCache() {
+        return this.cache;
+    }
+
+    public InjectedValue<TransactionSynchronizationRegistry> getTransactionSynchronizationRegistry() {
+        return this.transactionSynchronizationRegistry;
+    }
+
+    public InjectedValue<ModuleLoader> getModuleLoader() {
+        return this.moduleLoader;
+    }
+
+    private static String createKey(String timedObjectId, String timerId) {
+        return timedObjectId + KEY_SEPARATOR + timerId;
+    }
+
+    private static String parseTimedObjectId(String key) {
+        return key.substring(0, key.lastIndexOf(KEY_SEPARATOR));
+    }
+
+    private static String parseTimerId(String key) {
+        return key.substring(key.lastIndexOf(KEY_SEPARATOR) + 1);
+    }
+
+    private static String timerTransactionKey(TimerImpl timer) {
+        return "org.jboss.as.ejb3.timerTransactionKey." + timer.getId();
+    }
+
+    private static boolean isBeforeCompletion() {
+        CurrentSynchronizationCallback.CallbackType type = CurrentSynchronizationCallback.get();
+        return type == CurrentSynchronizationCallback.CallbackType.BEFORE_COMPLETION;
+    }
+
+    private static void setIfSupported(XMLInputFactory inputFactory, String property, Object value) {
+        if (inputFactory.isPropertySupported(property)) {
+            inputFactory.setProperty(property, value);
+        }
+    }
+
+    private class PersistTransactionSynchronization implements Synchronization {
+        private final String transactionKey;
+        private final boolean newTimer;
+        private volatile TimerImpl timer;
+
+        PersistTransactionSynchronization(String transactionKey, boolean newTimer) {
+            this.transactionKey = transactionKey;
+            this.newTimer = newTimer;
+        }
+
+        @Override
+        public void beforeCompletion() {
+            // Get the latest version of the timer
+            this.timer = (TimerImpl) InfinispanTimerPersistence.this.transactionSynchronizationRegistry.getValue().getResource(this.transactionKey);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if ((this.timer != null) && (status == Status.STATUS_COMMITTED)) {
+                InfinispanTimerPersistence.this.storeTimer(this.timer, this.newTimer);
+            }
+        }
+    }
+
+    @Listener
+    private class PrimaryOwnerChangeListener implements AutoCloseable {
+        private final Cache<String, String> cache;
+        private final ExecutorService executor = Executors.newSingleThreadExecutor(new DefaultThreadFactory(InfinispanTimerPersistence.class));
+        private final AtomicReference<Future<?>> future = new AtomicReference<>();
+
+        PrimaryOwnerChangeListener(Cache<String, String> cache) {
+            this.cache = cache;
+            this.cache.addListener(this);
+        }
+
+        @Override
+        public void close() {
+            this.cache.removeListener(this);
+            WildFlySecurityManager.doUnchecked(this.executor, DefaultExecutorService.SHUTDOWN_NOW_ACTION);
+        }
+
+        @TopologyChanged
+        public CompletionStage<Void> topologyChanged(TopologyChangedEvent<String, String> event) {
+            if (!event.isPre()) {
+                Cache<String, String> cache = event.getCache();
+                // Skip rescheduling if we do not own any segments
+                if (!event.getWriteConsistentHashAtEnd().getPrimarySegmentsForOwner(cache.getCacheManager().getAddress()).isEmpty()) {
+                    Locality oldLocality = new ConsistentHashLocality(cache, event.getReadConsistentHashAtStart());
+                    Locality newLocality = new ConsistentHashLocality(cache, event.getWriteConsistentHashAtEnd());
+                    try {
+                        Future<?> future = this.future.getAndSet(this.executor.submit(() -> InfinispanTimerPersistence.this.primaryOwnerChanged(oldLocality, newLocality)));
+                        if (future != null) {
+                            future.cancel(true);
+                        }
+                    } catch (RejectedExecutionException e) {
+                        // Executor was shutdown
+                    }
+                }
+            }
+            return CompletableFutures.completedNull();
+        }
+    }
+}
@@ -280,6 +280,8 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
                 buildDynamicCapabilityName("org.wildfly.remoting.connector", "http-remoting-connector"),
                 buildDynamicCapabilityName("org.wildfly.remoting.connector", "remoting-connector"),
                 buildDynamicCapabilityName("org.wildfly.clustering.infinispan.cache-container", "not-ejb"),
+                buildDynamicCapabilityName("org.wildfly.clustering.infinispan.cache-container", "ejb"),
+                buildDynamicCapabilityName("org.wildfly.clustering.infinispan.cache", "ejb.timers"),
                 buildDynamicCapabilityName("org.wildfly.ejb3.timer-service.timer-persistence-service", "file-data-store"),
                 buildDynamicCapabilityName("org.wildfly.ejb3.mdb-delivery-group", "1"),
                 buildDynamicCapabilityName("org.wildfly.ejb3.mdb-delivery-group", "2"),
@@ -312,6 +314,9 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
         FailedOperationTransformationConfig config = new FailedOperationTransformationConfig();
         PathAddress subsystemAddress = PathAddress.pathAddress(EJB3Extension.SUBSYSTEM_PATH);
 
+        // reject the resource /subsystem=ejb3/service=timer-service/infinispan-data-store=*, which is new in 8.0.0
+        config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH, EJB3SubsystemModel.INFINISPAN_DATA_STORE_PATH), FailedOperationTransformationConfig.REJECTED_RESOURCE);
+
         // EAP 6.4.0
         if (EJB3Model.VERSION_1_2_1.matches(version)) {
 
@@ -0,0 +1,330 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+
+package org.jboss.as.ejb3.timerservice.persistence.infinispan;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.SystemException;
+import javax.transaction.TransactionManager;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.CacheSet;
+import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.context.Flag;
+import org.infinispan.distribution.DistributionInfo;
+import org.infinispan.distribution.DistributionManager;
+import org.infinispan.distribution.LocalizedCacheTopology;
+import org.infinispan.notifications.cachelistener.event.CacheEntryEvent;
+import org.infinispan.notifications.cachelistener.event.CacheEntryRemovedEvent;
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.as.ejb3.timerservice.TimerState;
+import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence.TimerChangeListener;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.wildfly.clustering.infinispan.spi.distribution.Locality;
+
+/**
+ * Unit test for {@link InfinispanTimerPersistence}.
+ * @author Paul Ferraro
+ */
+public class InfinispanTimerPersistenceTestCase {
+    private static final String TIMED_OBJECT_ID = "timed-object";
+
+    private final AdvancedCache<String, String> cache = mock(AdvancedCache.class);
+    private final TransactionManager tm = mock(TransactionManager.class);
+    private final TransactionSynchronizationRegistry registry = mock(TransactionSynchronizationRegistry.class);
+    private final TimerServiceImpl timerService = mock(TimerServiceImpl.class);
+    private final TimerChangeListener listener = mock(TimerChangeListener.class);
+    // Maps the persisted form of a timer to its deserialized form
+    private final Map<String, TimerImpl> timers = new HashMap<>();
+
+    private final InfinispanTimerPersistence persistence = new InfinispanTimerPersistence(this.tm) {
+        @Override
+        TimerImpl readTimer(TimerServiceImpl timerService, String value) {
+            return InfinispanTimerPersistenceTestCase.this.timers.get(value);
+        }
+
+        @Override
+        String writeTimer(TimerImpl timer) {
+            return timer.getId();
+        }
+    };
+
+    @Before
+    public void init() {
+        when(this.cache.getAdvancedCache()).thenReturn(this.cache);
+        when(this.cache.withFlags(Flag.IGNORE_RETURN_VALUES)).thenReturn(this.cache);
+        when(this.cache.withFlags(Flag.CACHE_MODE_LOCAL)).thenReturn(this.cache);
+        when(this.cache.withFlags(Flag.CACHE_MODE_LOCAL, Flag.SKIP_CACHE_LOAD)).thenReturn(this.cache);
+        when(this.listener.getTimerService()).thenReturn(this.timerService);
+
+        this.persistence.getCache().inject(this.cache);
+        this.persistence.getTransactionSynchronizationRegistry().inject(this.registry);
+        this.persistence.registerChangeListener(TIMED_OBJECT_ID, this.listener);
+    }
+
+    @Test
+    public void shouldRun() {
+        TimerImpl timer = this.createTimer("timer", new Date());
+        String key = createKey(timer);
+
+        // Non-distributed cache
+        when(this.cache.containsKey(key)).thenReturn(true);
+        assertTrue(this.persistence.shouldRun(timer, this.tm));
+
+        // Removed by another member
+        when(this.cache.containsKey(key)).thenReturn(false);
+        assertFalse(this.persistence.shouldRun(timer, this.tm));
+
+        DistributionManager dist = mock(DistributionManager.class);
+        LocalizedCacheTopology topology = mock(LocalizedCacheTopology.class);
+        DistributionInfo info = mock(DistributionInfo.class);
+        when(this.cache.getDistributionManager()).thenReturn(dist);
+        when(dist.getCacheTopology()).thenReturn(topology);
+        when(topology.getDistribution(key)).thenReturn(info);
+        when(this.cache.containsKey(key)).thenReturn(true);
+
+        // Primary owner
+        when(info.isPrimary()).thenReturn(true);
+        assertTrue(this.persistence.shouldRun(timer, this.tm));
+
+        // Backup owner
+        when(info.isPrimary()).thenReturn(false);
+        assertFalse(this.persistence.shouldRun(timer, this.tm));
+    }
+
+    @Test
+    public void persistTimerWithoutTransaction() throws SystemException {
+        TimerImpl timer = this.createTimer("timer", new Date());
+        String key = createKey(timer);
+        when(this.tm.getStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+
+        this.persistence.addTimer(timer);
+        verify(this.cache).put(key, timer.getId());
+
+        this.persistence.persistTimer(timer);
+        verify(this.cache).replace(key, timer.getId());
+
+        when(timer.getState()).thenReturn(TimerState.CANCELED);
+        this.persistence.persistTimer(timer);
+        verify(this.cache).remove(key);
+    }
+
+    @Test
+    public void persistTimerWithinTransaction() throws SystemException {
+        TimerImpl timer = this.createTimer("timer", new Date());
+        String key = createKey(timer);
+        when(this.tm.getStatus()).thenReturn(Status.STATUS_ACTIVE);
+
+        this.persistence.addTimer(timer);
+
+        ArgumentCaptor<Synchronization> capturedSynchronization = ArgumentCaptor.forClass(Synchronization.class);
+        ArgumentCaptor<String> capturedTransactionKey = ArgumentCaptor.forClass(String.class);
+        verify(this.registry).registerInterposedSynchronization(capturedSynchronization.capture());
+        verify(this.registry).putResource(capturedTransactionKey.capture(), same(timer));
+        verify(this.cache, never()).put(anyString(), anyString());
+
+        // Subsequent changes within the same transaction reuse the same synchronization
+        when(this.registry.getResource(capturedTransactionKey.getValue())).thenReturn(timer);
+        this.persistence.persistTimer(timer);
+        verify(this.registry).registerInterposedSynchronization(any());
+
+        Synchronization synchronization = capturedSynchronization.getValue();
+        synchronization.beforeCompletion();
+        synchronization.afterCompletion(Status.STATUS_COMMITTED);
+
+        verify(this.cache).put(key, timer.getId());
+        verify(this.cache, never()).replace(anyString(), anyString());
+    }
+
+    @Test
+    public void persistTimerWithinRolledBackTransaction() throws SystemException {
+        TimerImpl timer = this.createTimer("timer", new Date());
+        when(this.tm.getStatus()).thenReturn(Status.STATUS_ACTIVE);
+
+        this.persistence.addTimer(timer);
+
+        ArgumentCaptor<Synchronization> capturedSynchronization = ArgumentCaptor.forClass(Synchronization.class);
+        ArgumentCaptor<String> capturedTransactionKey = ArgumentCaptor.forClass(String.class);
+        verify(this.registry).registerInterposedSynchronization(capturedSynchronization.capture());
+        verify(this.registry).putResource(capturedTransactionKey.capture(), same(timer));
+
+        when(this.registry.getResource(capturedTransactionKey.getValue())).thenReturn(timer);
+        Synchronization synchronization = capturedSynchronization.getValue();
+        synchronization.beforeCompletion();
+        synchronization.afterCompletion(Status.STATUS_ROLLEDBACK);
+
+        verify(this.cache, never()).put(anyString(), anyString());
+    }
+
+    @Test
+    public void modified() {
+        Date now = new Date();
+        TimerImpl timer = this.createTimer("timer", now);
+        String key = createKey(timer);
+        CacheEntryEvent<String, String> event = mock(CacheEntryEvent.class);
+        when(event.getKey()).thenReturn(key);
+        when(event.getValue()).thenReturn("value");
+        this.timers.put("value", timer);
+
+        // Local events are ignored
+        when(event.isOriginLocal()).thenReturn(true);
+        this.persistence.modified(event);
+        verifyZeroInteractions(this.listener);
+
+        // Timer added by another member
+        when(event.isOriginLocal()).thenReturn(false);
+        this.persistence.modified(event);
+        verify(this.listener).timerAdded(timer);
+
+        // Timer with the same next expiration
+        TimerImpl existing = this.createTimer("timer", now);
+        when(this.timerService.getTimer("timer")).thenReturn(existing);
+        this.persistence.modified(event);
+        verify(this.listener, never()).timerSync(any(), any());
+
+        // Timer whose next expiration diverged
+        when(existing.getNextExpiration()).thenReturn(new Date(now.getTime() + 1000));
+        this.persistence.modified(event);
+        verify(this.listener).timerSync(existing, timer);
+
+        // Events for timers of undeployed timed objects are ignored
+        this.persistence.timerUndeployed(TIMED_OBJECT_ID);
+        this.persistence.modified(event);
+        verify(this.listener).timerAdded(any());
+        verify(this.listener).timerSync(any(), any());
+    }
+
+    @Test
+    public void removed() {
+        CacheEntryRemovedEvent<String, String> event = mock(CacheEntryRemovedEvent.class);
+        when(event.getKey()).thenReturn(createKey(TIMED_OBJECT_ID, "timer"));
+
+        // Local events are ignored
+        when(event.isOriginLocal()).thenReturn(true);
+        this.persistence.removed(event);
+        verify(this.listener, never()).timerRemoved(any());
+
+        when(event.isOriginLocal()).thenReturn(false);
+        this.persistence.removed(event);
+        verify(this.listener).timerRemoved("timer");
+    }
+
+    @Test
+    public void primaryOwnerChanged() {
+        Date now = new Date();
+        Date later = new Date(now.getTime() + 1000);
+        // Timer whose timeout was skipped locally, while the previous primary owner was leaving
+        TimerImpl skipped = this.createTimer("skipped", now);
+        TimerImpl skippedExisting = this.createTimer("skipped", later);
+        // Timer whose timeout was run by the previous primary owner
+        TimerImpl current = this.createTimer("current", later);
+        TimerImpl currentExisting = this.createTimer("current", later);
+        // Timer not yet known locally
+        TimerImpl unknown = this.createTimer("unknown", now);
+        // Timer that was already primary owned by this member
+        TimerImpl owned = this.createTimer("owned", now);
+        // Timer that is not primary owned by this member
+        TimerImpl backup = this.createTimer("backup", now);
+
+        Locality oldLocality = mock(Locality.class);
+        Locality newLocality = mock(Locality.class);
+        Map<String, String> entries = new HashMap<>();
+        for (TimerImpl timer : Arrays.asList(skipped, current, unknown, owned, backup)) {
+            String key = createKey(timer);
+            entries.put(key, timer.getId());
+            this.timers.put(timer.getId(), timer);
+            when(newLocality.isLocal(key)).thenReturn(timer != backup);
+            when(oldLocality.isLocal(key)).thenReturn(timer == owned);
+        }
+        when(this.timerService.getTimer("skipped")).thenReturn(skippedExisting);
+        when(this.timerService.getTimer("current")).thenReturn(currentExisting);
+        when(this.timerService.getTimer("owned")).thenReturn(owned);
+
+        CacheSet<Map.Entry<String, String>> entrySet = mock(CacheSet.class);
+        when(this.cache.entrySet()).thenReturn(entrySet);
+        when(entrySet.iterator()).thenReturn(new SimpleCloseableIterator<>(entries.entrySet().iterator()));
+
+        this.persistence.primaryOwnerChanged(oldLocality, newLocality);
+
+        verify(this.cache).withFlags(Flag.CACHE_MODE_LOCAL, Flag.SKIP_CACHE_LOAD);
+        verify(this.listener).timerSync(skippedExisting, skipped);
+        verify(this.listener).timerAdded(unknown);
+        verify(this.listener, never()).timerSync(same(currentExisting), any());
+        verify(this.listener, never()).timerSync(same(owned), any());
+        verify(this.listener, never()).timerAdded(backup);
+    }
+
+    private TimerImpl createTimer(String id, Date nextExpiration) {
+        TimerImpl timer = mock(TimerImpl.class);
+        when(timer.getId()).thenReturn(id);
+        when(timer.getTimedObjectId()).thenReturn(TIMED_OBJECT_ID);
+        when(timer.getState()).thenReturn(TimerState.ACTIVE);
+        when(timer.getNextExpiration()).thenReturn(nextExpiration);
+        return timer;
+    }
+
+    private static String createKey(TimerImpl timer) {
+        return createKey(timer.getTimedObjectId(), timer.getId());
+    }
+
+    private static String createKey(String timedObjectId, String timerId) {
+        return timedObjectId + ' ' + timerId;
+    }
+
+    private static class SimpleCloseableIterator<E> implements CloseableIterator<E> {
+        private final Iterator<E> iterator;
+
+        SimpleCloseableIterator(Iterator<E> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.iterator.hasNext();
+        }
+
+        @Override
+        public E next() {
+            return this.iterator.next();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}